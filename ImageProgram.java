@@ -1,6 +1,7 @@
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.InputStreamReader;
+import java.util.Arrays;
 import java.util.HashMap;
 
 import controller.ImageController;
@@ -13,12 +14,18 @@ import model.ImageModelMapImpl;
  */
 public class ImageProgram {
   /**
-   * Executes the controller's run method.
+   * Executes the controller's run method. A first argument of "-lazy" makes every command add
+   * an image model that is only computed once it is saved or displayed.
    *
-   * @param args the input to specify a file that inputs can be read from
+   * @param args the input to specify a file that inputs can be read from, optionally preceded
+   *             by "-lazy"
    */
   public static void main(String [] args) {
-    ImageModelMap imageModelMap = new ImageModelMapImpl(new HashMap<>());
+    boolean lazy = args.length > 0 && args[0].equals("-lazy");
+    if (lazy) {
+      args = Arrays.copyOfRange(args, 1, args.length);
+    }
+    ImageModelMap imageModelMap = new ImageModelMapImpl(new HashMap<>(), lazy);
     ImageController controller = new ImageControllerImpl(imageModelMap);
     if (args.length > 1) {
       throw new IllegalArgumentException("Input must either be empty to use console "
@@ -0,0 +1,72 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Measures how long the luma and sepia matrices take to transform rows of typical image
+ * sizes, one pixel at a time and with the loops that {@link MatrixRows#find()} selects. The
+ * loops of the Vector API are only selected when the program is run with
+ * {@code java --add-modules jdk.incubator.vector model.ColorMatrixBenchmark} and the vector
+ * directory was compiled with the same option. The benchmark may be followed by the number of
+ * times to transform each image.
+ */
+public class ColorMatrixBenchmark {
+
+  /**
+   * Prints the average time of each way of transforming each image, and checks that both give
+   * the same result.
+   *
+   * @param args the number of times to transform each image, which defaults to 20
+   */
+  public static void main(String[] args) {
+    int runs = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+    double[] luma = {0.2126, 0.7152, 0.0722, 0, 0.2126, 0.7152, 0.0722, 0, 0.2126, 0.7152,
+        0.0722, 0};
+    double[] sepia = {0.393, 0.769, 0.189, 0, 0.349, 0.686, 0.168, 0, 0.272, 0.534, 0.131, 0};
+    MatrixRows scalar = new MatrixRows.Scalar();
+    MatrixRows selected = MatrixRows.find();
+    System.out.println("Selected loops: " + selected.getClass().getSimpleName());
+    int[][] sizes = {{768, 1024}, {3000, 4000}};
+    Random random = new Random(1);
+    for (int[] size : sizes) {
+      int[] pixels = new int[size[0] * size[1]];
+      for (int i = 0; i < pixels.length; i++) {
+        pixels[i] = random.nextInt() & 0xFFFFFF;
+      }
+      for (double[] matrix : new double[][]{luma, sepia}) {
+        String name = matrix == luma ? "luma" : "sepia";
+        double scalarTime = time(scalar, matrix, pixels, size[1], runs);
+        double selectedTime = time(selected, matrix, pixels, size[1], runs);
+        if (!Arrays.equals(transform(scalar, matrix, pixels, size[1]),
+                transform(selected, matrix, pixels, size[1]))) {
+          throw new IllegalStateException("Transformations do not match.");
+        }
+        System.out.printf("%dx%d %s: scalar %.2f ms, selected %.2f ms, %.1fx%n", size[1],
+                size[0], name, scalarTime, selectedTime, scalarTime / selectedTime);
+      }
+    }
+  }
+
+  // Finds the average time in milliseconds to transform an image, after warming up the JIT
+  private static double time(MatrixRows rows, double[] matrix, int[] pixels, int width,
+                             int runs) {
+    for (int i = 0; i < 5; i++) {
+      transform(rows, matrix, pixels, width);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < runs; i++) {
+      transform(rows, matrix, pixels, width);
+    }
+    return (System.nanoTime() - start) / 1e6 / runs;
+  }
+
+  // Transforms a copy of an image one row at a time, as ColorMatrix does
+  private static int[] transform(MatrixRows rows, double[] matrix, int[] pixels, int width) {
+    int[] result = pixels.clone();
+    for (int start = 0; start < result.length; start += width) {
+      rows.apply(matrix, result, start, start + width);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,56 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Measures how long the blur and sharpen kernels take to convolve planes of typical image
+ * sizes, one pixel at a time with long sums and one tap at a time across rows of int sums.
+ * It is kept apart from the tests so that it never runs with them, and is run with
+ * {@code java model.ConvolutionBenchmark}, optionally followed by the number of times to
+ * convolve each plane.
+ */
+public class ConvolutionBenchmark {
+
+  /**
+   * Prints the average time of each way of convolving each plane, and checks that both give
+   * the same result.
+   *
+   * @param args the number of times to convolve each plane, which defaults to 20
+   */
+  public static void main(String[] args) {
+    int runs = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+    Kernel blur = Kernel.parse("1/16 1/8 1/16; 1/8 1/4 1/8; 1/16 1/8 1/16");
+    Kernel sharpen = Kernel.parse("-1/8 -1/8 -1/8 -1/8 -1/8; -1/8 1/4 1/4 1/4 -1/8;"
+            + "-1/8 1/4 1 1/4 -1/8; -1/8 1/4 1/4 1/4 -1/8; -1/8 -1/8 -1/8 -1/8 -1/8");
+    int[][] sizes = {{768, 1024}, {3000, 4000}};
+    Random random = new Random(1);
+    for (int[] size : sizes) {
+      byte[] plane = new byte[size[0] * size[1]];
+      random.nextBytes(plane);
+      for (Kernel kernel : new Kernel[]{blur, sharpen}) {
+        double scalar = time(kernel.scalar(), plane, size[0], size[1], runs);
+        double vectorized = time(kernel, plane, size[0], size[1], runs);
+        if (!Arrays.equals(kernel.scalar().convolve(plane, size[0], size[1], Border.ZERO),
+                kernel.convolve(plane, size[0], size[1], Border.ZERO))) {
+          throw new IllegalStateException("Convolutions do not match.");
+        }
+        System.out.printf("%dx%d %dx%d kernel: scalar %.2f ms, vectorized %.2f ms, %.1fx%n",
+                size[1], size[0], kernel.getSize(), kernel.getSize(), scalar, vectorized,
+                scalar / vectorized);
+      }
+    }
+  }
+
+  // Finds the average time in milliseconds to convolve a plane, after warming up the JIT
+  private static double time(Kernel kernel, byte[] plane, int height, int width, int runs) {
+    for (int i = 0; i < 5; i++) {
+      kernel.convolve(plane, height, width, Border.ZERO);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < runs; i++) {
+      kernel.convolve(plane, height, width, Border.ZERO);
+    }
+    return (System.nanoTime() - start) / 1e6 / runs;
+  }
+}
@@ -3,15 +3,13 @@ package commands;
 import java.util.Scanner;
 
 import model.Flip;
-import model.IPixel;
 import model.ImageModel;
-import model.ImageModelImpl;
 import model.ImageModelMap;
-import model.Pixel;
+import model.RemappedImageModel;
 
 /**
  * This class represents a generic flip command that can be performed
- * on an object of an image model.
+ * on an object of an image model, which includes rotating and transposing it.
  */
 public abstract class AbstractFlipCommand extends AbstractImageCommand {
 
@@ -30,26 +28,51 @@ public abstract class AbstractFlipCommand extends AbstractImageCommand {
 
   /**
    * Creates an image model that results from flipping the image model that the method is
-   * being performed on.
+   * being performed on. The result is a view that shares the pixels of the given image model,
+   * so no pixels are copied until the result is saved or its source is overwritten.
    *
    * @param model     the image model that is being flipped
    * @param direction the direction that the image model is being flipped in
    * @return the resulting image model
    */
   public ImageModel flip(ImageModel model, Flip direction) {
-    int height = model.getImageHeight();
-    int width = model.getImageWidth();
-    IPixel[][] newPixels = new Pixel[height][width];
-    for (int i = 0; i < height; i++) {
-      for (int j = 0; j < width; j++) {
-        if (direction == Flip.HORIZONTAL) {
-          newPixels[i][width - 1 - j] = model.getPixelAt(i, j);
-        } else if (direction == Flip.VERTICAL) {
-          newPixels[height - 1 - i][j] = model.getPixelAt(i, j);
-        }
-      }
-    }
-    return new ImageModelImpl(newPixels, height, width);
+    return RemappedImageModel.flip(model, direction);
+  }
+
+  /**
+   * Creates an image model that results from rotating the image model that the method is
+   * being performed on clockwise. Like a flip, the result is a view of the given image model.
+   *
+   * @param model        the image model that is being rotated
+   * @param quarterTurns the number of clockwise quarter turns to rotate by
+   * @return the resulting image model
+   */
+  public ImageModel rotate(ImageModel model, int quarterTurns) {
+    return RemappedImageModel.rotate(model, quarterTurns);
+  }
+
+  /**
+   * Creates an image model that results from transposing the image model that the method is
+   * being performed on, so that its rows become columns. Like a flip, the result is a view of
+   * the given image model.
+   *
+   * @param model the image model that is being transposed
+   * @return the resulting image model
+   */
+  public ImageModel transpose(ImageModel model) {
+    return RemappedImageModel.transpose(model);
+  }
+
+  /**
+   * Creates the flipped image model immediately even if the map is lazy, since flipping only
+   * creates a view of the given image model.
+   *
+   * @param oldModel the image model on which the method is performed
+   * @return a new image model based on the method performed
+   */
+  @Override
+  protected ImageModel deferredModel(ImageModel oldModel) {
+    return newModel(oldModel);
   }
 
 }
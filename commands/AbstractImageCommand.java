@@ -5,6 +5,8 @@ import java.util.Scanner;
 
 import model.ImageModel;
 import model.ImageModelMap;
+import model.LazyImageModel;
+import model.PixelOperation;
 
 /**
  * This class represents a generic command that can be performed on an object of an image model.
@@ -35,7 +37,10 @@ public abstract class AbstractImageCommand implements ImageCommand {
   /**
    * Edits an image model and adds a map with one entry containing a name of the new model as
    * the key and a corresponding image model derived from performing an image model method as
-   * the value based on the type of command run.
+   * the value based on the type of command run. If the map is lazy, or is fusing commands and
+   * this command changes every pixel independently, the new image model is only computed once
+   * it is read. Otherwise a lazy image model that the command is performed on is computed
+   * first, so that the command sees the kind of image model it was computed into.
    *
    * @throws IllegalStateException if writing to the output stream fails
    */
@@ -48,10 +53,13 @@ public abstract class AbstractImageCommand implements ImageCommand {
       try {
         ImageModel model = this.imageModelMap.find(modelName);
         try {
-          this.imageModelMap.add(newName, newModel(model), this.output);
+          boolean deferred = this.imageModelMap.isLazy()
+                  || (this.imageModelMap.isFusing() && pixelOperation() != null);
+          this.imageModelMap.add(newName, deferred ? deferredModel(model)
+                  : newModel(LazyImageModel.force(model)), this.output);
           this.output.append("Edit completed.\n");
         } catch (IllegalArgumentException e) {
-          this.output.append("Constant must be an integer.\n");
+          this.output.append(e.getMessage() + "\n");
         }
       } catch (NullPointerException e) {
         this.output.append("Please load " + modelName + " before operating on it.\n");
@@ -62,6 +70,22 @@ public abstract class AbstractImageCommand implements ImageCommand {
     }
   }
 
+  /**
+   * Determines whether the command changes every pixel independently of the others, which it
+   * does if it has an operation that is performed on each pixel.
+   *
+   * @return true if the command can be fused, and false otherwise
+   */
+  @Override
+  public boolean isFusable() {
+    try {
+      return pixelOperation() != null;
+    } catch (IllegalArgumentException e) {
+      // an invalid command reports its error when it is run
+      return false;
+    }
+  }
+
   /**
    * Creates a new image model by performing an image model method on a given image model.
    *
@@ -70,4 +94,44 @@ public abstract class AbstractImageCommand implements ImageCommand {
    */
   protected abstract ImageModel newModel(ImageModel oldModel);
 
+  /**
+   * Creates an image model that will be computed by performing an image model method on a
+   * given image model once it is read. Any parameters of the command are checked immediately.
+   *
+   * @param oldModel the image model on which the method is performed
+   * @return a new image model that has not been computed yet
+   * @throws IllegalArgumentException if a parameter of the command is invalid
+   * @throws NullPointerException     if the given image model is null
+   */
+  protected ImageModel deferredModel(ImageModel oldModel)
+          throws IllegalArgumentException, NullPointerException {
+    PixelOperation pixelOperation = pixelOperation();
+    if (pixelOperation != null) {
+      return LazyImageModel.of(oldModel, describe(), pixelOperation);
+    }
+    return LazyImageModel.of(oldModel, describe(), this::newModel);
+  }
+
+  /**
+   * Gets the operation that the command performs on each pixel if the command changes every
+   * pixel independently of the others, so that it can be fused with adjacent commands.
+   *
+   * @return the operation performed on each pixel, or null if the command does not change
+   *         every pixel independently
+   * @throws IllegalArgumentException if a parameter of the command is invalid
+   */
+  protected PixelOperation pixelOperation() throws IllegalArgumentException {
+    return null;
+  }
+
+  /**
+   * Describes the command and its parameters, so that two commands with the same description
+   * that are run on the same image model are known to produce the same image model.
+   *
+   * @return the description of the command
+   */
+  protected String describe() {
+    return getClass().getSimpleName();
+  }
+
 }
\ No newline at end of file
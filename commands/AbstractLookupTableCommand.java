@@ -0,0 +1,62 @@
+package commands;
+
+import java.util.Scanner;
+
+import model.ImageModel;
+import model.ImageModelMap;
+import model.LookupTable;
+import model.PixelOperation;
+
+/**
+ * This class represents a generic command that maps each red, green, and blue value of every
+ * pixel of an object of an image model to a new value, independently of the other values. Each
+ * command only describes its curve as a lookup table, which is built once for every command and
+ * then costs three table lookups per pixel.
+ */
+public abstract class AbstractLookupTableCommand extends AbstractImageCommand {
+
+  /**
+   * Constructs a generic command using a given output, map of image models, and scanner.
+   *
+   * @param output        the output that any prompts or error messages will be written to
+   * @param imageModelMap the map from which to choose an image to run the command on
+   * @param scanner       takes input from the user to perform the command as intended
+   * @throws IllegalArgumentException if any given parameters are null
+   */
+  public AbstractLookupTableCommand(Appendable output, ImageModelMap imageModelMap,
+                                    Scanner scanner) throws IllegalArgumentException {
+    super(output, imageModelMap, scanner);
+  }
+
+  /**
+   * Creates a new image model by mapping every pixel of a given image model through the lookup
+   * table of the command.
+   *
+   * @param oldModel the image model on which the method is performed
+   * @return a new image model based on the method performed
+   * @throws IllegalArgumentException if a parameter of the command is invalid
+   */
+  @Override
+  protected ImageModel newModel(ImageModel oldModel) throws IllegalArgumentException {
+    return lookupTable().applyTo(oldModel);
+  }
+
+  /**
+   * Gets the operation that maps each pixel through the lookup table of the command.
+   *
+   * @return the operation performed on each pixel
+   * @throws IllegalArgumentException if a parameter of the command is invalid
+   */
+  @Override
+  protected PixelOperation pixelOperation() throws IllegalArgumentException {
+    return lookupTable().toPixelOperation();
+  }
+
+  /**
+   * Creates the lookup table that the command maps every value through.
+   *
+   * @return the lookup table of the command
+   * @throws IllegalArgumentException if a parameter of the command is invalid
+   */
+  protected abstract LookupTable lookupTable() throws IllegalArgumentException;
+}
@@ -0,0 +1,68 @@
+package commands;
+
+import java.util.Scanner;
+
+import model.Border;
+import model.ImageModel;
+import model.ImageModelMap;
+import model.LazyImageModel;
+import model.SeparableBlur;
+
+/**
+ * This class represents a generic command that blurs an object of an image model by a radius
+ * given by the user. Each command only describes its blur as a series of box blurs, which are
+ * performed with running sums so that large radii cost no more per pixel than small ones.
+ * Pixels beyond the edges of the image take the value of the nearest edge pixel, so that the
+ * edges are not darkened.
+ */
+public abstract class AbstractSeparableBlurCommand extends AbstractImageCommand {
+
+  /**
+   * Constructs a generic command using a given output, map of image models, and scanner.
+   *
+   * @param output        the output that any prompts or error messages will be written to
+   * @param imageModelMap the map from which to choose an image to run the command on
+   * @param scanner       takes input from the user to perform the command as intended
+   * @throws IllegalArgumentException if any given parameters are null
+   */
+  public AbstractSeparableBlurCommand(Appendable output, ImageModelMap imageModelMap,
+                                      Scanner scanner) throws IllegalArgumentException {
+    super(output, imageModelMap, scanner);
+  }
+
+  /**
+   * Creates a new image model by blurring a given image model.
+   *
+   * @param oldModel the image model on which the method is performed
+   * @return a new image model based on the method performed
+   * @throws IllegalArgumentException if a parameter of the command is invalid
+   */
+  @Override
+  protected ImageModel newModel(ImageModel oldModel) throws IllegalArgumentException {
+    return blur().apply(oldModel, Border.CLAMP);
+  }
+
+  /**
+   * Creates an image model that will be blurred once it is read, after checking the
+   * parameters of the command immediately.
+   *
+   * @param oldModel the image model on which the method is performed
+   * @return a new image model that has not been computed yet
+   * @throws IllegalArgumentException if a parameter of the command is invalid
+   * @throws NullPointerException     if the given image model is null
+   */
+  @Override
+  protected ImageModel deferredModel(ImageModel oldModel)
+          throws IllegalArgumentException, NullPointerException {
+    SeparableBlur blur = blur();
+    return LazyImageModel.of(oldModel, describe(), model -> blur.apply(model, Border.CLAMP));
+  }
+
+  /**
+   * Creates the blur that the command performs.
+   *
+   * @return the blur of the command
+   * @throws IllegalArgumentException if a parameter of the command is invalid
+   */
+  protected abstract SeparableBlur blur() throws IllegalArgumentException;
+}
@@ -1,14 +1,17 @@
 package commands;
 
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Scanner;
 
-import model.IPixel;
+import model.Channel;
+import model.ColorMatrix;
+import model.GreyscaleImageModel;
 import model.ImageModel;
-import model.ImageModelImpl;
 import model.ImageModelMap;
-import model.Pixel;
+import model.PixelOperation;
+import model.PlanarImageModel;
+import model.RowBands;
 import model.Transformation;
 
 /**
@@ -16,6 +19,7 @@ import model.Transformation;
  * on an object of an image model.
  */
 public abstract class AbstractTransformationCommand extends AbstractImageCommand {
+  private static final Map<Transformation, ColorMatrix> MATRICES = createMatrices();
 
   /**
    * Constructs a generic command using a given output, map of image models, and scanner.
@@ -32,102 +36,132 @@ public abstract class AbstractTransformationCommand extends AbstractImageCommand
 
   /**
    * Creates an image model that results from transforming the red, green, and blue values
-   * of each individual pixel based on the specified operation.
+   * of each individual pixel based on the specified operation. Every transformation other than
+   * sepia tone results in a greyscale image model.
    *
    * @param model the image model being transformed
    * @param type  the type of transformation being done on the image model
    * @return the resulting image model
    */
   protected ImageModel transform(ImageModel model, Transformation type) {
-    double[][] transformation = new double[3][3];
-
     switch (type) {
       case RED:
-        createMatrix(transformation, new ArrayList<>(
-                Arrays.asList(1.0, 0.0, 0.0, 1.0, 0.0, 0.0, 1.0, 0.0, 0.0)));
-        break;
       case GREEN:
-        createMatrix(transformation, new ArrayList<>(
-                Arrays.asList(0.0, 1.0, 0.0, 0.0, 1.0, 0.0, 0.0, 1.0, 0.0)));
-        break;
       case BLUE:
-        createMatrix(transformation, new ArrayList<>(
-                Arrays.asList(0.0, 0.0, 1.0, 0.0, 0.0, 1.0, 0.0, 0.0, 1.0)));
-        break;
-      case MAXVALUE: //nonsense matrix to signify we want max value component
-        createMatrix(transformation, new ArrayList<>(
-                Arrays.asList(-1.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0)));
-        break;
+        return extractChannel(model, Channel.valueOf(type.name()));
+      case MAXVALUE:
+        return new GreyscaleImageModel(maxValueHelper(model), model.getImageHeight(),
+                model.getImageWidth());
       case LUMA:
-        createMatrix(transformation, new ArrayList<>(
-                Arrays.asList(0.2126, 0.7152, 0.0722, 0.2126, 0.7152, 0.0722,
-                        0.2126, 0.7152, 0.0722)));
-        break;
       case INTENSITY:
-        createMatrix(transformation, new ArrayList<>(
-                Arrays.asList(1.0 / 3, 1.0 / 3, 1.0 / 3, 1.0 / 3, 1.0 / 3, 1.0 / 3,
-                        1.0 / 3, 1.0 / 3, 1.0 / 3)));
-        break;
       case SEPIA:
-        createMatrix(transformation, new ArrayList<>(
-                Arrays.asList(0.393, 0.769, 0.189, 0.349, 0.686, 0.168,
-                        0.272, 0.534, 0.131)));
-        break;
+        return MATRICES.get(type).applyTo(model);
       default:
         return model; // return original channel if invalid transformation type
     }
-    return new ImageModelImpl(transformationHelper(model, transformation),
-            model.getImageHeight(), model.getImageWidth());
   }
 
-  // Creates a 2 dimensional array based on the values passed in
-  private void createMatrix(double[][] matrix, ArrayList<Double> values) {
-    for (int i = 0; i < 3; i++) {
-      for (int j = 0; j < 3; j++) {
-        matrix[i][j] = values.get(0);
-        values.remove(0);
-      }
+  /**
+   * Gets the operation that performs the specified transformation on each pixel, which results
+   * in the same values as {@link #transform(ImageModel, Transformation)}.
+   *
+   * @param type the type of transformation being done on each pixel
+   * @return the operation performed on each pixel
+   */
+  protected PixelOperation pixelOperation(Transformation type) {
+    switch (type) {
+      case RED:
+        return new PixelOperation(rgb -> ((rgb >> 16) & 0xFF) * 0x010101, true);
+      case GREEN:
+        return new PixelOperation(rgb -> ((rgb >> 8) & 0xFF) * 0x010101, true);
+      case BLUE:
+        return new PixelOperation(rgb -> (rgb & 0xFF) * 0x010101, true);
+      case MAXVALUE:
+        return new PixelOperation(rgb -> maxValue(rgb) * 0x010101, true);
+      case LUMA:
+      case INTENSITY:
+      case SEPIA:
+        return MATRICES.get(type).toPixelOperation();
+      default:
+        return new PixelOperation(rgb -> rgb, false);
     }
   }
 
   /**
-   * Transform the image model using the supplied matrix.
+   * Creates the color matrices of the transformations that are linear in the red, green, and
+   * blue values of a pixel, once for every command.
+   *
+   * @return the color matrix of each linear transformation
+   */
+  private static Map<Transformation, ColorMatrix> createMatrices() {
+    Map<Transformation, ColorMatrix> matrices = new EnumMap<>(Transformation.class);
+    matrices.put(Transformation.LUMA, ColorMatrix.of(0.2126, 0.7152, 0.0722,
+            0.2126, 0.7152, 0.0722, 0.2126, 0.7152, 0.0722));
+    matrices.put(Transformation.INTENSITY, ColorMatrix.of(1.0 / 3, 1.0 / 3, 1.0 / 3,
+            1.0 / 3, 1.0 / 3, 1.0 / 3, 1.0 / 3, 1.0 / 3, 1.0 / 3));
+    matrices.put(Transformation.SEPIA, ColorMatrix.of(0.393, 0.769, 0.189,
+            0.349, 0.686, 0.168, 0.272, 0.534, 0.131));
+    return matrices;
+  }
+
+  /**
+   * Creates a greyscale image model holding the values of one channel of the given image model.
+   * The plane of a planar or greyscale image model is shared rather than copied.
    *
-   * @param model          the image model being transformed
-   * @param transformation represents a linear transformation
-   * @return a list of Pixels that compose an Image after its transformation
+   * @param model   the image model being transformed
+   * @param channel the channel to extract
+   * @return the resulting image model
    */
-  private IPixel[][] transformationHelper(ImageModel model, double[][] transformation) {
+  private ImageModel extractChannel(ImageModel model, Channel channel) {
+    if (model instanceof GreyscaleImageModel) {
+      return model;
+    }
     int height = model.getImageHeight();
     int width = model.getImageWidth();
-    IPixel[][] newPixels = new Pixel[height][width];
-    for (int i = 0; i < height; i++) {
-      for (int j = 0; j < width; j++) {
-        int newRed;
-        int newGreen;
-        int newBlue;
-        IPixel currentPixel = model.getPixelAt(i, j);
-        if (transformation[0][0] == -1) {
-          int maxValue = Math.max(currentPixel.getRed(),
-                  Math.max(currentPixel.getGreen(), currentPixel.getBlue()));
-          newPixels[i][j] = new Pixel(maxValue, maxValue, maxValue);
+    byte[] plane;
+    if (model instanceof PlanarImageModel) {
+      plane = ((PlanarImageModel) model).getPlane(channel);
+    } else {
+      int shift = channel == Channel.RED ? 16 : channel == Channel.GREEN ? 8 : 0;
+      byte[] values = new byte[height * width];
+      RowBands.forEach(height, width, (firstRow, lastRow) -> {
+        int[] row = new int[width];
+        for (int i = firstRow, position1D = firstRow * width; i < lastRow; i++) {
+          model.getRow(i, row);
+          for (int j = 0; j < width; j++, position1D++) {
+            values[position1D] = (byte) (row[j] >> shift);
+          }
         }
-        else {
-          newRed = (int) ((currentPixel.getRed() * transformation[0][0])
-                  + ((currentPixel.getGreen() * transformation[0][1]))
-                  + ((currentPixel.getBlue() * transformation[0][2])));
-          newGreen = (int) ((currentPixel.getRed() * transformation[1][0])
-                  + ((currentPixel.getGreen() * transformation[1][1]))
-                  + ((currentPixel.getBlue() * transformation[1][2])));
-          newBlue = (int) ((currentPixel.getRed() * transformation[2][0])
-                  + ((currentPixel.getGreen() * transformation[2][1]))
-                  + ((currentPixel.getBlue() * transformation[2][2])));
-          newPixels[i][j] = new Pixel(Math.max(Math.min(255, newRed), 0),
-                  Math.max(Math.min(255, newGreen), 0),
-                  Math.max(Math.min(255, newBlue), 0));
+      });
+      plane = values;
+    }
+    return new GreyscaleImageModel(plane, height, width);
+  }
+
+  /**
+   * Finds the largest of the red, green, and blue values of each pixel of the image model.
+   *
+   * @param model the image model being transformed
+   * @return the plane of greyscale values that compose an Image after its transformation
+   */
+  private byte[] maxValueHelper(ImageModel model) {
+    int height = model.getImageHeight();
+    int width = model.getImageWidth();
+    byte[] newValues = new byte[height * width];
+    RowBands.forEach(height, width, (firstRow, lastRow) -> {
+      int[] row = new int[width];
+      for (int i = firstRow, position1D = firstRow * width; i < lastRow; i++) {
+        model.getRegion(0, i, width, 1, row, 0, width);
+        for (int j = 0; j < width; j++, position1D++) {
+          newValues[position1D] = (byte) maxValue(row[j]);
         }
       }
-    }
-    return newPixels;
+    });
+    return newValues;
+  }
+
+  // Finds the largest of the red, green, and blue values of a packed pixel
+  private static int maxValue(int rgb) {
+    return Math.max((rgb >> 16) & 0xFF, Math.max((rgb >> 8) & 0xFF, rgb & 0xFF));
   }
 }
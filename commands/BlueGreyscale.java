@@ -4,6 +4,7 @@ import java.util.Scanner;
 
 import model.ImageModel;
 import model.ImageModelMap;
+import model.PixelOperation;
 import model.Transformation;
 
 /**
@@ -34,4 +35,14 @@ public class BlueGreyscale extends AbstractTransformationCommand {
   protected ImageModel newModel(ImageModel oldModel) {
     return transform(oldModel, Transformation.BLUE);
   }
+
+  /**
+   * Gets the operation that performs a Blue Greyscale method on each pixel.
+   *
+   * @return the operation performed on each pixel
+   */
+  @Override
+  protected PixelOperation pixelOperation() {
+    return pixelOperation(Transformation.BLUE);
+  }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package commands;
+
+import java.util.Scanner;
+
+import model.ImageModelMap;
+import model.SeparableBlur;
+
+/**
+ * This class represents a Box Blur command that can be performed on an object of an image
+ * model, which replaces every pixel with the average of the square of pixels within a given
+ * radius of it.
+ */
+public class BoxBlur extends AbstractSeparableBlurCommand {
+  private final String radius;
+
+  /**
+   * Constructs a Box Blur command using a given output, map of image models, and scanner.
+   *
+   * @param output        the output that any prompts or error messages will be written to
+   * @param imageModelMap the map from which to choose an image to run the command on
+   * @param scanner       takes input from the user to perform the command as intended
+   * @throws IllegalArgumentException if any given parameters are null
+   */
+  public BoxBlur(Appendable output, ImageModelMap imageModelMap,
+                 Scanner scanner) throws IllegalArgumentException {
+    super(output, imageModelMap, scanner);
+    this.radius = scanner.next();
+  }
+
+  /**
+   * Creates the blur that averages the pixels within the radius of every pixel.
+   *
+   * @return the blur of the command
+   * @throws IllegalArgumentException if the radius is not an integer between 1 and 1000
+   */
+  @Override
+  protected SeparableBlur blur() throws IllegalArgumentException {
+    try {
+      return SeparableBlur.box(Integer.parseInt(this.radius));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Radius must be an integer between 1 and 1000.");
+    }
+  }
+
+  /**
+   * Describes the command and its radius.
+   *
+   * @return the description of the command
+   */
+  @Override
+  protected String describe() {
+    return "BoxBlur " + this.radius;
+  }
+}
@@ -2,16 +2,13 @@ package commands;
 
 import java.util.Scanner;
 
-import model.IPixel;
-import model.ImageModel;
-import model.ImageModelImpl;
 import model.ImageModelMap;
-import model.Pixel;
+import model.LookupTable;
 
 /**
  * This class represents a Brighten command that can be performed on an object of an image model.
  */
-public class Brighten extends AbstractImageCommand {
+public class Brighten extends AbstractLookupTableCommand {
   private final String constant;
 
   /**
@@ -30,50 +27,27 @@ public class Brighten extends AbstractImageCommand {
   }
 
   /**
-   * Creates a new image model by performing a Brighten method on a given image model.
+   * Creates the lookup table that brightens every value by the constant.
    *
-   * @param oldModel the image model on which the method is performed
+   * @return the lookup table of the command
    * @throws IllegalArgumentException if the constant value is not an integer
-   * @return a new image model based on the method performed
    */
   @Override
-  protected ImageModel newModel(ImageModel oldModel) throws IllegalArgumentException {
+  protected LookupTable lookupTable() throws IllegalArgumentException {
     try {
-      return brighten(oldModel, Integer.parseInt(this.constant));
+      return LookupTable.brighten(Integer.parseInt(this.constant));
     } catch (NumberFormatException e) {
       throw new IllegalArgumentException("Constant must be an integer.");
     }
   }
 
   /**
-   * Creates an image model that results from brightening the image model that the method
-   * is being performed on by a given constant.
+   * Describes the command and its constant.
    *
-   * @param constant the constant by which to brighten the image model
-   * @return the resulting image model
+   * @return the description of the command
    */
-  private ImageModel brighten(ImageModel model, int constant) {
-    int height = model.getImageHeight();
-    int width = model.getImageWidth();
-    IPixel[][] newPixels = new Pixel[height][width];
-    for (int i = 0; i < height; i++) {
-      for (int j = 0; j < width; j++) {
-        int red;
-        int green;
-        int blue;
-        if (constant >= 0) {
-          red = Math.min(model.getPixelAt(i, j).getRed() + constant, 255);
-          green = Math.min(model.getPixelAt(i, j).getGreen() + constant, 255);
-          blue = Math.min(model.getPixelAt(i, j).getBlue() + constant, 255);
-        }
-        else {
-          red = Math.max(model.getPixelAt(i, j).getRed() + constant, 0);
-          green = Math.max(model.getPixelAt(i, j).getGreen() + constant, 0);
-          blue = Math.max(model.getPixelAt(i, j).getBlue() + constant, 0);
-        }
-        newPixels[i][j] = new Pixel(red, green, blue);
-      }
-    }
-    return new ImageModelImpl(newPixels, height, width);
+  @Override
+  protected String describe() {
+    return "Brighten " + this.constant;
   }
-}
\ No newline at end of file
+}
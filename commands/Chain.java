@@ -0,0 +1,113 @@
+package commands;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.function.Function;
+
+import model.ImageModel;
+import model.ImageModelMap;
+import model.PixelOperation;
+
+/**
+ * This class represents a Chain command that can be performed on an object of an image model,
+ * which performs several commands that change every pixel independently in one pass over the
+ * image model, without creating an image model for each of them. The number of commands in the
+ * chain is given first, followed by each command and its parameters, such as
+ * {@code chain 3 brighten 20 sepia-tone luma-component image result}.
+ */
+public class Chain extends AbstractImageCommand {
+  private final List<String> names;
+  private final List<ImageCommand> steps;
+  private final String count;
+
+  /**
+   * Constructs a Chain command using a given output, map of image models, and scanner, which
+   * reads the commands of the chain and their parameters from the scanner.
+   *
+   * @param output        the output that any prompts or error messages will be written to
+   * @param imageModelMap the map from which to choose an image to run the command on
+   * @param scanner       takes input from the user to perform the command as intended
+   * @param commands      the commands that can be chained, by the string that runs them
+   * @throws IllegalArgumentException if any given parameters are null
+   */
+  public Chain(Appendable output, ImageModelMap imageModelMap, Scanner scanner,
+               Map<String, Function<Scanner, ImageCommand>> commands)
+          throws IllegalArgumentException {
+    super(output, imageModelMap, scanner);
+    if (commands == null) {
+      throw new IllegalArgumentException("No given parameters may contain null values.");
+    }
+    this.names = new ArrayList<>();
+    this.steps = new ArrayList<>();
+    this.count = scanner.next();
+    int length;
+    try {
+      length = Integer.parseInt(this.count);
+    } catch (NumberFormatException e) {
+      length = 0;
+    }
+    for (int i = 0; i < length; i++) {
+      String name = scanner.next().toLowerCase();
+      Function<Scanner, ImageCommand> command = commands.get(name);
+      this.names.add(name);
+      this.steps.add(command == null ? null : command.apply(scanner));
+    }
+  }
+
+  /**
+   * Creates a new image model by performing every command of the chain on each pixel of a
+   * given image model in one pass.
+   *
+   * @param oldModel the image model on which the method is performed
+   * @return a new image model based on the method performed
+   * @throws IllegalArgumentException if the chain is invalid
+   */
+  @Override
+  protected ImageModel newModel(ImageModel oldModel) throws IllegalArgumentException {
+    return pixelOperation().applyTo(oldModel);
+  }
+
+  /**
+   * Gets the operation that performs every command of the chain on each pixel, one after
+   * another.
+   *
+   * @return the operation performed on each pixel
+   * @throws IllegalArgumentException if the number of commands is not a positive integer, any
+   *                                  command does not change every pixel independently, or any
+   *                                  parameter of a command is invalid
+   */
+  @Override
+  protected PixelOperation pixelOperation() throws IllegalArgumentException {
+    if (this.steps.isEmpty()) {
+      throw new IllegalArgumentException("Chain must start with a positive number of commands.");
+    }
+    PixelOperation chain = null;
+    for (int i = 0; i < this.steps.size(); i++) {
+      ImageCommand step = this.steps.get(i);
+      PixelOperation operation = step instanceof AbstractImageCommand
+              ? ((AbstractImageCommand) step).pixelOperation() : null;
+      if (operation == null) {
+        throw new IllegalArgumentException(this.names.get(i) + " cannot be chained.");
+      }
+      chain = chain == null ? operation : chain.andThen(operation);
+    }
+    return chain;
+  }
+
+  /**
+   * Describes the command and every command of the chain.
+   *
+   * @return the description of the command
+   */
+  @Override
+  protected String describe() {
+    StringBuilder description = new StringBuilder("Chain " + this.count);
+    for (ImageCommand step : this.steps) {
+      description.append(",").append(step instanceof AbstractImageCommand
+              ? ((AbstractImageCommand) step).describe() : String.valueOf(step));
+    }
+    return description.toString();
+  }
+}
@@ -0,0 +1,87 @@
+package commands;
+
+import java.util.Scanner;
+
+import model.ColorMatrix;
+import model.ImageModel;
+import model.ImageModelMap;
+import model.PixelOperation;
+
+/**
+ * This class represents a Color Matrix command that can be performed on an object of an image
+ * model, which transforms the red, green, and blue values of each pixel by a 3x4 color matrix
+ * given by the user in row-major order. The fourth value of each row is an offset that is added
+ * to the new value of that channel.
+ */
+public class ColorMatrixTransform extends AbstractImageCommand {
+  private final String[] values;
+
+  /**
+   * Constructs a Color Matrix command using a given output, map of image models, and scanner.
+   *
+   * @param output        the output that any prompts or error messages will be written to
+   * @param imageModelMap the map from which to choose an image to run the command on
+   * @param scanner       takes input from the user to perform the command as intended
+   * @throws IllegalArgumentException if any given parameters are null
+   */
+  public ColorMatrixTransform(Appendable output, ImageModelMap imageModelMap,
+                              Scanner scanner) throws IllegalArgumentException {
+    super(output, imageModelMap, scanner);
+    this.values = new String[12];
+    for (int i = 0; i < this.values.length; i++) {
+      this.values[i] = scanner.next();
+    }
+  }
+
+  /**
+   * Creates a new image model by transforming a given image model by the color matrix.
+   *
+   * @param oldModel the image model on which the method is performed
+   * @return a new image model based on the method performed
+   * @throws IllegalArgumentException if any value of the matrix is invalid
+   */
+  @Override
+  protected ImageModel newModel(ImageModel oldModel) throws IllegalArgumentException {
+    return matrix().applyTo(oldModel);
+  }
+
+  /**
+   * Gets the operation that transforms each pixel by the color matrix.
+   *
+   * @return the operation performed on each pixel
+   * @throws IllegalArgumentException if any value of the matrix is invalid
+   */
+  @Override
+  protected PixelOperation pixelOperation() throws IllegalArgumentException {
+    return matrix().toPixelOperation();
+  }
+
+  /**
+   * Describes the command and the values of its matrix.
+   *
+   * @return the description of the command
+   */
+  @Override
+  protected String describe() {
+    return "ColorMatrix " + String.join(" ", this.values);
+  }
+
+  /**
+   * Creates the color matrix from the values given by the user.
+   *
+   * @return the color matrix
+   * @throws IllegalArgumentException if any value is not a number between -65536 and 65536
+   */
+  private ColorMatrix matrix() throws IllegalArgumentException {
+    double[] matrix = new double[this.values.length];
+    try {
+      for (int i = 0; i < matrix.length; i++) {
+        matrix[i] = Double.parseDouble(this.values[i]);
+      }
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(
+              "Matrix values must be numbers between -65536 and 65536.");
+    }
+    return ColorMatrix.of(matrix);
+  }
+}
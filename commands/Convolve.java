@@ -0,0 +1,144 @@
+package commands;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Scanner;
+
+import model.Border;
+import model.ImageModel;
+import model.ImageModelMap;
+import model.Kernel;
+import model.LazyImageModel;
+
+/**
+ * This class represents a Convolve command that can be performed on an object of an image
+ * model, which convolves the image model with a square kernel of any odd size. The kernel is
+ * either the path of a file that lists its rows, or its rows given inline separated by
+ * semicolons with their weights separated by commas, such as 0,1/4,0;1/4,0,1/4;0,1/4,0. The
+ * kernel is followed by the way to find pixels beyond the edges of the image: zero, clamp,
+ * mirror, or wrap. The kernel is read when the command is given, and commands are compared by
+ * the weights of their kernels rather than by the file the weights were read from.
+ */
+public class Convolve extends AbstractImageCommand {
+  private final Kernel kernel;
+  private final String invalidKernel;
+  private final String border;
+
+  /**
+   * Constructs a Convolve command using a given output, map of image models, and scanner.
+   *
+   * @param output        the output that any prompts or error messages will be written to
+   * @param imageModelMap the map from which to choose an image to run the command on
+   * @param scanner       takes input from the user to perform the command as intended
+   * @throws IllegalArgumentException if any given parameters are null
+   */
+  public Convolve(Appendable output, ImageModelMap imageModelMap,
+                  Scanner scanner) throws IllegalArgumentException {
+    super(output, imageModelMap, scanner);
+    Kernel parsed = null;
+    String invalid = null;
+    try {
+      parsed = readKernel(scanner.next());
+    } catch (IllegalArgumentException e) {
+      invalid = e.getMessage();
+    }
+    this.kernel = parsed;
+    this.invalidKernel = invalid;
+    this.border = scanner.next();
+  }
+
+  /**
+   * Creates a new image model by convolving a given image model with the kernel.
+   *
+   * @param oldModel the image model on which the method is performed
+   * @return a new image model based on the method performed
+   * @throws IllegalArgumentException if the kernel or border is invalid
+   */
+  @Override
+  protected ImageModel newModel(ImageModel oldModel) throws IllegalArgumentException {
+    return kernel().convolve(oldModel, border());
+  }
+
+  /**
+   * Creates an image model that will be convolved with the kernel once it is read, after
+   * checking the kernel and border immediately.
+   *
+   * @param oldModel the image model on which the method is performed
+   * @return a new image model that has not been computed yet
+   * @throws IllegalArgumentException if the kernel or border is invalid
+   * @throws NullPointerException     if the given image model is null
+   */
+  @Override
+  protected ImageModel deferredModel(ImageModel oldModel)
+          throws IllegalArgumentException, NullPointerException {
+    Kernel kernel = kernel();
+    Border border = border();
+    return LazyImageModel.of(oldModel, describe(), model -> kernel.convolve(model, border));
+  }
+
+  /**
+   * Describes the command, the weights of its kernel, and its border.
+   *
+   * @return the description of the command
+   */
+  @Override
+  protected String describe() {
+    return "Convolve " + kernel().describe() + " " + this.border;
+  }
+
+  /**
+   * Gets the kernel that was read when the command was given.
+   *
+   * @return the kernel
+   * @throws IllegalArgumentException if the kernel file could not be read or the kernel is not
+   *                                  a square of numbers with an odd size
+   */
+  private Kernel kernel() throws IllegalArgumentException {
+    if (this.kernel == null) {
+      throw new IllegalArgumentException(this.invalidKernel);
+    }
+    return this.kernel;
+  }
+
+  /**
+   * Reads a kernel from the file it names, or from the kernel itself if it is given inline.
+   *
+   * @param kernel the path of the kernel file, or the rows of the kernel
+   * @return the kernel
+   * @throws IllegalArgumentException if the kernel file cannot be read or the kernel is not a
+   *                                  square of numbers with an odd size
+   */
+  private static Kernel readKernel(String kernel) throws IllegalArgumentException {
+    Path path;
+    try {
+      path = Paths.get(kernel);
+    } catch (InvalidPathException e) {
+      return Kernel.parse(kernel);
+    }
+    if (!Files.isRegularFile(path)) {
+      return Kernel.parse(kernel);
+    }
+    try {
+      return Kernel.parse(new String(Files.readAllBytes(path)));
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Kernel file could not be read.");
+    }
+  }
+
+  /**
+   * Finds the border with the given name.
+   *
+   * @return the border
+   * @throws IllegalArgumentException if the name is not zero, clamp, mirror, or wrap
+   */
+  private Border border() throws IllegalArgumentException {
+    try {
+      return Border.valueOf(this.border.toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Border must be zero, clamp, mirror, or wrap.");
+    }
+  }
+}
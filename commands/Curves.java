@@ -0,0 +1,66 @@
+package commands;
+
+import java.util.Scanner;
+
+import model.ImageModelMap;
+import model.LookupTable;
+
+/**
+ * This class represents a Curves command that can be performed on an object of an image model,
+ * which maps every value through a curve drawn through control points given by the user as a
+ * comma-separated list of old:new pairs, such as 0:0,64:40,255:255.
+ */
+public class Curves extends AbstractLookupTableCommand {
+  private final String points;
+
+  /**
+   * Constructs a Curves command using a given output, map of image models, and scanner.
+   *
+   * @param output        the output that any prompts or error messages will be written to
+   * @param imageModelMap the map from which to choose an image to run the command on
+   * @param scanner       takes input from the user to perform the command as intended
+   * @throws IllegalArgumentException if any given parameters are null
+   */
+  public Curves(Appendable output, ImageModelMap imageModelMap,
+                Scanner scanner) throws IllegalArgumentException {
+    super(output, imageModelMap, scanner);
+    this.points = scanner.next();
+  }
+
+  /**
+   * Creates the lookup table that maps every value through the curve.
+   *
+   * @return the lookup table of the command
+   * @throws IllegalArgumentException if the control points are not old:new pairs of integers
+   *                                  between 0 and 255 with increasing old values
+   */
+  @Override
+  protected LookupTable lookupTable() throws IllegalArgumentException {
+    String[] pairs = this.points.split(",");
+    int[] xs = new int[pairs.length];
+    int[] ys = new int[pairs.length];
+    try {
+      for (int i = 0; i < pairs.length; i++) {
+        String[] pair = pairs[i].split(":");
+        if (pair.length != 2) {
+          throw new NumberFormatException();
+        }
+        xs[i] = Integer.parseInt(pair[0]);
+        ys[i] = Integer.parseInt(pair[1]);
+      }
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Curve points must be given as old:new pairs.");
+    }
+    return LookupTable.curve(xs, ys);
+  }
+
+  /**
+   * Describes the command and its control points.
+   *
+   * @return the description of the command
+   */
+  @Override
+  protected String describe() {
+    return "Curves " + this.points;
+  }
+}
@@ -0,0 +1,54 @@
+package commands;
+
+import java.util.Scanner;
+
+import model.ImageModelMap;
+import model.LookupTable;
+
+/**
+ * This class represents a Gamma command that can be performed on an object of an image model,
+ * which applies gamma correction to every value, so that a gamma greater than 1 brightens the
+ * midtones and a gamma less than 1 darkens them.
+ */
+public class Gamma extends AbstractLookupTableCommand {
+  private final String gamma;
+
+  /**
+   * Constructs a Gamma command using a given output, map of image models, and scanner.
+   *
+   * @param output        the output that any prompts or error messages will be written to
+   * @param imageModelMap the map from which to choose an image to run the command on
+   * @param scanner       takes input from the user to perform the command as intended
+   * @throws IllegalArgumentException if any given parameters are null
+   */
+  public Gamma(Appendable output, ImageModelMap imageModelMap,
+               Scanner scanner) throws IllegalArgumentException {
+    super(output, imageModelMap, scanner);
+    this.gamma = scanner.next();
+  }
+
+  /**
+   * Creates the lookup table that applies gamma correction to every value.
+   *
+   * @return the lookup table of the command
+   * @throws IllegalArgumentException if the gamma is not a positive number
+   */
+  @Override
+  protected LookupTable lookupTable() throws IllegalArgumentException {
+    try {
+      return LookupTable.gamma(Double.parseDouble(this.gamma));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Gamma must be a positive number.");
+    }
+  }
+
+  /**
+   * Describes the command and its gamma.
+   *
+   * @return the description of the command
+   */
+  @Override
+  protected String describe() {
+    return "Gamma " + this.gamma;
+  }
+}
@@ -0,0 +1,54 @@
+package commands;
+
+import java.util.Scanner;
+
+import model.ImageModelMap;
+import model.SeparableBlur;
+
+/**
+ * This class represents a Gaussian Blur command that can be performed on an object of an image
+ * model, which blurs every pixel with a gaussian of a given standard deviation in pixels,
+ * approximated by three box blurs.
+ */
+public class GaussianBlur extends AbstractSeparableBlurCommand {
+  private final String sigma;
+
+  /**
+   * Constructs a Gaussian Blur command using a given output, map of image models, and scanner.
+   *
+   * @param output        the output that any prompts or error messages will be written to
+   * @param imageModelMap the map from which to choose an image to run the command on
+   * @param scanner       takes input from the user to perform the command as intended
+   * @throws IllegalArgumentException if any given parameters are null
+   */
+  public GaussianBlur(Appendable output, ImageModelMap imageModelMap,
+                      Scanner scanner) throws IllegalArgumentException {
+    super(output, imageModelMap, scanner);
+    this.sigma = scanner.next();
+  }
+
+  /**
+   * Creates the blur that approximates a gaussian with the standard deviation of the command.
+   *
+   * @return the blur of the command
+   * @throws IllegalArgumentException if the deviation is not a positive number of at most 1000
+   */
+  @Override
+  protected SeparableBlur blur() throws IllegalArgumentException {
+    try {
+      return SeparableBlur.gaussian(Double.parseDouble(this.sigma));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Sigma must be a positive number of at most 1000.");
+    }
+  }
+
+  /**
+   * Describes the command and its standard deviation.
+   *
+   * @return the description of the command
+   */
+  @Override
+  protected String describe() {
+    return "GaussianBlur " + this.sigma;
+  }
+}
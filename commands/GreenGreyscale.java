@@ -4,6 +4,7 @@ import java.util.Scanner;
 
 import model.ImageModel;
 import model.ImageModelMap;
+import model.PixelOperation;
 import model.Transformation;
 
 /**
@@ -34,4 +35,14 @@ public class GreenGreyscale extends AbstractTransformationCommand {
   protected ImageModel newModel(ImageModel oldModel) {
     return transform(oldModel, Transformation.GREEN);
   }
+
+  /**
+   * Gets the operation that performs a Green Greyscale method on each pixel.
+   *
+   * @return the operation performed on each pixel
+   */
+  @Override
+  protected PixelOperation pixelOperation() {
+    return pixelOperation(Transformation.GREEN);
+  }
 }
\ No newline at end of file
@@ -13,4 +13,14 @@ public interface ImageCommand {
    * @throws IllegalStateException if writing to the output stream fails
    */
   void edit() throws IllegalStateException;
+
+  /**
+   * Determines whether the command changes every pixel independently of the others, so that
+   * it can be fused with the commands of this kind that are run before and after it.
+   *
+   * @return true if the command can be fused, and false otherwise
+   */
+  default boolean isFusable() {
+    return false;
+  }
 }
\ No newline at end of file
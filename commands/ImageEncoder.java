@@ -0,0 +1,222 @@
+package commands;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+/**
+ * This class represents an encoder of BufferedImages in one of the formats that ImageIO can
+ * write, such as PNG, JPEG, BMP, GIF, or TIFF, with the options that the save command was
+ * given. The "quality" option is a number between 0 and 1 that trades the size of a lossy file,
+ * such as a JPEG file, against how closely it keeps the pixels, the "compression" option is a
+ * deflate level between 0 and 9 that trades the size of a PNG file against the time taken to
+ * write it, and the "progressive" option writes a progressive JPEG or an interlaced PNG or GIF
+ * file. The image is encoded straight into the stream that it is written to, and the writer
+ * is disposed of once the encoder is closed.
+ */
+final class ImageEncoder implements AutoCloseable {
+  // The name of the native metadata format of PNG files
+  static final String PNG_METADATA = "javax_imageio_png_1.0";
+  private final ImageWriter writer;
+  private final ImageWriteParam param;
+
+  /**
+   * Constructs an encoder that writes with a given writer and parameters.
+   *
+   * @param writer the writer of the format
+   * @param param  the parameters that the options were applied to
+   */
+  private ImageEncoder(ImageWriter writer, ImageWriteParam param) {
+    this.writer = writer;
+    this.param = param;
+  }
+
+  /**
+   * Creates an encoder for a given format with the given options, checking every option before
+   * anything is written.
+   *
+   * @param format  the informal name of the format, such as "png" or "jpeg", in any case
+   * @param options the value of each option, or an empty string for options without a value
+   * @return the encoder
+   * @throws IllegalArgumentException if no writer supports the format, or an option is not
+   *                                  supported by the format or has an invalid value
+   * @throws NullPointerException     if the format or the options are null
+   */
+  static ImageEncoder of(String format, Map<String, String> options)
+          throws IllegalArgumentException, NullPointerException {
+    String name = Objects.requireNonNull(format).toLowerCase(Locale.ROOT);
+    Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(name);
+    if (!writers.hasNext()) {
+      throw new IllegalArgumentException("Invalid image file type to save to.");
+    }
+    ImageWriter writer = writers.next();
+    ImageWriteParam param = writer.getDefaultWriteParam();
+    try {
+      for (Map.Entry<String, String> option : options.entrySet()) {
+        switch (option.getKey()) {
+          case "format":
+            break;
+          case "quality":
+            setQuality(param, (float) parse(option.getValue(), 0, 1, "Quality must be a number "
+                    + "between 0 and 1."), option.getKey());
+            break;
+          case "compression":
+            if (!name.equals("png")) {
+              throw unsupported(option.getKey());
+            }
+            double level = parse(option.getValue(), 0, 9, "Compression must be an integer "
+                    + "between 0 and 9.");
+            if (level != Math.rint(level)) {
+              throw new IllegalArgumentException("Compression must be an integer between 0 "
+                      + "and 9.");
+            }
+            // the PNG writer uses the deflate level 9 * (1 - quality), truncated
+            setQuality(param, (float) Math.max(0, (9 - level) / 9 - 0.01), option.getKey());
+            break;
+          case "progressive":
+            if (!option.getValue().isEmpty() || !param.canWriteProgressive()) {
+              throw unsupported(option.getKey());
+            }
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            break;
+          default:
+            throw unsupported(option.getKey());
+        }
+      }
+    } catch (IllegalArgumentException e) {
+      writer.dispose();
+      throw e;
+    }
+    return new ImageEncoder(writer, param);
+  }
+
+  /**
+   * Finds the type of BufferedImage that the encoder writes without converting its pixels. A
+   * greyscale image is only written as 8-bit grey samples to a PNG file, which declares that
+   * its samples are sRGB grey levels so that they are loaded back unchanged. ImageIO reads the
+   * samples of other greyscale files as linear grey levels, so greyscale images are written to
+   * them in color.
+   *
+   * @param greyscale true if the image being saved is greyscale
+   * @return the type of BufferedImage to render the image into
+   */
+  int getImageType(boolean greyscale) {
+    if (greyscale && hasFormat("png")) {
+      return BufferedImage.TYPE_BYTE_GRAY;
+    }
+    if (hasFormat("jpeg") || hasFormat("bmp")) {
+      return BufferedImage.TYPE_3BYTE_BGR;
+    }
+    return BufferedImage.TYPE_INT_RGB;
+  }
+
+  /**
+   * Encodes an image into a given stream, which is flushed but not closed. A greyscale PNG
+   * file is marked as holding sRGB samples.
+   *
+   * @param image  the image to encode
+   * @param output the stream to write the encoded image to
+   * @throws IOException if encoding or writing the image fails
+   */
+  void encode(BufferedImage image, OutputStream output) throws IOException {
+    try (ImageOutputStream stream = new MemoryCacheImageOutputStream(output)) {
+      IIOMetadata metadata = image.getType() == BufferedImage.TYPE_BYTE_GRAY
+              && hasFormat("png") ? srgbMetadata(image) : null;
+      this.writer.setOutput(stream);
+      this.writer.write(null, new IIOImage(image, null, metadata), this.param);
+    }
+  }
+
+  /**
+   * Disposes of the writer of the encoder, after which the encoder cannot be used again.
+   */
+  @Override
+  public void close() {
+    this.writer.dispose();
+  }
+
+  // Determines whether the writer writes the format of the given informal name
+  private boolean hasFormat(String format) {
+    for (String name : this.writer.getOriginatingProvider().getFormatNames()) {
+      if (name.equalsIgnoreCase(format)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // Creates the metadata of a greyscale PNG file with an sRGB chunk for the given image
+  private IIOMetadata srgbMetadata(BufferedImage image) throws IOException {
+    IIOMetadata metadata = this.writer.getDefaultImageMetadata(new ImageTypeSpecifier(image),
+            this.param);
+    IIOMetadataNode root = new IIOMetadataNode(PNG_METADATA);
+    IIOMetadataNode srgb = new IIOMetadataNode("sRGB");
+    srgb.setAttribute("renderingIntent", "Perceptual");
+    root.appendChild(srgb);
+    metadata.mergeTree(PNG_METADATA, root);
+    return metadata;
+  }
+
+  /**
+   * Sets the quality of the compression of a writer that has only one type of compression,
+   * since what the quality means differs between the types of a writer that has several.
+   *
+   * @param param   the parameters of the writer
+   * @param quality the quality between 0 and 1
+   * @param option  the name of the option that sets the quality
+   * @throws IllegalArgumentException if the writer cannot compress with a quality, or the
+   *                                  quality option is given for a lossless compression
+   */
+  private static void setQuality(ImageWriteParam param, float quality, String option)
+          throws IllegalArgumentException {
+    if (!param.canWriteCompressed()) {
+      throw unsupported(option);
+    }
+    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+    String[] types = param.getCompressionTypes();
+    if (types != null && types.length > 1) {
+      throw unsupported(option);
+    }
+    if (types != null && param.getCompressionType() == null) {
+      param.setCompressionType(types[0]);
+    }
+    if (option.equals("quality") && param.isCompressionLossless()) {
+      throw unsupported(option);
+    }
+    param.setCompressionQuality(quality);
+  }
+
+  // Parses the value of an option as a number within the given bounds
+  private static double parse(String value, double min, double max, String message)
+          throws IllegalArgumentException {
+    try {
+      double number = Double.parseDouble(value);
+      if (number >= min && number <= max) {
+        return number;
+      }
+    } catch (NumberFormatException e) {
+      // the message is the same as for a number out of bounds
+    }
+    throw new IllegalArgumentException(message);
+  }
+
+  // Creates the exception for an option that the format does not support
+  private static IllegalArgumentException unsupported(String option) {
+    return new IllegalArgumentException("Option -" + option
+            + " is not supported for this file type.");
+  }
+}
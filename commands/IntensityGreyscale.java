@@ -4,6 +4,7 @@ import java.util.Scanner;
 
 import model.ImageModel;
 import model.ImageModelMap;
+import model.PixelOperation;
 import model.Transformation;
 
 /**
@@ -35,4 +36,14 @@ public class IntensityGreyscale extends AbstractTransformationCommand {
   protected ImageModel newModel(ImageModel oldModel) {
     return transform(oldModel, Transformation.INTENSITY);
   }
+
+  /**
+   * Gets the operation that performs an Intensity Greyscale method on each pixel.
+   *
+   * @return the operation performed on each pixel
+   */
+  @Override
+  protected PixelOperation pixelOperation() {
+    return pixelOperation(Transformation.INTENSITY);
+  }
 }
\ No newline at end of file
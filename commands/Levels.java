@@ -0,0 +1,57 @@
+package commands;
+
+import java.util.Scanner;
+
+import model.ImageModelMap;
+import model.LookupTable;
+
+/**
+ * This class represents a Levels command that can be performed on an object of an image model,
+ * which stretches the values between a black point and a white point to the full range of
+ * values.
+ */
+public class Levels extends AbstractLookupTableCommand {
+  private final String black;
+  private final String white;
+
+  /**
+   * Constructs a Levels command using a given output, map of image models, and scanner.
+   *
+   * @param output        the output that any prompts or error messages will be written to
+   * @param imageModelMap the map from which to choose an image to run the command on
+   * @param scanner       takes input from the user to perform the command as intended
+   * @throws IllegalArgumentException if any given parameters are null
+   */
+  public Levels(Appendable output, ImageModelMap imageModelMap,
+                Scanner scanner) throws IllegalArgumentException {
+    super(output, imageModelMap, scanner);
+    this.black = scanner.next();
+    this.white = scanner.next();
+  }
+
+  /**
+   * Creates the lookup table that stretches the values between the black and white points.
+   *
+   * @return the lookup table of the command
+   * @throws IllegalArgumentException if the points are not integers with
+   *                                  0 &lt;= black &lt; white &lt;= 255
+   */
+  @Override
+  protected LookupTable lookupTable() throws IllegalArgumentException {
+    try {
+      return LookupTable.levels(Integer.parseInt(this.black), Integer.parseInt(this.white));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Levels must satisfy 0 <= black < white <= 255.");
+    }
+  }
+
+  /**
+   * Describes the command and its black and white points.
+   *
+   * @return the description of the command
+   */
+  @Override
+  protected String describe() {
+    return "Levels " + this.black + " " + this.white;
+  }
+}
@@ -1,24 +1,46 @@
 package commands;
 
-import java.awt.Color;
 import java.awt.image.BufferedImage;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
 import java.util.Scanner;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.stream.ImageInputStream;
 
+import model.GreyscaleImageModel;
 import model.ImageModel;
-import model.ImageModelImpl;
+import model.ImageModelBuilder;
 import model.ImageModelMap;
-import model.Pixel;
+import model.ImageUtil;
+import model.OffHeapImageModel;
+import model.PackedImageModel;
+import model.RowBands;
+
+import org.w3c.dom.Node;
 
 /**
  * This class represents a Load command that can be performed on an object of an image model.
  */
 public class LoadImage extends AbstractImageCommand {
+  // Images with more pixels than this are stored outside of the Java heap
+  private static final long OFF_HEAP_THRESHOLD = 1L << 26;
+  private static final int MAX_COLOR_VALUE = 65535;
+  // The value that getRGB gives each sample of an 8-bit greyscale image, whose samples are
+  // stored in a linear color space rather than in sRGB
+  private static final byte[] GREY_LEVELS = greyLevels();
+
   /**
    * Constructs a Load command using a given output and scanner.
    *
@@ -71,7 +93,8 @@ public class LoadImage extends AbstractImageCommand {
   }
 
   /**
-   * Loads an image from a given filepath to an image model.
+   * Loads an image from a given filepath to an image model. PPM and PGM files are recognized by
+   * the magic number at the start of the file rather than by the extension of the filepath.
    *
    * @param filepath the filepath from which the image is loaded from
    * @return the resulting image model
@@ -80,64 +103,195 @@ public class LoadImage extends AbstractImageCommand {
    */
   public ImageModel loadImage(String filepath)
           throws IllegalArgumentException, IllegalStateException {
-    if (filepath.endsWith(".ppm")) {
-      return loadPPM(filepath);
-    } else {
-      return loadOther(filepath);
+    if (filepath == null) {
+      throw new IllegalArgumentException("Filepath must not contain a null value.");
+    }
+    Path path;
+    FileChannel channel;
+    try {
+      path = Paths.get(filepath);
+      channel = FileChannel.open(path, StandardOpenOption.READ);
+    } catch (NoSuchFileException | InvalidPathException e) {
+      throw new IllegalArgumentException("File not found: " + filepath + ".");
+    } catch (IOException e) {
+      throw new IllegalStateException("Reading image from file failed.");
+    }
+
+    try (FileChannel file = channel) {
+      if (hasPnmMagicNumber(file)) {
+        return loadPPM(file, path);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Reading image from file failed.");
     }
+    return loadOther(filepath);
   }
 
   /**
-   * Loads a PPM image from a given filepath to an image model.
+   * Determines whether a file starts with the magic number of a PPM or PGM file, and then
+   * returns to the start of the file.
    *
-   * @param filepath the filepath from which the image is loaded from
+   * @param file the file to check
+   * @return true if the file starts with 'P' followed by a digit from 1 to 7, and false
+   *         otherwise
+   * @throws IOException if reading from the file fails
+   */
+  private boolean hasPnmMagicNumber(FileChannel file) throws IOException {
+    ByteBuffer magic = ByteBuffer.allocate(2);
+    fill(file, magic);
+    file.position(0);
+    return magic.position() == 2 && magic.get(0) == 'P' && magic.get(1) >= '1'
+            && magic.get(1) <= '7';
+  }
+
+  /**
+   * Loads a PPM image, or a PGM image as a greyscale image model, from a file to an image
+   * model. The header is read with a tokenizer. The values of the pixels of a plain file are
+   * then read in one pass with the same tokenizer, while those of a binary file are read from
+   * the file directly, and each row of pixels is written into the image model as soon as it is
+   * parsed, with every value scaled from the maximum color value of the file to 255. PPM images
+   * with very many pixels are stored outside of the Java heap, and those of binary PPM files
+   * with 8-bit values are mapped from the file instead of being read.
+   *
+   * @param file the file from which the image is loaded from
+   * @param path the path of the file
    * @return the resulting image model
-   * @throws IllegalArgumentException if the filepath input is invalid
+   * @throws IllegalArgumentException if the file is not a valid PPM or PGM file
+   * @throws IOException if reading from the file fails
    */
-  private ImageModel loadPPM(String filepath)
-          throws IllegalArgumentException, IllegalStateException {
-    Scanner scanner;
-    try {
-      scanner = new Scanner(new FileInputStream(filepath));
-    } catch (FileNotFoundException e) {
-      throw new IllegalArgumentException("File not found: " + filepath + ".");
+  private ImageModel loadPPM(FileChannel file, Path path)
+          throws IllegalArgumentException, IOException {
+    PnmTokenizer tokenizer = new PnmTokenizer(Channels.newInputStream(file));
+    String token = tokenizer.nextWord();
+    boolean greyscale = token.equals("P2") || token.equals("P5");
+    boolean binary = token.equals("P5") || token.equals("P6");
+    if (!greyscale && !binary && !token.equals("P3")) {
+      throw new IllegalArgumentException("Invalid PPM file: only P2, P3, P5, and P6 files "
+              + "are supported.");
     }
 
-    StringBuilder builder = new StringBuilder();
-    while (scanner.hasNextLine()) {
-      String s = scanner.nextLine();
-      if (s.charAt(0) != '#') {
-        builder.append(s + System.lineSeparator());
-      }
+    int width = tokenizer.nextInt();
+    int height = tokenizer.nextInt();
+    int[] levels = levels(tokenizer.nextInt());
+    boolean offHeap = (long) height * width > OFF_HEAP_THRESHOLD;
+    RowReader reader;
+    if (binary && !greyscale && offHeap && levels.length == 256) {
+      return OffHeapImageModel.map(file, path, tokenizer.endHeader(), height, width);
+    } else if (binary) {
+      file.position(tokenizer.endHeader());
+      reader = new BinaryRows(file, width * (greyscale ? 1 : 3), levels);
+    } else {
+      reader = new PlainRows(tokenizer, levels);
     }
 
-    scanner = new Scanner(builder.toString());
-    String token;
-    token = scanner.next();
-    if (!token.equals("P3")) {
-      throw new IllegalArgumentException("Invalid PPM file:" +
-              "plain RAW file should begin with P3.");
+    if (greyscale) {
+      if ((long) height * width > Integer.MAX_VALUE - 8) {
+        throw new IllegalArgumentException("Image is too large to be stored in one array.");
+      }
+      byte[] values = new byte[height * width];
+      int[] row = new int[width];
+      for (int i = 0; i < height; i++) {
+        reader.read(row);
+        for (int j = 0; j < width; j++) {
+          values[i * width + j] = (byte) row[j];
+        }
+      }
+      return new GreyscaleImageModel(values, height, width);
     }
 
-    int width = scanner.nextInt();
-    int height = scanner.nextInt();
-    int maxValue = scanner.nextInt();
+    int[] samples = new int[width * 3];
+    int[] row = new int[width];
+    if (offHeap) {
+      OffHeapImageModel offHeapModel = new OffHeapImageModel(height, width);
+      for (int i = 0; i < height; i++) {
+        reader.read(samples);
+        pack(samples, row);
+        offHeapModel.setRow(i, row);
+      }
+      return offHeapModel;
+    }
 
-    Pixel[][] pixels = new Pixel[height][width];
+    ImageModelBuilder pixels = new ImageModelBuilder(height, width);
     for (int i = 0; i < height; i++) {
-      for (int j = 0; j < width; j++) {
-        int red = scanner.nextInt();
-        int green = scanner.nextInt();
-        int blue = scanner.nextInt();
-        pixels[i][j] = new Pixel(red, green, blue, maxValue);
-      }
+      reader.read(samples);
+      pack(samples, row);
+      pixels.setRow(i, row);
+    }
+
+    return pixels.build();
+  }
+
+  // Reads from a file into a buffer until the buffer is full or the file ends
+  private static void fill(FileChannel file, ByteBuffer buffer) throws IOException {
+    int count = 0;
+    while (buffer.hasRemaining() && count >= 0) {
+      count = file.read(buffer);
+    }
+  }
+
+  // Packs each triple of red, green, and blue values into one 0xRRGGBB value of a row
+  private static void pack(int[] samples, int[] row) {
+    for (int j = 0, k = 0; j < row.length; j++, k += 3) {
+      row[j] = PackedImageModel.pack(samples[k], samples[k + 1], samples[k + 2]);
     }
+  }
 
-    return new ImageModelImpl(pixels, height, width);
+  /**
+   * Scales a color value read from a file to between 0 and 255.
+   *
+   * @param value  the color value that was read
+   * @param levels the value from 0 to 255 of each color value of the file
+   * @return the scaled color value
+   * @throws IllegalArgumentException if the color value is greater than the maximum color value
+   */
+  private static int scale(int value, int[] levels) throws IllegalArgumentException {
+    if (value >= levels.length) {
+      throw new IllegalArgumentException("Must be valid pixel color measurements.");
+    }
+    return levels[value];
   }
 
   /**
-   * Loads a non-PPM image from a given filepath to an image model.
+   * Finds the value from 0 to 255 of each color value of a file with a given maximum color
+   * value, rounding each to the nearest value.
+   *
+   * @param maxValue the maximum color value of the file
+   * @return the value from 0 to 255 of each color value, indexed by the color value
+   * @throws IllegalArgumentException if the maximum color value is not between 1 and 65535
+   */
+  private static int[] levels(int maxValue) throws IllegalArgumentException {
+    if (maxValue < 1 || maxValue > MAX_COLOR_VALUE) {
+      throw new IllegalArgumentException("Invalid PPM file: maximum color value must be "
+              + "between 1 and 65535.");
+    }
+    int[] levels = new int[maxValue + 1];
+    for (int value = 0; value <= maxValue; value++) {
+      levels[value] = (value * 255 + maxValue / 2) / maxValue;
+    }
+    return levels;
+  }
+
+  /**
+   * Finds the sRGB value that getRGB gives each sample of an 8-bit greyscale image.
+   *
+   * @return the sRGB value of each sample, indexed by the sample
+   */
+  private static byte[] greyLevels() {
+    BufferedImage grey = new BufferedImage(256, 1, BufferedImage.TYPE_BYTE_GRAY);
+    byte[] levels = new byte[256];
+    for (int sample = 0; sample < levels.length; sample++) {
+      grey.getRaster().setSample(sample, 0, 0, sample);
+      levels[sample] = (byte) grey.getRGB(sample, 0);
+    }
+    return levels;
+  }
+
+  /**
+   * Loads a non-PPM image from a given filepath to an image model, converting its rows in
+   * bands that are processed in parallel straight into the pixels of the image model, reading
+   * the samples of the raster directly wherever its layout allows. An 8-bit greyscale image is
+   * loaded as a greyscale image model, with each sample converted to sRGB the same way that
+   * getRGB converts it, unless the file declares that its samples already are sRGB values.
    *
    * @param filepath the filepath from which the image is loaded from
    * @return the resulting image model
@@ -164,17 +318,171 @@ public class LoadImage extends AbstractImageCommand {
       throw new IllegalArgumentException("Invalid image file type to load from.");
     }
 
-    Pixel[][] pixels = new Pixel[height][width];
-    for (int i = 0; i < height; i++) {
-      for (int j = 0; j < width; j++) {
-        Color color = new Color(image.getRGB(j, i));
-        int red = color.getRed();
-        int green = color.getGreen();
-        int blue = color.getBlue();
-        pixels[i][j] = new Pixel(red, green, blue, 255);
+    if (image.getType() == BufferedImage.TYPE_BYTE_GRAY) {
+      byte[] values = new byte[height * width];
+      image.getRaster().getDataElements(0, 0, width, height, values);
+      boolean srgb;
+      try {
+        srgb = declaresSrgb(new File(filepath));
+      } catch (IOException e) {
+        throw new IllegalStateException("Reading image from file failed.");
+      }
+      if (!srgb) {
+        for (int i = 0; i < values.length; i++) {
+          values[i] = GREY_LEVELS[values[i] & 0xFF];
+        }
+      }
+      return new GreyscaleImageModel(values, height, width);
+    }
+
+    if ((long) height * width > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Image is too large to be stored in one array.");
+    }
+    int[] pixels = new int[height * width];
+    RowBands.forEach(height, width, (firstRow, lastRow) -> ImageUtil.readRows(image, firstRow,
+            lastRow - firstRow, pixels, firstRow * width));
+
+    return new PackedImageModel(pixels, height, width);
+  }
+
+  /**
+   * Determines whether a PNG file declares that its samples are sRGB values, as the greyscale
+   * PNG files saved by this program do. Files in other formats never declare it.
+   *
+   * @param file the file to check
+   * @return true if the file is a PNG file with an sRGB chunk, and false otherwise
+   * @throws IOException if reading the file fails
+   */
+  private static boolean declaresSrgb(File file) throws IOException {
+    try (ImageInputStream stream = ImageIO.createImageInputStream(file)) {
+      Iterator<ImageReader> readers = stream == null ? null : ImageIO.getImageReaders(stream);
+      if (readers == null || !readers.hasNext()) {
+        return false;
+      }
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(stream, true, false);
+        IIOMetadata metadata = reader.getImageMetadata(0);
+        if (metadata == null
+                || !ImageEncoder.PNG_METADATA.equals(metadata.getNativeMetadataFormatName())) {
+          return false;
+        }
+        for (Node node = metadata.getAsTree(ImageEncoder.PNG_METADATA).getFirstChild();
+             node != null; node = node.getNextSibling()) {
+          if (node.getNodeName().equals("sRGB")) {
+            return true;
+          }
+        }
+        return false;
+      } finally {
+        reader.dispose();
       }
     }
+  }
 
-    return new ImageModelImpl(pixels, height, width);
+  /**
+   * This interface represents a reader of the values of the pixels of a PPM or PGM file, one
+   * row at a time, which have been scaled to between 0 and 255.
+   */
+  private interface RowReader {
+    /**
+     * Reads the values of the next row of pixels, with the red, green, and blue values of each
+     * pixel of a PPM file next to each other.
+     *
+     * @param values the array to write the values of the row to
+     * @throws IllegalArgumentException if the file ends early or any value is invalid
+     * @throws IOException if reading from the file fails
+     */
+    void read(int[] values) throws IllegalArgumentException, IOException;
+  }
+
+  /**
+   * This class represents a reader of the rows of a plain PPM or PGM file, which parses each
+   * value from its digits.
+   */
+  private static final class PlainRows implements RowReader {
+    private final PnmTokenizer tokenizer;
+    private final int[] levels;
+
+    /**
+     * Constructs a reader of the rows of a plain file whose header has already been read.
+     *
+     * @param tokenizer the tokenizer reading from the file
+     * @param levels    the value from 0 to 255 of each color value of the file
+     */
+    private PlainRows(PnmTokenizer tokenizer, int[] levels) {
+      this.tokenizer = tokenizer;
+      this.levels = levels;
+    }
+
+    @Override
+    public void read(int[] values) throws IllegalArgumentException {
+      for (int k = 0; k < values.length; k++) {
+        values[k] = scale(this.tokenizer.nextInt(), this.levels);
+      }
+    }
+  }
+
+  /**
+   * This class represents a reader of the rows of a binary PPM or PGM file, which reads as many
+   * rows as fit in a large direct buffer from the file at a time. Each value takes one byte if
+   * the maximum color value of the file is less than 256, and two bytes with the most
+   * significant byte first otherwise.
+   */
+  private static final class BinaryRows implements RowReader {
+    private static final int BUFFER_BYTES = 1 << 22;
+    private final FileChannel file;
+    private final int[] levels;
+    private final boolean wide;
+    private final ByteBuffer buffer;
+    private final byte[] raw;
+
+    /**
+     * Constructs a reader of the rows of a binary file, starting from the current position of
+     * the file.
+     *
+     * @param file         the file to read from, positioned at the first value of the pixels
+     * @param valuesPerRow the number of values in each row
+     * @param levels       the value from 0 to 255 of each color value of the file
+     * @throws IllegalArgumentException if one row is too wide to be read at once
+     */
+    private BinaryRows(FileChannel file, int valuesPerRow, int[] levels)
+            throws IllegalArgumentException {
+      this.file = file;
+      this.levels = levels;
+      this.wide = levels.length > 256;
+      long rowBytes = (long) valuesPerRow * (this.wide ? 2 : 1);
+      if (rowBytes > Integer.MAX_VALUE - 8) {
+        throw new IllegalArgumentException("Width of the image is too large to be stored.");
+      }
+      long rowsPerRead = Math.max(1, BUFFER_BYTES / Math.max(1, rowBytes));
+      this.buffer = ByteBuffer.allocateDirect((int) (rowsPerRead * rowBytes));
+      this.buffer.flip();
+      this.raw = new byte[(int) rowBytes];
+    }
+
+    @Override
+    public void read(int[] values) throws IllegalArgumentException, IOException {
+      if (!this.buffer.hasRemaining()) {
+        this.buffer.clear();
+        fill(this.file, this.buffer);
+        this.buffer.flip();
+      }
+      if (this.buffer.remaining() < this.raw.length) {
+        throw new IllegalArgumentException("Invalid PPM file: file ended before every value "
+                + "was read.");
+      }
+      this.buffer.get(this.raw);
+      if (this.wide) {
+        for (int k = 0; k < values.length; k++) {
+          values[k] = scale((this.raw[2 * k] & 0xFF) << 8 | this.raw[2 * k + 1] & 0xFF,
+                  this.levels);
+        }
+      } else {
+        for (int k = 0; k < values.length; k++) {
+          values[k] = scale(this.raw[k] & 0xFF, this.levels);
+        }
+      }
+    }
   }
 }
@@ -4,6 +4,7 @@ import java.util.Scanner;
 
 import model.ImageModel;
 import model.ImageModelMap;
+import model.PixelOperation;
 import model.Transformation;
 
 /**
@@ -34,4 +35,14 @@ public class LumaGreyscale extends AbstractTransformationCommand {
   protected ImageModel newModel(ImageModel oldModel) {
     return transform(oldModel, Transformation.LUMA);
   }
+
+  /**
+   * Gets the operation that performs a Luma Greyscale method on each pixel.
+   *
+   * @return the operation performed on each pixel
+   */
+  @Override
+  protected PixelOperation pixelOperation() {
+    return pixelOperation(Transformation.LUMA);
+  }
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+package commands;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * This class represents a reader of the words and non-negative integers of a plain PPM or PGM
+ * file, which reads the file in one pass through a buffer of bytes. Whitespace and comments,
+ * which start with '#' and end at the end of their line, are skipped wherever they appear, and
+ * each integer is parsed from its digits as they are read, so that no strings are created for
+ * the values of the pixels. The tokenizer also finds where the header of a binary PPM or PGM
+ * file ends, so that the values of its pixels can be read from the file directly.
+ */
+final class PnmTokenizer {
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final int MAX_WORD_LENGTH = 16;
+  private final InputStream input;
+  private final byte[] buffer;
+  private long filled;
+  private int position;
+  private int limit;
+
+  /**
+   * Constructs a tokenizer that reads from a given stream, which it does not close.
+   *
+   * @param input the stream to read from
+   * @throws NullPointerException if the given stream is null
+   */
+  PnmTokenizer(InputStream input) throws NullPointerException {
+    this.input = Objects.requireNonNull(input);
+    this.buffer = new byte[BUFFER_SIZE];
+  }
+
+  /**
+   * Reads the next word, which is every character up to the next whitespace or comment.
+   *
+   * @return the word that was read
+   * @throws IllegalArgumentException if the stream ends before a word or the word is too long
+   * @throws IllegalStateException    if reading from the stream fails
+   */
+  String nextWord() throws IllegalArgumentException, IllegalStateException {
+    StringBuilder word = new StringBuilder();
+    int c = skipSeparators();
+    while (c != -1 && !isSeparator(c)) {
+      if (word.length() == MAX_WORD_LENGTH) {
+        throw new IllegalArgumentException("Invalid PPM file: header is malformed.");
+      }
+      word.append((char) c);
+      this.position++;
+      c = peek();
+    }
+    if (word.length() == 0) {
+      throw new IllegalArgumentException("Invalid PPM file: file ended before every value "
+              + "was read.");
+    }
+    return word.toString();
+  }
+
+  /**
+   * Reads the next non-negative integer in decimal.
+   *
+   * @return the integer that was read
+   * @throws IllegalArgumentException if the stream ends before an integer, the next word is not
+   *                                  a non-negative integer, or the integer is too large
+   * @throws IllegalStateException    if reading from the stream fails
+   */
+  int nextInt() throws IllegalArgumentException, IllegalStateException {
+    int c = skipSeparators();
+    if (c == -1) {
+      throw new IllegalArgumentException("Invalid PPM file: file ended before every value "
+              + "was read.");
+    }
+    int value = 0;
+    do {
+      int digit = c - '0';
+      if (digit < 0 || digit > 9) {
+        throw new IllegalArgumentException("Invalid PPM file: values must be non-negative "
+                + "integers.");
+      }
+      if (value > (Integer.MAX_VALUE - digit) / 10) {
+        throw new IllegalArgumentException("Invalid PPM file: value is too large.");
+      }
+      value = value * 10 + digit;
+      this.position++;
+      c = this.position < this.limit ? this.buffer[this.position] & 0xFF : peek();
+    } while (c != -1 && !isSeparator(c));
+    return value;
+  }
+
+  /**
+   * Consumes the single whitespace character that ends the header of a binary file, which is
+   * followed directly by the values of the pixels.
+   *
+   * @return the offset in the stream of the first byte after the header
+   * @throws IllegalArgumentException if the header is not followed by whitespace
+   * @throws IllegalStateException    if reading from the stream fails
+   */
+  long endHeader() throws IllegalArgumentException, IllegalStateException {
+    int c = peek();
+    if (c == -1 || c == '#' || !isSeparator(c)) {
+      throw new IllegalArgumentException("Invalid PPM file: header is malformed.");
+    }
+    this.position++;
+    return this.filled + this.position;
+  }
+
+  /**
+   * Skips whitespace and comments until the first character of the next word.
+   *
+   * @return the first character of the next word, which is not consumed, or -1 if the stream
+   *         ends first
+   * @throws IllegalStateException if reading from the stream fails
+   */
+  private int skipSeparators() throws IllegalStateException {
+    while (true) {
+      int c = peek();
+      if (c == '#') {
+        while (c != -1 && c != '\n' && c != '\r') {
+          this.position++;
+          c = peek();
+        }
+      } else if (c == -1 || !isSeparator(c)) {
+        return c;
+      } else {
+        this.position++;
+      }
+    }
+  }
+
+  /**
+   * Gets the next character without consuming it, filling the buffer from the stream once
+   * every character in it has been read.
+   *
+   * @return the next character, or -1 if the stream has ended
+   * @throws IllegalStateException if reading from the stream fails
+   */
+  private int peek() throws IllegalStateException {
+    if (this.position == this.limit) {
+      try {
+        int count = this.input.read(this.buffer, 0, this.buffer.length);
+        if (count <= 0) {
+          return -1;
+        }
+        this.filled += this.limit;
+        this.position = 0;
+        this.limit = count;
+      } catch (IOException e) {
+        throw new IllegalStateException("Reading image from file failed.");
+      }
+    }
+    return this.buffer[this.position] & 0xFF;
+  }
+
+  // Determines whether a character is whitespace or starts a comment
+  private static boolean isSeparator(int c) {
+    return c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '#' || c == '\f'
+            || c == 0x0B;
+  }
+}
@@ -0,0 +1,101 @@
+package commands;
+
+import java.util.Scanner;
+
+import model.ImageModel;
+import model.ImageModelMap;
+import model.Interpolation;
+import model.LazyImageModel;
+import model.Resampler;
+
+/**
+ * This class represents a Resize command that can be performed on an object of an image model,
+ * which changes its width and height to the given numbers of pixels. The new size is followed
+ * by the way that new pixels are found: nearest, bilinear, bicubic, or lanczos.
+ */
+public class Resize extends AbstractImageCommand {
+  private final String width;
+  private final String height;
+  private final String interpolation;
+
+  /**
+   * Constructs a Resize command using a given output, map of image models, and scanner.
+   *
+   * @param output        the output that any prompts or error messages will be written to
+   * @param imageModelMap the map from which to choose an image to run the command on
+   * @param scanner       takes input from the user to perform the command as intended
+   * @throws IllegalArgumentException if any given parameters are null
+   */
+  public Resize(Appendable output, ImageModelMap imageModelMap,
+                Scanner scanner) throws IllegalArgumentException {
+    super(output, imageModelMap, scanner);
+    this.width = scanner.next();
+    this.height = scanner.next();
+    this.interpolation = scanner.next();
+  }
+
+  /**
+   * Creates a new image model by changing the size of a given image model.
+   *
+   * @param oldModel the image model on which the method is performed
+   * @return a new image model based on the method performed
+   * @throws IllegalArgumentException if the size or interpolation is invalid
+   */
+  @Override
+  protected ImageModel newModel(ImageModel oldModel) throws IllegalArgumentException {
+    return resampler().apply(oldModel);
+  }
+
+  /**
+   * Creates an image model that will be resized once it is read, after checking the size and
+   * interpolation immediately.
+   *
+   * @param oldModel the image model on which the method is performed
+   * @return a new image model that has not been computed yet
+   * @throws IllegalArgumentException if the size or interpolation is invalid
+   * @throws NullPointerException     if the given image model is null
+   */
+  @Override
+  protected ImageModel deferredModel(ImageModel oldModel)
+          throws IllegalArgumentException, NullPointerException {
+    Resampler resampler = resampler();
+    return LazyImageModel.of(oldModel, describe(), resampler.getHeight(),
+            resampler.getWidth(), resampler::apply);
+  }
+
+  /**
+   * Describes the command, its size, and its interpolation.
+   *
+   * @return the description of the command
+   */
+  @Override
+  protected String describe() {
+    return "Resize " + this.width + " " + this.height + " " + this.interpolation;
+  }
+
+  /**
+   * Creates the change of size of the command.
+   *
+   * @return the change of size
+   * @throws IllegalArgumentException if the width and height are not positive integers or the
+   *                                  interpolation is not nearest, bilinear, bicubic, or lanczos
+   */
+  private Resampler resampler() throws IllegalArgumentException {
+    int newWidth;
+    int newHeight;
+    try {
+      newWidth = Integer.parseInt(this.width);
+      newHeight = Integer.parseInt(this.height);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Width and height must be positive integers.");
+    }
+    Interpolation mode;
+    try {
+      mode = Interpolation.valueOf(this.interpolation.toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException(
+              "Interpolation must be nearest, bilinear, bicubic, or lanczos.");
+    }
+    return Resampler.of(newHeight, newWidth, mode);
+  }
+}
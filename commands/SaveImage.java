@@ -1,22 +1,35 @@
 package commands;
 
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Scanner;
 
-import javax.imageio.ImageIO;
-
+import model.GreyscaleImageModel;
 import model.ImageModel;
 import model.ImageModelMap;
 import model.ImageUtil;
+import model.LazyImageModel;
+import model.OffHeapImageModel;
+import model.RowBands;
 
 /**
  * This class represents a Save command that can be performed on an object of an image model.
  */
 public class SaveImage extends AbstractImageCommand {
+  private static final int WRITE_BUFFER_BYTES = 1 << 22;
+  private static final int PLAIN_BATCH_VALUES = 1 << 22;
+
   /**
    * Constructs a generic command using a given output, map of image models, and scanner.
    *
@@ -33,20 +46,31 @@ public class SaveImage extends AbstractImageCommand {
   /**
    * Edits an image model and adds a map with one entry containing a name of the new model as
    * the key and a corresponding image model derived from performing an image model method as
-   * the value based on the type of command run.
+   * the value based on the type of command run. Any options for the file format, such as
+   * "-binary" or "-depth=16", are read before the filepath.
    *
    * @throws IllegalStateException if writing to the output stream fails
    */
   @Override
   public void edit() throws IllegalStateException {
     try {
+      Map<String, String> options = new LinkedHashMap<>();
       String newFilepath = this.scanner.next();
+      while (newFilepath.startsWith("-")) {
+        int equals = newFilepath.indexOf('=');
+        if (equals < 0) {
+          options.put(newFilepath.substring(1), "");
+        } else {
+          options.put(newFilepath.substring(1, equals), newFilepath.substring(equals + 1));
+        }
+        newFilepath = this.scanner.next();
+      }
       String modelName = this.scanner.next();
 
       try {
-        ImageModel model = this.imageModelMap.find(modelName);
+        ImageModel model = LazyImageModel.force(this.imageModelMap.find(modelName));
         try {
-          saveImage(model, this.output, newFilepath);
+          saveImage(model, this.output, newFilepath, options);
           this.output.append("Saving completed.\n");
         } catch (IllegalArgumentException e) {
           output.append(e.getMessage() + "\n");
@@ -83,98 +107,349 @@ public class SaveImage extends AbstractImageCommand {
    */
   public void saveImage(ImageModel model, Appendable output, String filepath)
           throws IllegalStateException, IllegalArgumentException {
-    if (output == null || filepath == null) {
+    saveImage(model, output, filepath, Collections.emptyMap());
+  }
+
+  /**
+   * Saves an image model as an image file to a given filepath with the given options for the
+   * file format while writing messages to a given output stream. The format is given by the
+   * "format" option, or otherwise by the extension of the filepath. PPM and PGM files are plain
+   * unless the "binary" option is given, and store 8-bit values unless the "depth" option is
+   * "16". Files of other formats take the options of an {@link ImageEncoder}. A file that the
+   * pixels of an open image model are mapped from cannot be overwritten.
+   *
+   * @param model    the image model that is being saved
+   * @param output   the output stream that the messages are written to
+   * @param filepath the filepath that the image model is saved to
+   * @param options  the value of each option, or an empty string for options without a value
+   * @throws IllegalStateException    if writing to the output stream fails
+   * @throws IllegalArgumentException if an option is not supported by the file format or the
+   *                                  image model cannot be saved to the given filepath
+   */
+  public void saveImage(ImageModel model, Appendable output, String filepath,
+                        Map<String, String> options)
+          throws IllegalStateException, IllegalArgumentException {
+    if (output == null || filepath == null || options == null) {
       throw new IllegalArgumentException("No parameters may contain null values.");
     }
-    if (filepath.endsWith(".ppm")) {
-      savePPM(model, output, filepath);
+    if (OffHeapImageModel.isMappedFrom(filepath)) {
+      throw new IllegalArgumentException("Cannot overwrite a file that a loaded image is read "
+              + "from.");
+    }
+    String format = options.containsKey("format") ? options.get("format").toLowerCase()
+            : filepath.substring(filepath.lastIndexOf('.') + 1).toLowerCase();
+    boolean ppm = format.equals("ppm");
+    if (ppm || format.equals("pgm")) {
+      checkOptions(options, "format", "binary", "depth");
+      int maxValue = maxValue(options.getOrDefault("depth", "8"));
+      if (options.containsKey("binary")) {
+        saveBinary(model, output, filepath, !ppm, maxValue);
+      } else {
+        savePlain(model, output, filepath, !ppm, maxValue);
+      }
     } else {
-      saveOther(model, output, filepath);
+      saveOther(model, output, filepath, format, options);
     }
   }
 
   /**
-   * Saves an image model as a PPM image file to a given filepath while writing messages to a
-   * given output stream.
+   * Checks that every given option is supported by the file format being saved to.
    *
-   * @param model    the image model that is being saved
-   * @param output   the output stream that the messages are written to
-   * @param filepath the filepath that the image model is saved to
+   * @param options   the options that were given
+   * @param supported the names of the options that the file format supports
+   * @throws IllegalArgumentException if any option is not supported
+   */
+  private void checkOptions(Map<String, String> options, String... supported)
+          throws IllegalArgumentException {
+    for (String name : options.keySet()) {
+      if (!Arrays.asList(supported).contains(name)) {
+        throw new IllegalArgumentException("Option -" + name
+                + " is not supported for this file type.");
+      }
+    }
+  }
+
+  /**
+   * Finds the maximum color value of a PPM or PGM file with the given number of bits per value.
+   *
+   * @param depth the number of bits per value
+   * @return the maximum color value
+   * @throws IllegalArgumentException if the number of bits is not 8 or 16
+   */
+  private int maxValue(String depth) throws IllegalArgumentException {
+    if (depth.equals("8")) {
+      return 255;
+    } else if (depth.equals("16")) {
+      return 65535;
+    }
+    throw new IllegalArgumentException("Depth must be 8 or 16.");
+  }
+
+  /**
+   * Saves an image model as a plain PPM image file, or a greyscale image model as a plain PGM
+   * image file, to a given filepath while writing messages to a given output stream. Each
+   * value is written on its own line. The rows are formatted in batches, and the rows of each
+   * batch are split into bands whose digits are formatted into arrays of bytes in parallel,
+   * which are then written to the file in order.
+   *
+   * @param model     the image model that is being saved
+   * @param output    the output stream that the messages are written to
+   * @param filepath  the filepath that the image model is saved to
+   * @param greyscale true to save a PGM file, and false to save a PPM file
+   * @param maxValue  the maximum color value of the file, which is either 255 or 65535
    * @throws IllegalStateException    if writing to the output stream fails
-   * @throws IllegalArgumentException if the image model cannot be saved to the given filepath
+   * @throws IllegalArgumentException if a PGM file is saved from an image model that is not
+   *                                  greyscale, or the image model cannot be saved to the given
+   *                                  filepath
    */
-  private void savePPM(ImageModel model, Appendable output, String filepath)
+  private void savePlain(ImageModel model, Appendable output, String filepath,
+                         boolean greyscale, int maxValue)
           throws IllegalStateException, IllegalArgumentException {
     int height = model.getImageHeight();
     int width = model.getImageWidth();
+    if (greyscale && !GreyscaleImageModel.isGreyscale(model)) {
+      throw new IllegalArgumentException("Only greyscale images can be saved as PGM files.");
+    }
+    int valuesPerRow = width * (greyscale ? 1 : 3);
+    byte[] separator = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+    int bytesPerValue = (maxValue > 255 ? 5 : 3) + separator.length;
+    int rowsPerBatch = Math.max(1, PLAIN_BATCH_VALUES / Math.max(1, valuesPerRow));
+    if ((long) valuesPerRow * bytesPerValue > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Width of the image is too large to be saved.");
+    }
+
+    try (FileChannel file = createFile(output, filepath)) {
+      String line = System.lineSeparator();
+      write(file, ((greyscale ? "P2" : "P3") + line
+              + (greyscale ? "# PGM Image Output" : "# PPM Image Output") + line + width + " "
+              + height + line + maxValue + line).getBytes(StandardCharsets.US_ASCII));
+      int scale = maxValue / 255;
+      for (int first = 0; first < height; first += rowsPerBatch) {
+        int batchStart = first;
+        int batchRows = Math.min(rowsPerBatch, height - first);
+        byte[][] bands = new byte[batchRows][];
+        int[] lengths = new int[batchRows];
+        RowBands.forEach(batchRows, valuesPerRow, (firstRow, lastRow) -> {
+          int rows = lastRow - firstRow;
+          int[] values = new int[rows * valuesPerRow];
+          if (greyscale && model instanceof GreyscaleImageModel) {
+            byte[] plane = ((GreyscaleImageModel) model).getPlane();
+            for (int k = 0, source = (batchStart + firstRow) * width; k < values.length; k++) {
+              values[k] = plane[source + k] & 0xFF;
+            }
+          } else if (greyscale) {
+            model.getRegion(0, batchStart + firstRow, width, rows, values, 0, width);
+            for (int k = 0; k < values.length; k++) {
+              values[k] &= 0xFF;
+            }
+          } else {
+            int[] rgb = new int[rows * width];
+            model.getRegion(0, batchStart + firstRow, width, rows, rgb, 0, width);
+            for (int j = 0; j < rgb.length; j++) {
+              values[3 * j] = (rgb[j] >> 16) & 0xFF;
+              values[3 * j + 1] = (rgb[j] >> 8) & 0xFF;
+              values[3 * j + 2] = rgb[j] & 0xFF;
+            }
+          }
+          byte[] band = new byte[values.length * bytesPerValue];
+          int position = 0;
+          for (int value : values) {
+            position = formatValue(band, position, value * scale, separator);
+          }
+          bands[firstRow] = band;
+          lengths[firstRow] = position;
+        });
+        for (int i = 0; i < batchRows; i++) {
+          if (bands[i] != null) {
+            write(file, bands[i], lengths[i]);
+          }
+        }
+      }
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Writing to new file failed.");
+    }
+  }
+
+  // Writes the decimal digits of a non-negative value followed by a separator into an array,
+  // returning the position after the separator
+  private static int formatValue(byte[] out, int position, int value, byte[] separator) {
+    int digits = value < 10 ? 1 : value < 100 ? 2 : value < 1000 ? 3 : value < 10000 ? 4 : 5;
+    for (int k = position + digits - 1; k >= position; k--) {
+      out[k] = (byte) ('0' + value % 10);
+      value /= 10;
+    }
+    position += digits;
+    for (byte b : separator) {
+      out[position++] = b;
+    }
+    return position;
+  }
+
+  /**
+   * Creates the file at a given filepath, replacing any file that is already there, and writes
+   * a message to a given output stream once it has been created.
+   *
+   * @param output   the output stream that the message is written to
+   * @param filepath the filepath of the file
+   * @return the file, opened for writing
+   * @throws IllegalStateException    if writing to the output stream fails
+   * @throws IllegalArgumentException if the file cannot be created
+   */
+  private FileChannel createFile(Appendable output, String filepath)
+          throws IllegalStateException, IllegalArgumentException {
+    FileChannel channel;
+    try {
+      channel = FileChannel.open(Paths.get(filepath), StandardOpenOption.CREATE,
+              StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    } catch (IOException | InvalidPathException e) {
+      throw new IllegalArgumentException("Filepath cannot be created.");
+    }
 
     try {
-      PrintWriter file;
+      output.append("Writing to new file: " + filepath + ".\n");
+    } catch (IOException e) {
       try {
-        file = new PrintWriter(filepath);
-      } catch (FileNotFoundException e) {
-        throw new IllegalArgumentException("Filepath cannot be created.");
+        channel.close();
+      } catch (IOException closing) {
+        // the message could not be written either way
       }
+      throw new IllegalStateException("Writing to output stream failed.");
+    }
+    return channel;
+  }
 
-      output.append("Writing to new file: " + filepath + ".\n");
+  // Writes the first bytes of an array to a file
+  private static void write(FileChannel file, byte[] bytes, int length) throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, length);
+    while (buffer.hasRemaining()) {
+      file.write(buffer);
+    }
+  }
 
-      file.println("P3");
-      file.println("# PPM Image Output");
-      file.println(width + " " + height);
-      file.println(255);
+  // Writes every byte of an array to a file
+  private static void write(FileChannel file, byte[] bytes) throws IOException {
+    write(file, bytes, bytes.length);
+  }
+
+  /**
+   * Saves an image model as a binary PPM image file, or a greyscale image model as a binary PGM
+   * image file, to a given filepath while writing messages to a given output stream. The header
+   * and the values of as many rows as fit are gathered in a large direct buffer, which is
+   * written to the file whenever the next row does not fit. Each value takes one byte if the
+   * maximum color value is 255, and two bytes with the most significant byte first otherwise.
+   *
+   * @param model     the image model that is being saved
+   * @param output    the output stream that the messages are written to
+   * @param filepath  the filepath that the image model is saved to
+   * @param greyscale true to save a PGM file, and false to save a PPM file
+   * @param maxValue  the maximum color value of the file, which is either 255 or 65535
+   * @throws IllegalStateException    if writing to the output stream fails
+   * @throws IllegalArgumentException if a PGM file is saved from an image model that is not
+   *                                  greyscale, or the image model cannot be saved to the given
+   *                                  filepath
+   */
+  private void saveBinary(ImageModel model, Appendable output, String filepath,
+                          boolean greyscale, int maxValue)
+          throws IllegalStateException, IllegalArgumentException {
+    int height = model.getImageHeight();
+    int width = model.getImageWidth();
+    if (greyscale && !GreyscaleImageModel.isGreyscale(model)) {
+      throw new IllegalArgumentException("Only greyscale images can be saved as PGM files.");
+    }
+    int bytesPerValue = maxValue > 255 ? 2 : 1;
+    long rowBytes = (long) width * (greyscale ? 1 : 3) * bytesPerValue;
+    if (rowBytes > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Width of the image is too large to be saved.");
+    }
 
+    try (FileChannel file = createFile(output, filepath)) {
+      byte[] header = ((greyscale ? "P5\n# PGM Image Output\n" : "P6\n# PPM Image Output\n")
+              + width + " " + height + "\n" + maxValue + "\n").getBytes(StandardCharsets.US_ASCII);
+      ByteBuffer buffer = ByteBuffer.allocateDirect((int) Math.max(WRITE_BUFFER_BYTES,
+              Math.max(rowBytes, header.length)));
+      buffer.put(header);
+      byte[] raw = new byte[(int) rowBytes];
+      int[] row = new int[width];
+      byte[] plane = model instanceof GreyscaleImageModel
+              ? ((GreyscaleImageModel) model).getPlane() : null;
       for (int i = 0; i < height; i++) {
-        for (int j = 0; j < width; j++) {
-          file.println(model.getPixelAt(i, j).getRed());
-          file.println(model.getPixelAt(i, j).getGreen());
-          file.println(model.getPixelAt(i, j).getBlue());
+        if (plane != null && greyscale) {
+          for (int j = 0; j < width; j++) {
+            putValue(raw, j, plane[i * width + j] & 0xFF, bytesPerValue);
+          }
+        } else if (greyscale) {
+          model.getRow(i, row);
+          for (int j = 0; j < width; j++) {
+            putValue(raw, j, row[j] & 0xFF, bytesPerValue);
+          }
+        } else {
+          model.getRow(i, row);
+          for (int j = 0, k = 0; j < width; j++, k += 3) {
+            putValue(raw, k, (row[j] >> 16) & 0xFF, bytesPerValue);
+            putValue(raw, k + 1, (row[j] >> 8) & 0xFF, bytesPerValue);
+            putValue(raw, k + 2, row[j] & 0xFF, bytesPerValue);
+          }
+        }
+        if (buffer.remaining() < raw.length) {
+          drain(file, buffer);
         }
+        buffer.put(raw);
       }
-      file.close();
+      drain(file, buffer);
     } catch (IOException e) {
-      throw new IllegalStateException("Writing to output stream failed.");
+      throw new IllegalArgumentException("Writing to new file failed.");
+    }
+  }
+
+  // Writes a value from 0 to 255 at an index of a row of one or two byte values, scaling it to
+  // 65535 with the most significant byte first if each value takes two bytes
+  private static void putValue(byte[] raw, int index, int value, int bytesPerValue) {
+    if (bytesPerValue == 1) {
+      raw[index] = (byte) value;
+    } else {
+      raw[2 * index] = (byte) value;
+      raw[2 * index + 1] = (byte) value;
+    }
+  }
+
+  // Writes everything in a buffer to a file and clears the buffer
+  private static void drain(FileChannel file, ByteBuffer buffer) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      file.write(buffer);
     }
+    buffer.clear();
   }
 
   /**
    * Saves an image model as a non-PPM image file to a given filepath while writing messages to a
-   * given output stream.
+   * given output stream. The image model is rendered into a BufferedImage of the type that the
+   * encoder of the format writes directly, which is encoded straight into a FileChannel on the
+   * file.
    *
    * @param model    the image model that is being saved
    * @param output   the output stream that the messages are written to
    * @param filepath the filepath that the image model is saved to
+   * @param format   the informal name of the format
+   * @param options  the value of each option, or an empty string for options without a value
    * @throws IllegalStateException    if writing to the output stream fails
-   * @throws IllegalArgumentException if the image model cannot be saved to the given filepath
+   * @throws IllegalArgumentException if the format or an option is not supported, or the image
+   *                                  model cannot be saved to the given filepath
    */
-  private void saveOther(ImageModel model, Appendable output, String filepath)
+  private void saveOther(ImageModel model, Appendable output, String filepath, String format,
+                         Map<String, String> options)
           throws IllegalStateException, IllegalArgumentException {
     int height = model.getImageHeight();
     int width = model.getImageWidth();
-
-    try {
-      new PrintWriter(filepath);
-    } catch (FileNotFoundException e) {
-      throw new IllegalArgumentException("Filepath cannot be created.");
-    }
-
-    try {
-      BufferedImage image = new BufferedImage(width, height, 1);
+    try (ImageEncoder encoder = ImageEncoder.of(format, options)) {
+      BufferedImage image = new BufferedImage(width, height,
+              encoder.getImageType(GreyscaleImageModel.isGreyscale(model)));
       ImageUtil.renderBufferedImage(image, model, width, height);
-
-      try {
-        boolean newImage = ImageIO.write(image,
-                filepath.substring(filepath.length() - 3), new File(filepath));
-        if (!newImage) {
-          throw new IllegalArgumentException("Invalid image file type to save to.");
-        }
-        output.append("Writing to new file: " + filepath + ".\n");
-      } catch (IOException e) {
-        output.append("Writing to new file: " + filepath + ".\n");
-        throw new IllegalArgumentException("Writing to new file failed.\n");
+      try (FileChannel file = createFile(output, filepath)) {
+        encoder.encode(image, Channels.newOutputStream(file));
       }
-
     } catch (IOException e) {
-      throw new IllegalStateException("Writing to output stream failed.");
+      throw new IllegalArgumentException("Writing to new file failed.");
     }
   }
 }
@@ -10,18 +10,31 @@ import java.util.function.Function;
 
 import commands.BlueGreyscale;
 import commands.BlurFilter;
+import commands.BoxBlur;
 import commands.Brighten;
+import commands.Chain;
+import commands.ColorMatrixTransform;
+import commands.Convolve;
+import commands.Curves;
+import commands.Gamma;
+import commands.GaussianBlur;
 import commands.GreenGreyscale;
 import commands.HorizontalFlip;
 import commands.ImageCommand;
 import commands.IntensityGreyscale;
+import commands.Levels;
 import commands.LoadImage;
 import commands.LumaGreyscale;
 import commands.RedGreyscale;
+import commands.Resize;
+import commands.Rotate180;
+import commands.Rotate270;
+import commands.Rotate90;
 import commands.SaveImage;
 import commands.MaxValueGreyscale;
 import commands.SepiaTone;
 import commands.SharpenFilter;
+import commands.Transpose;
 import commands.VerticalFlip;
 import model.ImageModelMap;
 import view.ImageModelView;
@@ -32,6 +45,7 @@ import view.ImageModelView;
  */
 public class ImageControllerImpl implements ImageController, ViewListener {
   private final Appendable output;
+  private final ImageModelMap imageModelMap;
   private final Map<String, Function<Scanner, ImageCommand>> commandMap;
 
   /**
@@ -72,6 +86,7 @@ public class ImageControllerImpl implements ImageController, ViewListener {
       throw new IllegalArgumentException("No parameters may contain a null value.");
     }
     this.output = output;
+    this.imageModelMap = imageModelMap;
     this.commandMap = new HashMap<>();
     this.commandMap.putIfAbsent("load",
         s -> (new LoadImage(this.output, imageModelMap, s)));
@@ -89,22 +104,51 @@ public class ImageControllerImpl implements ImageController, ViewListener {
         s -> (new IntensityGreyscale(this.output, imageModelMap, s)));
     this.commandMap.putIfAbsent("sepia-tone",
         s -> (new SepiaTone(this.output, imageModelMap, s)));
+    this.commandMap.putIfAbsent("color-matrix",
+        s -> (new ColorMatrixTransform(this.output, imageModelMap, s)));
     this.commandMap.putIfAbsent("horizontal-flip",
         s -> (new HorizontalFlip(this.output, imageModelMap, s)));
     this.commandMap.putIfAbsent("vertical-flip",
         s -> (new VerticalFlip(this.output, imageModelMap, s)));
+    this.commandMap.putIfAbsent("rotate-90",
+        s -> (new Rotate90(this.output, imageModelMap, s)));
+    this.commandMap.putIfAbsent("rotate-180",
+        s -> (new Rotate180(this.output, imageModelMap, s)));
+    this.commandMap.putIfAbsent("rotate-270",
+        s -> (new Rotate270(this.output, imageModelMap, s)));
+    this.commandMap.putIfAbsent("transpose",
+        s -> (new Transpose(this.output, imageModelMap, s)));
+    this.commandMap.putIfAbsent("resize",
+        s -> (new Resize(this.output, imageModelMap, s)));
     this.commandMap.putIfAbsent("brighten",
         s -> (new Brighten(this.output, imageModelMap, s)));
+    this.commandMap.putIfAbsent("levels",
+        s -> (new Levels(this.output, imageModelMap, s)));
+    this.commandMap.putIfAbsent("curves",
+        s -> (new Curves(this.output, imageModelMap, s)));
+    this.commandMap.putIfAbsent("gamma",
+        s -> (new Gamma(this.output, imageModelMap, s)));
     this.commandMap.putIfAbsent("blur",
         s -> (new BlurFilter(this.output, imageModelMap, s)));
     this.commandMap.putIfAbsent("sharpen",
         s -> (new SharpenFilter(this.output, imageModelMap, s)));
+    this.commandMap.putIfAbsent("convolve",
+        s -> (new Convolve(this.output, imageModelMap, s)));
+    this.commandMap.putIfAbsent("box-blur",
+        s -> (new BoxBlur(this.output, imageModelMap, s)));
+    this.commandMap.putIfAbsent("gaussian-blur",
+        s -> (new GaussianBlur(this.output, imageModelMap, s)));
     this.commandMap.putIfAbsent("save",
         s -> (new SaveImage(this.output, imageModelMap, s)));
+    this.commandMap.putIfAbsent("chain",
+        s -> (new Chain(this.output, imageModelMap, s, this.commandMap)));
   }
 
   /**
-   * Runs the controller using commands from a given input source.
+   * Runs the controller using commands from a given input source. Consecutive commands that
+   * change every pixel independently are fused into one pass, and every image model they add
+   * is computed before the next command of any other kind is run or once the input has been
+   * read, except those that only fed the commands fused after them.
    *
    * @param input the input source from which to read the commands for the controller
    * @param start true if the controller is being run for the first time in a given program
@@ -124,11 +168,35 @@ public class ImageControllerImpl implements ImageController, ViewListener {
                 "2. Color Transformations (operation name new-name)\n" +
                 "   These operations include red-component, green-component, blue-component,\n" +
                 "   maxvalue-component, luma-component, intensity component, and sepia-tone.\n" +
-                "3. Image Flipping (operation name new-name)\n" +
-                "   These operations include horizontal-flip and vertical-flip.\n" +
+                "   color-matrix first takes the 12 values of a 3x4 matrix in row-major order,\n" +
+                "   where the fourth value of each row is an offset that is added to it\n" +
+                "   (color-matrix r1 r2 r3 r4 g1 g2 g3 g4 b1 b2 b3 b4 name new-name).\n" +
+                "3. Image Flipping and Rotating (operation name new-name)\n" +
+                "   These operations include horizontal-flip, vertical-flip, rotate-90,\n" +
+                "   rotate-180, rotate-270, and transpose.\n" +
                 "4. Image Filtering (operation name new-name)\n" +
                 "   These operations include blur-filter and sharpen-filter.\n" +
-                "5. Image Saving (save to-filepath name)\n");
+                "   convolve first takes a kernel file or rows like 0,1/4,0;1/4,0,1/4;0,1/4,0\n" +
+                "   and a border: zero, clamp, mirror, or wrap\n" +
+                "   (convolve kernel border name new-name).\n" +
+                "   box-blur takes a radius and gaussian-blur a standard deviation in pixels\n" +
+                "   (box-blur radius name new-name) (gaussian-blur sigma name new-name).\n" +
+                "5. Tone Adjustments (operation parameters name new-name)\n" +
+                "   These operations include levels (levels black white name new-name),\n" +
+                "   gamma (gamma value name new-name), and curves, which takes old:new points\n" +
+                "   (curves 0:0,64:40,255:255 name new-name).\n" +
+                "6. Chaining (chain count operations name new-name)\n" +
+                "   Performs several operations that change each pixel on its own in one pass,\n" +
+                "   as in chain 3 brighten 20 sepia-tone luma-component name new-name.\n" +
+                "7. Resizing (resize width height interpolation name new-name)\n" +
+                "   The interpolation is nearest, bilinear, bicubic, or lanczos.\n" +
+                "8. Image Saving\n" +
+                "   Options go before the filepath: -binary saves a binary PPM or PGM file,\n" +
+                "   and -depth=16 saves 16-bit values, as in save -binary image.ppm name.\n" +
+                "   -format=png sets the file type, -quality=0.8 the quality of a JPEG file,\n" +
+                "   -compression=9 the deflate level of a PNG file, and -progressive saves\n" +
+                "   a progressive JPEG or an interlaced PNG or GIF file.\n" +
+                "   (save to-filepath name)\n");
       }
 
       while (scanner.hasNext()) {
@@ -143,6 +211,8 @@ public class ImageControllerImpl implements ImageController, ViewListener {
       }
     } catch (IOException e) {
       throw new IllegalStateException("Writing to output stream failed.");
+    } finally {
+      this.imageModelMap.setFusing(false);
     }
   }
 
@@ -157,15 +227,21 @@ public class ImageControllerImpl implements ImageController, ViewListener {
     Readable commandParameters = new StringReader(Objects.requireNonNull(parameters));
     Scanner scanner = new Scanner(commandParameters);
 
-    while (scanner.hasNext()) {
-      String stringCommand = scanner.next();
-      executeCommand(scanner, stringCommand);
+    try {
+      while (scanner.hasNext()) {
+        String stringCommand = scanner.next();
+        executeCommand(scanner, stringCommand);
+      }
+    } finally {
+      this.imageModelMap.setFusing(false);
     }
   }
 
   /**
    * Uses the given string command to pull the relevant command function object from the
-   * command map, and uses the given scanner to read other relevant operation parameters.
+   * command map, and uses the given scanner to read other relevant operation parameters. The
+   * map keeps fusing while commands change every pixel independently, and computes the image
+   * models it has deferred before a command of any other kind reads them.
    *
    * @param scanner the scanner used to read other relevant operation parameters
    * @param stringCommand the string command corresponding to the relevant function object
@@ -176,6 +252,7 @@ public class ImageControllerImpl implements ImageController, ViewListener {
     if (function != null) {
       ImageCommand command = function.apply(scanner);
       if (command != null) {
+        this.imageModelMap.setFusing(command.isFusable());
         command.edit();
       }
     }
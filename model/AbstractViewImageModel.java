@@ -0,0 +1,208 @@
+package model;
+
+import java.util.Objects;
+
+/**
+ * This class represents a generic image model that is a view of another image model. A view
+ * does not store any pixels of its own and instead reads each pixel from its source, so
+ * creating one takes constant time and memory. A view can be materialized into a copy of its
+ * pixels, after which it no longer reads from or refers to its source, which is necessary
+ * before the source can be released.
+ */
+public abstract class AbstractViewImageModel implements DerivedImageModel {
+  private final int height;
+  private final int width;
+  private volatile ImageModel source;
+  private volatile boolean greyscale;
+  private volatile PackedImageModel copy;
+
+  /**
+   * Constructs a view of the given height and width over a given source.
+   *
+   * @param source the image model that the view reads its pixels from
+   * @param height the height in pixels of the view
+   * @param width  the width in pixels of the view
+   * @throws NullPointerException if the given source is null
+   */
+  protected AbstractViewImageModel(ImageModel source, int height, int width)
+          throws NullPointerException {
+    this.source = Objects.requireNonNull(source);
+    this.height = height;
+    this.width = width;
+  }
+
+  /**
+   * Determines whether the view only holds shades of grey because its source is greyscale at
+   * the time it is asked, which is remembered once the view has been materialized.
+   *
+   * @return true if the source of the view is greyscale, and false otherwise
+   */
+  public boolean isGreyscale() {
+    ImageModel current = this.source;
+    return current == null ? this.greyscale : GreyscaleImageModel.isGreyscale(current);
+  }
+
+  /**
+   * Gets the height of the image model that the method is being performed on.
+   *
+   * @return the height of the image model
+   */
+  @Override
+  public int getImageHeight() {
+    return this.height;
+  }
+
+  /**
+   * Gets the width of the image model that the method is being performed on.
+   *
+   * @return the width of the image model
+   */
+  @Override
+  public int getImageWidth() {
+    return this.width;
+  }
+
+  /**
+   * Gets the pixel at a given row and column of the image model that the method is being
+   * performed on.
+   *
+   * @param row the row from which to get the pixel
+   * @param col the column from which to get the pixel
+   * @return the pixel at the given row and column
+   * @throws IllegalArgumentException if the given position is beyond the dimensions of the
+   *                                  image model
+   */
+  @Override
+  public IPixel getPixelAt(int row, int col) throws IllegalArgumentException {
+    return Pixel.ofRGB(getRGB(row, col));
+  }
+
+  /**
+   * Gets the packed 0xRRGGBB value of the pixel at a given row and column.
+   *
+   * @param row the row from which to get the value
+   * @param col the column from which to get the value
+   * @return the packed value of the pixel
+   * @throws IllegalArgumentException if the given position is beyond the dimensions of the
+   *                                  image model
+   */
+  @Override
+  public int getRGB(int row, int col) throws IllegalArgumentException {
+    if (row >= this.height || row < 0 || col >= this.width || col < 0) {
+      throw new IllegalArgumentException("Pixel position is beyond the dimensions of the image.");
+    }
+    ImageModel current = this.source;
+    if (current == null) {
+      return this.copy.getRGB(row, col);
+    }
+    int[] value = new int[1];
+    readRegion(current, col, row, 1, 1, value, 0, 1);
+    return value[0];
+  }
+
+  /**
+   * Copies the packed 0xRRGGBB values of a rectangular region of the image model into a given
+   * array, where each row of the region starts {@code stride} elements after the last one.
+   *
+   * @param x      the leftmost column of the region
+   * @param y      the topmost row of the region
+   * @param w      the width of the region
+   * @param h      the height of the region
+   * @param dst    the array to copy into
+   * @param offset the position in the array of the region's top-left pixel
+   * @param stride the distance in the array between the starts of consecutive rows
+   * @throws IllegalArgumentException if the region is beyond the dimensions of the image model
+   *                                  or does not fit in the array
+   */
+  @Override
+  public void getRegion(int x, int y, int w, int h, int[] dst, int offset, int stride)
+          throws IllegalArgumentException {
+    if (x < 0 || y < 0 || w < 0 || h < 0 || x + w > this.width || y + h > this.height) {
+      throw new IllegalArgumentException("Region is beyond the dimensions of the image.");
+    }
+    if (dst == null || offset < 0 || (h > 0 && (long) offset + (long) (h - 1) * stride + w
+            > dst.length)) {
+      throw new IllegalArgumentException("Region does not fit in the given array.");
+    }
+    ImageModel current = this.source;
+    if (current == null) {
+      this.copy.getRegion(x, y, w, h, dst, offset, stride);
+    } else {
+      readRegion(current, x, y, w, h, dst, offset, stride);
+    }
+  }
+
+  /**
+   * Determines whether the view reads from a given image model, either directly or through
+   * another view. A view that has been materialized no longer reads from any image model.
+   *
+   * @param model the image model to look for
+   * @return true if the view reads from the given image model, and false otherwise
+   */
+  @Override
+  public boolean dependsOn(ImageModel model) {
+    ImageModel current = this.source;
+    return current != null && (current == model || (current instanceof DerivedImageModel
+            && ((DerivedImageModel) current).dependsOn(model)));
+  }
+
+  /**
+   * Determines whether the view has been materialized into a copy of its pixels.
+   *
+   * @return true if the view has been materialized, and false otherwise
+   */
+  public boolean isMaterialized() {
+    return this.source == null;
+  }
+
+  /**
+   * Copies every pixel of the view so that it no longer reads from or refers to its source,
+   * in bands of rows that are processed in parallel. Materializing a view more than once has no
+   * further effect.
+   *
+   * @return the copy of the pixels of the view
+   */
+  @Override
+  public synchronized PackedImageModel materialize() {
+    ImageModel current = this.source;
+    if (current != null) {
+      int[] pixels = new int[this.height * this.width];
+      RowBands.forEach(this.height, this.width, (firstRow, lastRow) -> readRegion(current, 0,
+              firstRow, this.width, lastRow - firstRow, pixels, firstRow * this.width,
+              this.width));
+      this.copy = new PackedImageModel(pixels, this.height, this.width);
+      this.greyscale = GreyscaleImageModel.isGreyscale(current);
+      this.source = null;
+    }
+    return this.copy;
+  }
+
+  /**
+   * Gets the image model that the view reads its pixels from, or the view itself once it has
+   * been materialized, so that views of views can be combined into one view of the original
+   * source.
+   *
+   * @return the image model that new views of this view should read from
+   */
+  protected ImageModel getSource() {
+    ImageModel current = this.source;
+    return current == null ? this : current;
+  }
+
+  /**
+   * Copies the packed 0xRRGGBB values of a rectangular region of the view into a given array
+   * by reading them from the source. The region has already been checked to lie within the
+   * view and fit in the array.
+   *
+   * @param source the image model that the view reads from
+   * @param x      the leftmost column of the region
+   * @param y      the topmost row of the region
+   * @param w      the width of the region
+   * @param h      the height of the region
+   * @param dst    the array to copy into
+   * @param offset the position in the array of the region's top-left pixel
+   * @param stride the distance in the array between the starts of consecutive rows
+   */
+  protected abstract void readRegion(ImageModel source, int x, int y, int w, int h, int[] dst,
+                                     int offset, int stride);
+}
@@ -0,0 +1,38 @@
+package model;
+
+/**
+ * This enum represents the ways that a convolution can find the values of pixels beyond the
+ * edges of an image model: as zero, as the nearest edge pixel, by mirroring the image model
+ * at its edges, or by wrapping around to the opposite edge.
+ */
+public enum Border {
+  ZERO, CLAMP, MIRROR, WRAP;
+
+  /**
+   * Finds the index inside a row or column that a possibly outside index reads from.
+   *
+   * @param index  the index to find, which may be beyond either end of the row or column
+   * @param length the length of the row or column
+   * @return the index inside the row or column, or -1 if the index reads zero
+   */
+  int locate(int index, int length) {
+    if (index >= 0 && index < length) {
+      return index;
+    }
+    switch (this) {
+      case CLAMP:
+        return index < 0 ? 0 : length - 1;
+      case MIRROR:
+        if (length == 1) {
+          return 0;
+        }
+        int period = 2 * (length - 1);
+        int reflected = Math.floorMod(index, period);
+        return reflected < length ? reflected : period - reflected;
+      case WRAP:
+        return Math.floorMod(index, length);
+      default:
+        return -1;
+    }
+  }
+}
@@ -0,0 +1,8 @@
+package model;
+
+/**
+ * This enum represents the different color channels that make up a pixel of an image model.
+ */
+public enum Channel {
+  RED, GREEN, BLUE
+}
@@ -0,0 +1,137 @@
+package model;
+
+import java.util.Objects;
+
+/**
+ * This class represents a 3x4 color matrix that transforms the red, green, and blue values of
+ * each pixel of an image model. Each new value is a weighted sum of the old red, green, and blue
+ * values plus an offset, truncated and clamped to between 0 and 255. The sum is evaluated in
+ * double precision in the same order as the original transformations, so that every result is
+ * exactly the one they gave, such as 254 for the luma of white. Whole rows of pixels are
+ * transformed by the loops of {@link MatrixRows}, which use the Vector API when it is available.
+ */
+public final class ColorMatrix {
+  private static final double LIMIT = 65536;
+  private static final MatrixRows ROWS = MatrixRows.find();
+  private final double[] coefficients;
+  private final boolean greyscale;
+
+  /**
+   * Constructs a color matrix from its coefficients.
+   *
+   * @param coefficients the 12 coefficients of the matrix in row-major order
+   */
+  private ColorMatrix(double[] coefficients) {
+    this.coefficients = coefficients;
+    boolean equalRows = true;
+    for (int i = 0; i < 4; i++) {
+      equalRows &= coefficients[i] == coefficients[4 + i] && coefficients[i] == coefficients[8 + i];
+    }
+    this.greyscale = equalRows;
+  }
+
+  /**
+   * Creates a color matrix from its values in row-major order. Given 9 values, the matrix is a
+   * 3x3 matrix without offsets. Given 12 values, the fourth value of each row is added to the
+   * weighted sum of that row as an offset between 0 and 255.
+   *
+   * @param values the values of the matrix
+   * @return the color matrix
+   * @throws IllegalArgumentException if the number of values is not 9 or 12, or any value is not
+   *                                  a number between -65536 and 65536
+   */
+  public static ColorMatrix of(double... values) throws IllegalArgumentException {
+    if (values == null || (values.length != 9 && values.length != 12)) {
+      throw new IllegalArgumentException("Color matrix must have 9 or 12 values.");
+    }
+    int columns = values.length / 3;
+    double[] coefficients = new double[12];
+    for (int i = 0; i < 3; i++) {
+      for (int j = 0; j < columns; j++) {
+        double value = values[i * columns + j];
+        if (!(value >= -LIMIT && value <= LIMIT)) {
+          throw new IllegalArgumentException(
+                  "Matrix values must be numbers between -65536 and 65536.");
+        }
+        coefficients[i * 4 + j] = value;
+      }
+    }
+    return new ColorMatrix(coefficients);
+  }
+
+  /**
+   * Determines whether the matrix always results in equal red, green, and blue values.
+   *
+   * @return true if every row of the matrix is the same, and false otherwise
+   */
+  public boolean isGreyscale() {
+    return this.greyscale;
+  }
+
+  /**
+   * Transforms the packed 0xRRGGBB value of one pixel.
+   *
+   * @param rgb the packed value of the pixel
+   * @return the packed value of the transformed pixel
+   */
+  public int apply(int rgb) {
+    int red = (rgb >> 16) & 0xFF;
+    int green = (rgb >> 8) & 0xFF;
+    int blue = rgb & 0xFF;
+    return evaluate(red, green, blue, 0) << 16 | evaluate(red, green, blue, 4) << 8
+            | evaluate(red, green, blue, 8);
+  }
+
+  /**
+   * Creates an image model that results from transforming every pixel of a given image model
+   * in one pass, in bands of rows that are processed in parallel. If the matrix results in
+   * greyscale pixels, only one row of the matrix is evaluated for each pixel and the result is a
+   * greyscale image model.
+   *
+   * @param model the image model to transform
+   * @return the resulting image model
+   * @throws NullPointerException if the given image model is null
+   */
+  public ImageModel applyTo(ImageModel model) throws NullPointerException {
+    int height = Objects.requireNonNull(model).getImageHeight();
+    int width = model.getImageWidth();
+    double[] c = this.coefficients;
+    if (this.greyscale) {
+      byte[] values = new byte[height * width];
+      RowBands.forEach(height, width, (firstRow, lastRow) -> {
+        int[] row = new int[width];
+        for (int i = firstRow; i < lastRow; i++) {
+          model.getRegion(0, i, width, 1, row, 0, width);
+          ROWS.applyGreyscale(c, row, 0, values, i * width, width);
+        }
+      });
+      return new GreyscaleImageModel(values, height, width);
+    }
+    int[] newPixels = new int[height * width];
+    RowBands.forEach(height, width, (firstRow, lastRow) -> {
+      model.getRegion(0, firstRow, width, lastRow - firstRow, newPixels, firstRow * width,
+              width);
+      ROWS.apply(c, newPixels, firstRow * width, lastRow * width);
+    });
+    return new PackedImageModel(newPixels, height, width);
+  }
+
+  /**
+   * Gets the operation that transforms each pixel by this matrix, so that it can be fused with
+   * other operations on each pixel.
+   *
+   * @return the operation performed on each pixel
+   */
+  public PixelOperation toPixelOperation() {
+    if (this.greyscale) {
+      return new PixelOperation(rgb -> evaluate((rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF,
+              rgb & 0xFF, 0) * 0x010101, true);
+    }
+    return new PixelOperation(this::apply, false);
+  }
+
+  // Evaluates the row of the matrix whose coefficients start at the given index
+  private int evaluate(int red, int green, int blue, int start) {
+    return MatrixRows.Scalar.evaluate(this.coefficients, red, green, blue, start);
+  }
+}
@@ -0,0 +1,84 @@
+package model;
+
+import java.util.Objects;
+
+/**
+ * This class represents an object of an image model that is a view of a rectangular region of
+ * another image model, sharing the pixels of its source instead of copying them.
+ */
+public class CroppedImageModel extends AbstractViewImageModel {
+  private final int x;
+  private final int y;
+
+  /**
+   * Constructs a view of a rectangular region of a given source.
+   *
+   * @param source the image model that the view reads its pixels from
+   * @param x      the leftmost column of the region
+   * @param y      the topmost row of the region
+   * @param width  the width of the region
+   * @param height the height of the region
+   */
+  private CroppedImageModel(ImageModel source, int x, int y, int width, int height) {
+    super(source, height, width);
+    this.x = x;
+    this.y = y;
+  }
+
+  /**
+   * Creates an image model holding a rectangular region of a given image model without copying
+   * any pixels. A crop of a crop reads directly from the original image model, and a crop of a
+   * flipped, transposed, or rotated view is applied to the source of that view instead, so that
+   * any combination of views reads its pixels through at most two of them.
+   *
+   * @param model  the image model to crop
+   * @param x      the leftmost column of the region
+   * @param y      the topmost row of the region
+   * @param width  the width of the region
+   * @param height the height of the region
+   * @return the image model holding the region
+   * @throws NullPointerException     if the given image model is null
+   * @throws IllegalArgumentException if the region is beyond the dimensions of the image model
+   */
+  public static ImageModel of(ImageModel model, int x, int y, int width, int height)
+          throws NullPointerException, IllegalArgumentException {
+    int modelHeight = Objects.requireNonNull(model).getImageHeight();
+    int modelWidth = model.getImageWidth();
+    if (x < 0 || y < 0 || width < 0 || height < 0 || x + width > modelWidth
+            || y + height > modelHeight) {
+      throw new IllegalArgumentException("Region is beyond the dimensions of the image.");
+    }
+    if (x == 0 && y == 0 && width == modelWidth && height == modelHeight) {
+      return model;
+    }
+    if (model instanceof CroppedImageModel) {
+      CroppedImageModel cropped = (CroppedImageModel) model;
+      ImageModel source = cropped.getSource();
+      if (source != cropped) {
+        return new CroppedImageModel(source, cropped.x + x, cropped.y + y, width, height);
+      }
+    } else if (model instanceof RemappedImageModel) {
+      return ((RemappedImageModel) model).crop(x, y, width, height);
+    }
+    return new CroppedImageModel(model, x, y, width, height);
+  }
+
+  /**
+   * Copies the packed 0xRRGGBB values of a rectangular region of the view into a given array
+   * by reading them from the matching region of the source.
+   *
+   * @param source the image model that the view reads from
+   * @param x      the leftmost column of the region
+   * @param y      the topmost row of the region
+   * @param w      the width of the region
+   * @param h      the height of the region
+   * @param dst    the array to copy into
+   * @param offset the position in the array of the region's top-left pixel
+   * @param stride the distance in the array between the starts of consecutive rows
+   */
+  @Override
+  protected void readRegion(ImageModel source, int x, int y, int w, int h, int[] dst,
+                            int offset, int stride) {
+    source.getRegion(this.x + x, this.y + y, w, h, dst, offset, stride);
+  }
+}
@@ -0,0 +1,25 @@
+package model;
+
+/**
+ * This interface represents an image model whose pixels are found from another image model
+ * when they are read rather than stored when the image model is created. Such an image model
+ * must be materialized before the image model it reads from can be released.
+ */
+public interface DerivedImageModel extends ImageModel {
+  /**
+   * Determines whether the image model reads from a given image model, either directly or
+   * through another derived image model.
+   *
+   * @param model the image model to look for
+   * @return true if the image model reads from the given image model, and false otherwise
+   */
+  boolean dependsOn(ImageModel model);
+
+  /**
+   * Finds every pixel of the image model so that it no longer reads from or refers to any
+   * other image model. Materializing an image model more than once has no further effect.
+   *
+   * @return an image model holding the pixels of this image model
+   */
+  ImageModel materialize();
+}
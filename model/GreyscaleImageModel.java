@@ -0,0 +1,157 @@
+package model;
+
+/**
+ * This class represents an object of a greyscale image model, in which the red, green, and
+ * blue values of every pixel are equal and are stored once as one row-major plane of bytes.
+ */
+public class GreyscaleImageModel implements ImageModel {
+  private final byte[] values;
+  private final int height;
+  private final int width;
+
+  /**
+   * Constructs a greyscale image model from a given plane of unsigned byte values, height, and
+   * width. The plane is used directly as the backing store of the image model and is not copied,
+   * so it must not be modified after the image model has been created.
+   *
+   * @param values the row-major plane of greyscale values
+   * @param height the height in pixels of the image model
+   * @param width  the width in pixels of the image model
+   * @throws IllegalArgumentException if the plane is null or does not match the dimensions
+   */
+  public GreyscaleImageModel(byte[] values, int height, int width)
+          throws IllegalArgumentException {
+    if (values == null) {
+      throw new IllegalArgumentException("Values must not contain a null value.");
+    }
+    if (height < 0 || width < 0 || (long) height * width != values.length) {
+      throw new IllegalArgumentException("Values must match the dimensions of the image.");
+    }
+    this.values = values;
+    this.height = height;
+    this.width = width;
+  }
+
+  /**
+   * Gets the height of the image model that the method is being performed on.
+   *
+   * @return the height of the image model
+   */
+  @Override
+  public int getImageHeight() {
+    return this.height;
+  }
+
+  /**
+   * Gets the width of the image model that the method is being performed on.
+   *
+   * @return the width of the image model
+   */
+  @Override
+  public int getImageWidth() {
+    return this.width;
+  }
+
+  /**
+   * Gets the pixel at a given row and column of the image model that the method is being
+   * performed on.
+   *
+   * @param row the row from which to get the pixel
+   * @param col the column from which to get the pixel
+   * @return the pixel at the given row and column
+   * @throws IllegalArgumentException if the given position is beyond the dimensions of the
+   *                                  image model
+   */
+  @Override
+  public IPixel getPixelAt(int row, int col) throws IllegalArgumentException {
+    int value = getValue(row, col);
+    return Pixel.of(value, value, value);
+  }
+
+  /**
+   * Determines whether an image model only holds shades of grey because it is a greyscale image
+   * model, a view of one, such as a flipped, rotated, or cropped greyscale image model, or a
+   * lazy image model that is or will be computed into one.
+   *
+   * @param model the image model to check
+   * @return true if the image model is greyscale, and false otherwise
+   */
+  public static boolean isGreyscale(ImageModel model) {
+    return model instanceof GreyscaleImageModel || (model instanceof AbstractViewImageModel
+            && ((AbstractViewImageModel) model).isGreyscale()) || (model instanceof LazyImageModel
+            && ((LazyImageModel) model).isGreyscale());
+  }
+
+  /**
+   * Gets the plane holding the greyscale values of the image model. The plane is shared with
+   * the image model rather than copied, so it must only be read.
+   *
+   * @return the row-major plane of unsigned byte greyscale values
+   */
+  public byte[] getPlane() {
+    return this.values;
+  }
+
+  /**
+   * Gets the greyscale value of the pixel at a given row and column.
+   *
+   * @param row the row from which to get the value
+   * @param col the column from which to get the value
+   * @return the greyscale value of the pixel, between 0 and 255
+   * @throws IllegalArgumentException if the given position is beyond the dimensions of the
+   *                                  image model
+   */
+  public int getValue(int row, int col) throws IllegalArgumentException {
+    if (row >= this.height || row < 0 || col >= this.width || col < 0) {
+      throw new IllegalArgumentException("Pixel position is beyond the dimensions of the image.");
+    }
+    return this.values[row * this.width + col] & 0xFF;
+  }
+
+  /**
+   * Gets the packed 0xRRGGBB value of the pixel at a given row and column.
+   *
+   * @param row the row from which to get the value
+   * @param col the column from which to get the value
+   * @return the packed value of the pixel
+   * @throws IllegalArgumentException if the given position is beyond the dimensions of the
+   *                                  image model
+   */
+  @Override
+  public int getRGB(int row, int col) throws IllegalArgumentException {
+    return getValue(row, col) * 0x010101;
+  }
+
+  /**
+   * Copies the packed 0xRRGGBB values of a rectangular region of the image model into a given
+   * array, where each row of the region starts {@code stride} elements after the last one.
+   *
+   * @param x      the leftmost column of the region
+   * @param y      the topmost row of the region
+   * @param w      the width of the region
+   * @param h      the height of the region
+   * @param dst    the array to copy into
+   * @param offset the position in the array of the region's top-left pixel
+   * @param stride the distance in the array between the starts of consecutive rows
+   * @throws IllegalArgumentException if the region is beyond the dimensions of the image model
+   *                                  or does not fit in the array
+   */
+  @Override
+  public void getRegion(int x, int y, int w, int h, int[] dst, int offset, int stride)
+          throws IllegalArgumentException {
+    if (x < 0 || y < 0 || w < 0 || h < 0 || x + w > this.width || y + h > this.height) {
+      throw new IllegalArgumentException("Region is beyond the dimensions of the image.");
+    }
+    if (dst == null || offset < 0 || (h > 0 && (long) offset + (long) (h - 1) * stride + w
+            > dst.length)) {
+      throw new IllegalArgumentException("Region does not fit in the given array.");
+    }
+    for (int i = 0; i < h; i++) {
+      int source = (y + i) * this.width + x;
+      int target = offset + i * stride;
+      for (int j = 0; j < w; j++) {
+        dst[target + j] = (this.values[source + j] & 0xFF) * 0x010101;
+      }
+    }
+  }
+}
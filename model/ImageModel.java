@@ -2,6 +2,8 @@ package model;
 
 /**
  * This interface represents operations that can be performed on an object of an image model.
+ * Besides reading one pixel at a time, pixels can be read in bulk as packed 0xRRGGBB integers,
+ * which image models that store their pixels in arrays or buffers override to copy directly.
  */
 public interface ImageModel {
   /**
@@ -29,4 +31,61 @@ public interface ImageModel {
    *                                  image model
    */
   IPixel getPixelAt(int row, int col) throws IllegalArgumentException;
-}
\ No newline at end of file
+
+  /**
+   * Gets the packed 0xRRGGBB value of the pixel at a given row and column.
+   *
+   * @param row the row from which to get the value
+   * @param col the column from which to get the value
+   * @return the packed value of the pixel
+   * @throws IllegalArgumentException if the given position is beyond the dimensions of the
+   *                                  image model
+   */
+  default int getRGB(int row, int col) throws IllegalArgumentException {
+    IPixel pixel = getPixelAt(row, col);
+    return (pixel.getRed() << 16) | (pixel.getGreen() << 8) | pixel.getBlue();
+  }
+
+  /**
+   * Copies the packed 0xRRGGBB values of one row of the image model into a given array.
+   *
+   * @param row the row to copy
+   * @param dst the array to copy into, which must hold at least one row
+   * @throws IllegalArgumentException if the row is beyond the dimensions of the image model
+   *                                  or the array is too small
+   */
+  default void getRow(int row, int[] dst) throws IllegalArgumentException {
+    getRegion(0, row, getImageWidth(), 1, dst, 0, getImageWidth());
+  }
+
+  /**
+   * Copies the packed 0xRRGGBB values of a rectangular region of the image model into a given
+   * array, where each row of the region starts {@code stride} elements after the last one.
+   *
+   * @param x      the leftmost column of the region
+   * @param y      the topmost row of the region
+   * @param w      the width of the region
+   * @param h      the height of the region
+   * @param dst    the array to copy into
+   * @param offset the position in the array of the region's top-left pixel
+   * @param stride the distance in the array between the starts of consecutive rows
+   * @throws IllegalArgumentException if the region is beyond the dimensions of the image model
+   *                                  or does not fit in the array
+   */
+  default void getRegion(int x, int y, int w, int h, int[] dst, int offset, int stride)
+          throws IllegalArgumentException {
+    if (x < 0 || y < 0 || w < 0 || h < 0 || x + w > getImageWidth()
+            || y + h > getImageHeight()) {
+      throw new IllegalArgumentException("Region is beyond the dimensions of the image.");
+    }
+    if (dst == null || offset < 0 || (h > 0 && (long) offset + (long) (h - 1) * stride + w
+            > dst.length)) {
+      throw new IllegalArgumentException("Region does not fit in the given array.");
+    }
+    for (int i = 0; i < h; i++) {
+      for (int j = 0, position1D = offset + i * stride; j < w; j++, position1D++) {
+        dst[position1D] = getRGB(y + i, x + j);
+      }
+    }
+  }
+}
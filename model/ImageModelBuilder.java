@@ -0,0 +1,124 @@
+package model;
+
+/**
+ * This class represents a builder that fills the pixels of a new image model in bulk as packed
+ * 0xRRGGBB integers, one pixel, row, or region at a time, and then builds the image model
+ * without copying its pixels again. Pixels that are never set are black.
+ */
+public class ImageModelBuilder {
+  private final int height;
+  private final int width;
+  private int[] pixels;
+
+  /**
+   * Constructs a builder of an image model of the given height and width.
+   *
+   * @param height the height in pixels of the image model
+   * @param width  the width in pixels of the image model
+   * @throws IllegalArgumentException if either dimension is negative or the image model has too
+   *                                  many pixels to be stored in one array
+   */
+  public ImageModelBuilder(int height, int width) throws IllegalArgumentException {
+    if (height < 0 || width < 0) {
+      throw new IllegalArgumentException("Dimensions of the image must not be negative.");
+    }
+    if ((long) height * width > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Image is too large to be stored in one array.");
+    }
+    this.height = height;
+    this.width = width;
+    this.pixels = new int[height * width];
+  }
+
+  /**
+   * Sets the packed 0xRRGGBB value of the pixel at a given row and column.
+   *
+   * @param row the row of the pixel
+   * @param col the column of the pixel
+   * @param rgb the packed value of the pixel
+   * @return this builder
+   * @throws IllegalArgumentException if the given position is beyond the dimensions of the
+   *                                  image model
+   * @throws IllegalStateException    if the image model has already been built
+   */
+  public ImageModelBuilder setRGB(int row, int col, int rgb)
+          throws IllegalArgumentException, IllegalStateException {
+    if (row >= this.height || row < 0 || col >= this.width || col < 0) {
+      throw new IllegalArgumentException("Pixel position is beyond the dimensions of the image.");
+    }
+    pixels()[row * this.width + col] = rgb & 0xFFFFFF;
+    return this;
+  }
+
+  /**
+   * Sets the packed 0xRRGGBB values of one row of the image model from a given array.
+   *
+   * @param row the row to set
+   * @param src the array holding the packed values of the row
+   * @return this builder
+   * @throws IllegalArgumentException if the row is beyond the dimensions of the image model
+   *                                  or the array is too small
+   * @throws IllegalStateException    if the image model has already been built
+   */
+  public ImageModelBuilder setRow(int row, int[] src)
+          throws IllegalArgumentException, IllegalStateException {
+    return setRegion(0, row, this.width, 1, src, 0, this.width);
+  }
+
+  /**
+   * Sets the packed 0xRRGGBB values of a rectangular region of the image model from a given
+   * array, where each row of the region starts {@code stride} elements after the last one.
+   *
+   * @param x      the leftmost column of the region
+   * @param y      the topmost row of the region
+   * @param w      the width of the region
+   * @param h      the height of the region
+   * @param src    the array to copy from
+   * @param offset the position in the array of the region's top-left pixel
+   * @param stride the distance in the array between the starts of consecutive rows
+   * @return this builder
+   * @throws IllegalArgumentException if the region is beyond the dimensions of the image model
+   *                                  or does not fit in the array
+   * @throws IllegalStateException    if the image model has already been built
+   */
+  public ImageModelBuilder setRegion(int x, int y, int w, int h, int[] src, int offset,
+                                     int stride)
+          throws IllegalArgumentException, IllegalStateException {
+    if (x < 0 || y < 0 || w < 0 || h < 0 || x + w > this.width || y + h > this.height) {
+      throw new IllegalArgumentException("Region is beyond the dimensions of the image.");
+    }
+    if (src == null || offset < 0 || (h > 0 && (long) offset + (long) (h - 1) * stride + w
+            > src.length)) {
+      throw new IllegalArgumentException("Region does not fit in the given array.");
+    }
+    int[] target = pixels();
+    for (int i = 0; i < h; i++) {
+      int start = (y + i) * this.width + x;
+      for (int j = 0, source = offset + i * stride; j < w; j++, source++) {
+        target[start + j] = src[source] & 0xFFFFFF;
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Builds the image model from the pixels that have been set. The builder can no longer be
+   * used once the image model has been built, since the image model shares its pixels.
+   *
+   * @return the image model
+   * @throws IllegalStateException if the image model has already been built
+   */
+  public PackedImageModel build() throws IllegalStateException {
+    PackedImageModel model = new PackedImageModel(pixels(), this.height, this.width);
+    this.pixels = null;
+    return model;
+  }
+
+  // Gets the pixels being filled, or throws an exception if the image model has been built
+  private int[] pixels() throws IllegalStateException {
+    if (this.pixels == null) {
+      throw new IllegalStateException("Image has already been built.");
+    }
+    return this.pixels;
+  }
+}
@@ -21,4 +21,52 @@ public interface ImageModelMap {
    * @param output   the output to write progress messages to
    */
   void add(String newName, ImageModel newModel, Appendable output);
+
+  /**
+   * Finds a version of an image model from the map which is at least the given height and
+   * width, so that it can be shown or processed at that size without reading every pixel of
+   * the image model at full resolution. Maps that do not keep smaller versions of their image
+   * models find the image model itself.
+   *
+   * @param modelName the name of the model to find
+   * @param height    the least height of the version in pixels
+   * @param width     the least width of the version in pixels
+   * @return the version that was found, or null if there is no model with that name
+   */
+  default ImageModel findLevel(String modelName, int height, int width) {
+    return find(modelName);
+  }
+
+  /**
+   * Determines whether commands should add image models that are only computed once they are
+   * read, rather than computing each image model as soon as its command is run.
+   *
+   * @return true if commands should add lazy image models, and false otherwise
+   */
+  default boolean isLazy() {
+    return false;
+  }
+
+  /**
+   * Determines whether commands that change every pixel independently should add image models
+   * that are only computed once they are read, so that consecutive commands of this kind are
+   * fused into one pass over the image model they start from.
+   *
+   * @return true if commands that change every pixel independently should be deferred, and
+   *         false otherwise
+   */
+  default boolean isFusing() {
+    return isLazy();
+  }
+
+  /**
+   * Starts or stops deferring commands that change every pixel independently. When a map that
+   * is not lazy stops deferring them, every image model deferred since it started is computed,
+   * unless it has been replaced or another image model has been fused from it.
+   *
+   * @param fusing true to start deferring commands, and false to stop
+   */
+  default void setFusing(boolean fusing) {
+    // maps that do not support fusion compute every image model immediately
+  }
 }
@@ -1,6 +1,9 @@
 package model;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -10,24 +13,80 @@ import java.util.Objects;
  */
 public class ImageModelMapImpl implements ImageModelMap {
   private final Map<String, ImageModel> imageModelMap;
+  private final boolean lazy;
+  private final List<LazyImageModel> deferred;
+  private final Map<String, ImagePyramid> pyramids;
+  private boolean fusing;
 
   public ImageModelMapImpl(Map<String, ImageModel> imageModelMap) {
+    this(imageModelMap, false);
+  }
+
+  /**
+   * Constructs a map of image models that may ask commands to add image models that are only
+   * computed once they are read.
+   *
+   * @param imageModelMap the map that stores each image model under its name
+   * @param lazy          true if commands should add lazy image models, and false otherwise
+   */
+  public ImageModelMapImpl(Map<String, ImageModel> imageModelMap, boolean lazy) {
     this.imageModelMap = Objects.requireNonNull(imageModelMap);
+    this.lazy = lazy;
+    this.deferred = new ArrayList<>();
+    this.pyramids = new HashMap<>();
   }
 
   /**
-   * Finds and returns an image model from the map which corresponds to the given name.
+   * Finds and returns an image model from the map which corresponds to the given name. A lazy
+   * image model that has been computed since it was added is replaced in the map by the image
+   * model it was computed into, which is returned instead.
    *
    * @param modelName the name of the model to find
    * @return the model that was found
    */
   @Override
   public ImageModel find(String modelName) {
-    return this.imageModelMap.get(modelName);
+    ImageModel model = this.imageModelMap.get(modelName);
+    if (model instanceof LazyImageModel && ((LazyImageModel) model).isComputed()) {
+      return replaceComputed((LazyImageModel) model);
+    }
+    return model;
   }
 
   /**
-   * Adds a new key value pair of an image model and its corresponding name into the map.
+   * Finds the smallest level of the pyramid of an image model from the map which is at least
+   * the given height and width. The pyramid of each image model is only built the first time
+   * one of its levels is found, and each of its levels is only computed the first time it is
+   * read. The pyramid is discarded once the image model is overwritten.
+   *
+   * @param modelName the name of the model to find
+   * @param height    the least height of the level in pixels
+   * @param width     the least width of the level in pixels
+   * @return the level that was found, or null if there is no model with that name
+   */
+  @Override
+  public ImageModel findLevel(String modelName, int height, int width) {
+    ImageModel model = this.imageModelMap.get(modelName);
+    if (model == null) {
+      return null;
+    }
+    ImagePyramid pyramid;
+    synchronized (this.pyramids) {
+      pyramid = this.pyramids.get(modelName);
+      if (pyramid == null || !pyramid.isBuiltFrom(model)) {
+        pyramid = new ImagePyramid(model);
+        this.pyramids.put(modelName, pyramid);
+      }
+    }
+    return pyramid.findLevel(height, width);
+  }
+
+  /**
+   * Adds a new key value pair of an image model and its corresponding name into the map. A lazy
+   * image model that performs the same operation on the same image model as one already in
+   * the map is replaced by the one in the map, so that it is only computed once. While the map
+   * is fusing commands, a lazy image model that was fused from an earlier deferred one means
+   * that the earlier one no longer has to be computed.
    *
    * @param newName  the name of the new image model added to the map
    * @param newModel the new model added to the map
@@ -35,15 +94,129 @@ public class ImageModelMapImpl implements ImageModelMap {
    */
   @Override
   public void add(String newName, ImageModel newModel, Appendable output) {
+    if (newModel instanceof LazyImageModel) {
+      for (ImageModel model : this.imageModelMap.values()) {
+        if (model instanceof LazyImageModel
+                && ((LazyImageModel) newModel).isEquivalentTo((LazyImageModel) model)) {
+          newModel = model;
+          break;
+        }
+      }
+    }
+    if (!this.lazy && this.fusing && newModel instanceof LazyImageModel) {
+      LazyImageModel lazyModel = (LazyImageModel) newModel;
+      this.deferred.removeIf(lazyModel::isFusedFrom);
+      this.deferred.add(lazyModel);
+    }
     if (this.imageModelMap.containsKey(newName)) {
       try {
         output.append("Overwriting image.\n");
       } catch (IOException e) {
         throw new IllegalStateException("Writing to output stream failed.");
       }
-      this.imageModelMap.put(newName, newModel);
+      ImageModel oldModel = this.imageModelMap.put(newName, newModel);
+      synchronized (this.pyramids) {
+        this.pyramids.remove(newName);
+      }
+      release(oldModel);
     } else {
       this.imageModelMap.put(newName, newModel);
     }
   }
+
+  /**
+   * Determines whether commands should add image models that are only computed once they are
+   * read, rather than computing each image model as soon as its command is run.
+   *
+   * @return true if commands should add lazy image models, and false otherwise
+   */
+  @Override
+  public boolean isLazy() {
+    return this.lazy;
+  }
+
+  /**
+   * Determines whether commands that change every pixel independently should add image models
+   * that are only computed once they are read, which they do while the map is fusing them or
+   * if the map is lazy.
+   *
+   * @return true if commands that change every pixel independently should be deferred, and
+   *         false otherwise
+   */
+  @Override
+  public boolean isFusing() {
+    return this.lazy || this.fusing;
+  }
+
+  /**
+   * Starts or stops deferring commands that change every pixel independently. Once a map that
+   * is not lazy stops deferring them, each deferred image model that is still in the map is
+   * computed in the order it was added and replaced in the map by the image model it was
+   * computed into, except those that only fed later commands which were fused from them. Those
+   * are left to be computed if they are ever read.
+   *
+   * @param fusing true to start deferring commands, and false to stop
+   */
+  @Override
+  public void setFusing(boolean fusing) {
+    this.fusing = fusing;
+    if (fusing || this.lazy) {
+      return;
+    }
+    for (LazyImageModel model : this.deferred) {
+      if (this.imageModelMap.containsValue(model)) {
+        replaceComputed(model);
+      }
+    }
+    this.deferred.clear();
+  }
+
+  /**
+   * Releases an image model that has been replaced in the map once it is no longer stored
+   * under any other name. Every view in the map that still reads from the image model is
+   * materialized first, and the image model is then closed if it holds memory that must be
+   * freed explicitly. In a lazy map, lazy image models keep reading from the image model until
+   * they are computed unless it is about to be closed. Otherwise they are computed as well, so
+   * that an image model that only fed a fused command does not keep a replaced image model in
+   * memory, and each lazy image model that is computed is replaced by its result.
+   *
+   * @param oldModel the image model that was replaced
+   */
+  private void release(ImageModel oldModel) {
+    if (this.imageModelMap.containsValue(oldModel)) {
+      return;
+    }
+    boolean closing = oldModel instanceof OffHeapImageModel;
+    List<LazyImageModel> computed = new ArrayList<>();
+    for (ImageModel model : this.imageModelMap.values()) {
+      if (model instanceof DerivedImageModel
+              && (closing || !this.lazy || !(model instanceof LazyImageModel))
+              && ((DerivedImageModel) model).dependsOn(oldModel)) {
+        ((DerivedImageModel) model).materialize();
+        if (model instanceof LazyImageModel) {
+          computed.add((LazyImageModel) model);
+        }
+      }
+    }
+    for (LazyImageModel model : computed) {
+      replaceComputed(model);
+    }
+    if (closing) {
+      ((OffHeapImageModel) oldModel).close();
+    }
+  }
+
+  /**
+   * Computes a lazy image model if it has not been computed yet, and stores the image model it
+   * was computed into under every name that held the lazy image model, so that commands see
+   * the kind of image model that was computed, such as a greyscale image model.
+   *
+   * @param model the lazy image model to replace
+   * @return the image model that the lazy image model was computed into
+   */
+  private ImageModel replaceComputed(LazyImageModel model) {
+    ImageModel result = model.materialize();
+    this.imageModelMap.replaceAll((name, value) -> value == model ? result : value);
+    return result;
+  }
 }
@@ -0,0 +1,108 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class represents a series of copies of an image model at decreasing resolutions, where
+ * the first level is the image model itself and each later level has half the height and width
+ * of the level before it, rounded up, until a level is a single pixel. Each level is only
+ * computed the first time it is read, from the level before it, and is then kept so that
+ * anything that does not need the full resolution can read the smallest level that is enough.
+ */
+public final class ImagePyramid {
+  private final ImageModel model;
+  private final List<ImageModel> levels;
+  private final int levelCount;
+
+  /**
+   * Constructs a pyramid whose first level is a given image model, without computing any of
+   * the smaller levels.
+   *
+   * @param model the image model at full resolution
+   * @throws NullPointerException if the given image model is null
+   */
+  public ImagePyramid(ImageModel model) throws NullPointerException {
+    this.model = Objects.requireNonNull(model);
+    this.levels = new ArrayList<>();
+    this.levels.add(model);
+    int height = model.getImageHeight();
+    int width = model.getImageWidth();
+    int count = 1;
+    while (height > 0 && width > 0 && (height > 1 || width > 1)) {
+      height = half(height);
+      width = half(width);
+      count++;
+    }
+    this.levelCount = count;
+  }
+
+  /**
+   * Gets the number of levels in the pyramid, including the image model at full resolution.
+   *
+   * @return the number of levels
+   */
+  public int getLevelCount() {
+    return this.levelCount;
+  }
+
+  /**
+   * Gets a level of the pyramid, computing it and every level before it that has not been
+   * computed yet.
+   *
+   * @param level the index of the level, where 0 is the image model at full resolution
+   * @return the image model at that level
+   * @throws IllegalArgumentException if the level is not in the pyramid
+   */
+  public synchronized ImageModel getLevel(int level) throws IllegalArgumentException {
+    if (level < 0 || level >= this.levelCount) {
+      throw new IllegalArgumentException("Level must be between 0 and "
+              + (this.levelCount - 1) + ".");
+    }
+    while (this.levels.size() <= level) {
+      ImageModel previous = this.levels.get(this.levels.size() - 1);
+      this.levels.add(Resampler.of(half(previous.getImageHeight()),
+              half(previous.getImageWidth()), Interpolation.BILINEAR).apply(previous));
+    }
+    return this.levels.get(level);
+  }
+
+  /**
+   * Finds the smallest level of the pyramid that is at least a given height and width, so that
+   * it can be shown or processed at that size without losing detail. The image model at full
+   * resolution is found if no smaller level is large enough.
+   *
+   * @param height the least height of the level in pixels
+   * @param width  the least width of the level in pixels
+   * @return the image model at that level
+   */
+  public ImageModel findLevel(int height, int width) {
+    int levelHeight = this.model.getImageHeight();
+    int levelWidth = this.model.getImageWidth();
+    int level = 0;
+    while (level + 1 < this.levelCount && half(levelHeight) >= height
+            && half(levelWidth) >= width) {
+      levelHeight = half(levelHeight);
+      levelWidth = half(levelWidth);
+      level++;
+    }
+    return getLevel(level);
+  }
+
+  /**
+   * Determines whether the pyramid was built from a given image model.
+   *
+   * @param model the image model to compare with
+   * @return true if the given image model is the first level of the pyramid, and false
+   *         otherwise
+   */
+  public boolean isBuiltFrom(ImageModel model) {
+    return this.model == model;
+  }
+
+  // Halves a dimension of a level, rounding up so that no level is smaller than it should be
+  private static int half(int length) {
+    return (length + 1) / 2;
+  }
+}
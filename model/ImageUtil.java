@@ -1,8 +1,14 @@
 package model;
 
-import java.awt.Color;
 import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBufferByte;
 import java.awt.image.DataBufferInt;
+import java.awt.image.IndexColorModel;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
 
 /**
  * This class represents general purpose methods that would need to be performed on an image
@@ -10,7 +16,9 @@ import java.awt.image.DataBufferInt;
  */
 public class ImageUtil {
   /**
-   * Renders pixel data from a given ImageModel to a BufferedImage.
+   * Renders pixel data from a given ImageModel to a BufferedImage. A BufferedImage of type
+   * TYPE_BYTE_GRAY receives the plane of a GreyscaleImageModel directly, and any other is
+   * rendered to as a region that covers the whole ImageModel.
    *
    * @param image the BufferedImage being rendered to
    * @param model the ImageModel being rendered
@@ -19,16 +27,228 @@ public class ImageUtil {
    */
   static public void renderBufferedImage(BufferedImage image, ImageModel model,
                                          int width, int height) {
-    int[] rgbPixelData = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    if (image.getType() == BufferedImage.TYPE_BYTE_GRAY
+            && model instanceof GreyscaleImageModel) {
+      byte[] greyPixelData = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+      System.arraycopy(((GreyscaleImageModel) model).getPlane(), 0, greyPixelData, 0,
+              width * height);
+      return;
+    }
+    renderBufferedImage(image, model, 0, 0, width, height);
+  }
 
-    for (int i = 0, position1D = 0; i < height ; i++) {
-      for (int j = 0; j < width; j++, position1D++) {
-        int red = model.getPixelAt(i, j).getRed();
-        int green = model.getPixelAt(i, j).getGreen();
-        int blue = model.getPixelAt(i, j).getBlue();
-        Color color = new Color(red, green, blue);
-        rgbPixelData[position1D] = color.getRGB();
+  /**
+   * Renders pixel data from a rectangular region of a given ImageModel to a BufferedImage, so
+   * that only the part of the ImageModel that is visible needs to be read. The rows of the
+   * region are read in bands that are processed in parallel. A BufferedImage of type
+   * TYPE_INT_RGB receives the packed values directly, and one whose raster stores 8-bit sRGB
+   * samples interleaved in bytes, such as TYPE_3BYTE_BGR, has its samples written directly for
+   * each band. A BufferedImage of type TYPE_BYTE_GRAY receives the grey level of each pixel of a
+   * greyscale ImageModel, such as a view of a GreyscaleImageModel, as its sample, just as the
+   * plane of a GreyscaleImageModel is copied. Any other BufferedImage is set one band of rows at
+   * a time through its color model. Every pixel is rendered opaque.
+   *
+   * @param image the BufferedImage being rendered to, whose top-left pixel receives the
+   *              top-left pixel of the region
+   * @param model the ImageModel being rendered
+   * @param x the leftmost column of the region
+   * @param y the topmost row of the region
+   * @param width the width of the region
+   * @param height the height of the region
+   */
+  static public void renderBufferedImage(BufferedImage image, ImageModel model,
+                                         int x, int y, int width, int height) {
+    if (image.getType() == BufferedImage.TYPE_INT_RGB && isUntranslated(image.getRaster())) {
+      int[] rgbPixelData = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+      int stride = ((SinglePixelPackedSampleModel) image.getSampleModel()).getScanlineStride();
+      RowBands.forEach(height, width, (firstRow, lastRow) -> model.getRegion(x, y + firstRow,
+              width, lastRow - firstRow, rgbPixelData, firstRow * stride, stride));
+      return;
+    }
+    boolean interleaved = isInterleavedBytes(image);
+    boolean grey = image.getType() == BufferedImage.TYPE_BYTE_GRAY;
+    RowBands.forEach(height, width, (firstRow, lastRow) -> {
+      int[] band = new int[(lastRow - firstRow) * width];
+      model.getRegion(x, y + firstRow, width, lastRow - firstRow, band, 0, width);
+      if (grey) {
+        for (int k = 0; k < band.length; k++) {
+          band[k] &= 0xFF;
+        }
+        image.getRaster().setSamples(0, firstRow, width, lastRow - firstRow, 0, band);
+      } else if (interleaved) {
+        writeInterleavedBytes(image, firstRow, lastRow - firstRow, width, band);
+      } else {
+        for (int k = 0; k < band.length; k++) {
+          band[k] |= 0xFF000000;
+        }
+        image.setRGB(0, firstRow, width, lastRow - firstRow, band, 0, width);
+      }
+    });
+  }
+
+  /**
+   * Reads the packed 0xRRGGBB values of a band of whole rows of a BufferedImage into an array,
+   * one row after another. The samples of the raster are read directly, without a call to the
+   * color model for each pixel, when the raster stores 8-bit sRGB samples either packed in
+   * ints, such as TYPE_INT_RGB, TYPE_INT_ARGB, and TYPE_INT_BGR, or interleaved in bytes, such
+   * as TYPE_3BYTE_BGR and TYPE_4BYTE_ABGR, or when the image has an indexed color model, whose
+   * colors are looked up from a table. The alpha of each pixel is discarded. The rows of any
+   * other BufferedImage are converted through its color model.
+   *
+   * @param image  the BufferedImage to read from
+   * @param y      the first row of the band
+   * @param h      the number of rows in the band
+   * @param dst    the array to write the packed values to
+   * @param offset the position in the array of the first pixel of the band
+   */
+  static public void readRows(BufferedImage image, int y, int h, int[] dst, int offset) {
+    int width = image.getWidth();
+    WritableRaster raster = image.getRaster();
+    ColorModel colorModel = image.getColorModel();
+    SampleModel sampleModel = raster.getSampleModel();
+    if (colorModel instanceof IndexColorModel && raster.getNumBands() == 1) {
+      IndexColorModel indexed = (IndexColorModel) colorModel;
+      int[] colors = new int[1 << indexed.getPixelSize()];
+      indexed.getRGBs(colors);
+      int[] samples = new int[width];
+      for (int i = 0; i < h; i++) {
+        raster.getSamples(0, y + i, width, 1, 0, samples);
+        for (int j = 0, target = offset + i * width; j < width; j++, target++) {
+          dst[target] = colors[samples[j]] & 0xFFFFFF;
+        }
+      }
+    } else if (isPackedInts(image)) {
+      SinglePixelPackedSampleModel packed = (SinglePixelPackedSampleModel) sampleModel;
+      int[] data = ((DataBufferInt) raster.getDataBuffer()).getData();
+      int[] masks = packed.getBitMasks();
+      int redShift = Integer.numberOfTrailingZeros(masks[0]);
+      int greenShift = Integer.numberOfTrailingZeros(masks[1]);
+      int blueShift = Integer.numberOfTrailingZeros(masks[2]);
+      boolean rgb = redShift == 16 && greenShift == 8 && blueShift == 0;
+      for (int i = 0; i < h; i++) {
+        int start = raster.getDataBuffer().getOffset() + packed.getOffset(0, y + i);
+        int target = offset + i * width;
+        if (rgb) {
+          for (int j = 0; j < width; j++) {
+            dst[target + j] = data[start + j] & 0xFFFFFF;
+          }
+        } else {
+          for (int j = 0; j < width; j++) {
+            int value = data[start + j];
+            dst[target + j] = PackedImageModel.pack(value >>> redShift & 0xFF,
+                    value >>> greenShift & 0xFF, value >>> blueShift & 0xFF);
+          }
+        }
+      }
+    } else if (isInterleavedBytes(image)) {
+      ComponentSampleModel component = (ComponentSampleModel) sampleModel;
+      byte[] data = ((DataBufferByte) raster.getDataBuffer()).getData();
+      int[] bandOffsets = component.getBandOffsets();
+      int pixelStride = component.getPixelStride();
+      for (int i = 0; i < h; i++) {
+        int start = raster.getDataBuffer().getOffset() + component.getOffset(0, y + i, 0)
+                - bandOffsets[0];
+        for (int j = 0, target = offset + i * width; j < width; j++, target++) {
+          dst[target] = PackedImageModel.pack(data[start + bandOffsets[0]] & 0xFF,
+                  data[start + bandOffsets[1]] & 0xFF, data[start + bandOffsets[2]] & 0xFF);
+          start += pixelStride;
+        }
+      }
+    } else {
+      image.getRGB(0, y, width, h, dst, offset, width);
+      for (int i = offset; i < offset + h * width; i++) {
+        dst[i] &= 0xFFFFFF;
       }
     }
   }
+
+  /**
+   * Writes the packed 0xRRGGBB values of a band of whole rows to a BufferedImage whose raster
+   * stores 8-bit sRGB samples interleaved in bytes, setting the alpha of each pixel, if there
+   * is one, to opaque.
+   *
+   * @param image the BufferedImage to write to
+   * @param y     the first row of the band
+   * @param h     the number of rows in the band
+   * @param width the width of the BufferedImage
+   * @param src   the packed values of the band, one row after another
+   */
+  private static void writeInterleavedBytes(BufferedImage image, int y, int h, int width,
+                                            int[] src) {
+    WritableRaster raster = image.getRaster();
+    ComponentSampleModel component = (ComponentSampleModel) raster.getSampleModel();
+    byte[] data = ((DataBufferByte) raster.getDataBuffer()).getData();
+    int[] bandOffsets = component.getBandOffsets();
+    int pixelStride = component.getPixelStride();
+    boolean alpha = bandOffsets.length > 3;
+    for (int i = 0; i < h; i++) {
+      int start = raster.getDataBuffer().getOffset() + component.getOffset(0, y + i, 0)
+              - bandOffsets[0];
+      for (int j = 0, source = i * width; j < width; j++, source++) {
+        data[start + bandOffsets[0]] = (byte) (src[source] >> 16);
+        data[start + bandOffsets[1]] = (byte) (src[source] >> 8);
+        data[start + bandOffsets[2]] = (byte) src[source];
+        if (alpha) {
+          data[start + bandOffsets[3]] = (byte) 0xFF;
+        }
+        start += pixelStride;
+      }
+    }
+  }
+
+  // Determines whether a BufferedImage stores non-premultiplied 8-bit sRGB samples packed in
+  // the ints of one array
+  private static boolean isPackedInts(BufferedImage image) {
+    WritableRaster raster = image.getRaster();
+    if (!(raster.getSampleModel() instanceof SinglePixelPackedSampleModel)
+            || !(raster.getDataBuffer() instanceof DataBufferInt)) {
+      return false;
+    }
+    for (int mask : ((SinglePixelPackedSampleModel) raster.getSampleModel()).getBitMasks()) {
+      if (Integer.bitCount(mask) != 8 || Integer.numberOfTrailingZeros(mask) % 8 != 0) {
+        return false;
+      }
+    }
+    return isSrgb(image) && isUntranslated(raster);
+  }
+
+  // Determines whether a BufferedImage stores non-premultiplied 8-bit sRGB samples, and
+  // possibly alpha, interleaved in the bytes of one array
+  private static boolean isInterleavedBytes(BufferedImage image) {
+    WritableRaster raster = image.getRaster();
+    if (!(raster.getSampleModel() instanceof ComponentSampleModel)
+            || !(raster.getDataBuffer() instanceof DataBufferByte)
+            || raster.getDataBuffer().getNumBanks() != 1 || raster.getNumBands() < 3
+            || raster.getNumBands() > 4) {
+      return false;
+    }
+    for (int bank : ((ComponentSampleModel) raster.getSampleModel()).getBankIndices()) {
+      if (bank != 0) {
+        return false;
+      }
+    }
+    return isSrgb(image) && isUntranslated(raster);
+  }
+
+  // Determines whether the color model of a BufferedImage has non-premultiplied 8-bit sRGB
+  // samples
+  private static boolean isSrgb(BufferedImage image) {
+    ColorModel colorModel = image.getColorModel();
+    if (!colorModel.getColorSpace().isCS_sRGB() || colorModel.isAlphaPremultiplied()
+            || colorModel instanceof IndexColorModel) {
+      return false;
+    }
+    for (int size : colorModel.getComponentSize()) {
+      if (size != 8) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // Determines whether the raster of a BufferedImage starts at the start of its sample model,
+  // which is true of every BufferedImage that is not a part of another
+  private static boolean isUntranslated(WritableRaster raster) {
+    return raster.getSampleModelTranslateX() == 0 && raster.getSampleModelTranslateY() == 0;
+  }
 }
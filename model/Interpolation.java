@@ -0,0 +1,74 @@
+package model;
+
+/**
+ * This enum represents the ways that an image model can be resampled to a new size: by taking
+ * the nearest pixel, or by weighing the pixels around each new pixel with a triangle, a cubic,
+ * or a Lanczos filter. Each filter is given in units of source pixels and is widened when an
+ * image model is shrunk, so that every source pixel contributes to the result.
+ */
+public enum Interpolation {
+  NEAREST(0.5) {
+    @Override
+    double weight(double x) {
+      return x > -0.5 && x <= 0.5 ? 1 : 0;
+    }
+  },
+  BILINEAR(1) {
+    @Override
+    double weight(double x) {
+      x = Math.abs(x);
+      return x < 1 ? 1 - x : 0;
+    }
+  },
+  BICUBIC(2) {
+    @Override
+    double weight(double x) {
+      x = Math.abs(x);
+      if (x < 1) {
+        return (1.5 * x - 2.5) * x * x + 1;
+      }
+      return x < 2 ? ((-0.5 * x + 2.5) * x - 4) * x + 2 : 0;
+    }
+  },
+  LANCZOS(3) {
+    @Override
+    double weight(double x) {
+      if (x == 0) {
+        return 1;
+      }
+      if (x <= -3 || x >= 3) {
+        return 0;
+      }
+      double pi = Math.PI * x;
+      return 3 * Math.sin(pi) * Math.sin(pi / 3) / (pi * pi);
+    }
+  };
+
+  private final double support;
+
+  /**
+   * Constructs a way of resampling whose filter is zero beyond a given distance.
+   *
+   * @param support the distance in source pixels beyond which the filter is zero
+   */
+  Interpolation(double support) {
+    this.support = support;
+  }
+
+  /**
+   * Gets the distance in source pixels beyond which the filter is zero.
+   *
+   * @return the support of the filter
+   */
+  double getSupport() {
+    return this.support;
+  }
+
+  /**
+   * Finds the weight of a source pixel at a given distance from a new pixel.
+   *
+   * @param x the distance in source pixels from the center of the new pixel
+   * @return the weight of the source pixel before the weights are normalized
+   */
+  abstract double weight(double x);
+}
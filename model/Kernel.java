@@ -0,0 +1,394 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class represents a square convolution kernel with an odd size, whose weights are
+ * multiplied with the pixels around each pixel of an image model and summed to find its new
+ * value. The weights are stored in fixed point with 32 fractional bits and rounded up, so that
+ * weights given as simple fractions truncate exactly as the fractions would. Pixels whose
+ * whole neighbourhood lies inside the image model are filtered by a loop without any bounds
+ * checks, and only the pixels near the edges look up their neighbours through a border. When
+ * every weight is a fraction whose denominator is a power of two, such as the weights of the
+ * blur and sharpen filters, and no sum can overflow an int, the interior is instead computed
+ * one tap at a time across a whole row of int sums, a loop that the JIT compiler turns into
+ * SIMD instructions. The result is the same either way.
+ */
+public final class Kernel {
+  private static final int FRACTION_BITS = 32;
+  private static final double ONE = 1L << FRACTION_BITS;
+  private static final int MAX_SIZE = 63;
+  private static final double LIMIT = 1024;
+  private final int size;
+  private final int radius;
+  private final int[] tapRows;
+  private final int[] tapCols;
+  private final long[] coefficients;
+  private final int[] rowCoefficients;
+  private final int rowFractionBits;
+
+  /**
+   * Constructs a kernel from the positions and fixed point weights of its nonzero taps.
+   *
+   * @param size         the number of rows and columns of the kernel
+   * @param tapRows      the row of each nonzero tap relative to the center
+   * @param tapCols      the column of each nonzero tap relative to the center
+   * @param coefficients the fixed point weight of each nonzero tap
+   * @param vectorized   whether the interior may be computed one tap at a time across rows of
+   *                     int sums when the weights allow it
+   */
+  private Kernel(int size, int[] tapRows, int[] tapCols, long[] coefficients,
+                 boolean vectorized) {
+    this.size = size;
+    this.radius = size / 2;
+    this.tapRows = tapRows;
+    this.tapCols = tapCols;
+    this.coefficients = coefficients;
+    int zeros = FRACTION_BITS;
+    long total = 0;
+    for (long coefficient : coefficients) {
+      zeros = Math.min(zeros, Long.numberOfTrailingZeros(coefficient));
+    }
+    for (long coefficient : coefficients) {
+      total += Math.abs(coefficient >> zeros);
+    }
+    if (vectorized && 255 * total <= Integer.MAX_VALUE) {
+      this.rowCoefficients = new int[coefficients.length];
+      for (int t = 0; t < coefficients.length; t++) {
+        this.rowCoefficients[t] = (int) (coefficients[t] >> zeros);
+      }
+      this.rowFractionBits = FRACTION_BITS - zeros;
+    } else {
+      this.rowCoefficients = null;
+      this.rowFractionBits = 0;
+    }
+  }
+
+  /**
+   * Creates a kernel from its weights in row-major order.
+   *
+   * @param size    the number of rows and columns of the kernel, which must be odd
+   * @param weights the weights of the kernel
+   * @return the kernel
+   * @throws IllegalArgumentException if the size is not odd and at most 63, the number of
+   *                                  weights is not the square of the size, or any weight is
+   *                                  not a number between -1024 and 1024
+   */
+  public static Kernel of(int size, double... weights) throws IllegalArgumentException {
+    if (size < 1 || size > MAX_SIZE || size % 2 == 0 || weights == null
+            || weights.length != size * size) {
+      throw new IllegalArgumentException(
+              "Kernel must be a square of numbers with an odd size of at most 63.");
+    }
+    int radius = size / 2;
+    int taps = 0;
+    int[] tapRows = new int[weights.length];
+    int[] tapCols = new int[weights.length];
+    long[] coefficients = new long[weights.length];
+    for (int i = 0; i < weights.length; i++) {
+      if (!(weights[i] >= -LIMIT && weights[i] <= LIMIT)) {
+        throw new IllegalArgumentException(
+                "Kernel weights must be numbers between -1024 and 1024.");
+      }
+      long coefficient = (long) Math.ceil(weights[i] * ONE);
+      if (coefficient != 0) {
+        tapRows[taps] = i / size - radius;
+        tapCols[taps] = i % size - radius;
+        coefficients[taps] = coefficient;
+        taps++;
+      }
+    }
+    return new Kernel(size, Arrays.copyOf(tapRows, taps), Arrays.copyOf(tapCols, taps),
+            Arrays.copyOf(coefficients, taps), true);
+  }
+
+  /**
+   * Creates a kernel from text that lists its rows, separated by semicolons or line breaks,
+   * where the weights of each row are separated by commas or spaces. Each weight is a decimal
+   * number or a fraction such as 1/16, and anything after a # on a line is ignored.
+   *
+   * @param text the text that lists the weights of the kernel
+   * @return the kernel
+   * @throws IllegalArgumentException if the text does not describe a square kernel of numbers
+   *                                  with an odd size
+   */
+  public static Kernel parse(String text) throws IllegalArgumentException {
+    List<Double> weights = new ArrayList<>();
+    int rows = 0;
+    for (String line : Objects.requireNonNull(text).split("[;\\n]")) {
+      String row = line.replaceAll("#.*", "").trim();
+      if (row.isEmpty()) {
+        continue;
+      }
+      rows++;
+      for (String weight : row.split("[,\\s]+")) {
+        weights.add(parseWeight(weight));
+      }
+    }
+    double[] values = new double[weights.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = weights.get(i);
+    }
+    if (rows * rows != values.length) {
+      throw new IllegalArgumentException(
+              "Kernel must be a square of numbers with an odd size of at most 63.");
+    }
+    return of(rows, values);
+  }
+
+  /**
+   * Creates a copy of the kernel that always computes the interior one pixel at a time with
+   * long sums, so that the two ways of computing it can be compared.
+   *
+   * @return the copy of the kernel
+   */
+  Kernel scalar() {
+    return new Kernel(this.size, this.tapRows, this.tapCols, this.coefficients, false);
+  }
+
+  /**
+   * Determines whether the interior is computed one tap at a time across rows of int sums.
+   *
+   * @return true if the interior is computed across rows, and false otherwise
+   */
+  boolean isVectorized() {
+    return this.rowCoefficients != null;
+  }
+
+  /**
+   * Gets the number of rows and columns of the kernel.
+   *
+   * @return the size of the kernel
+   */
+  public int getSize() {
+    return this.size;
+  }
+
+  /**
+   * Describes the kernel by its size and the exact fixed point weight and position of each of
+   * its nonzero taps, so that two kernels with the same description convolve image models the
+   * same way however their weights were written.
+   *
+   * @return the description of the kernel
+   */
+  public String describe() {
+    StringBuilder description = new StringBuilder(Integer.toString(this.size));
+    for (int t = 0; t < this.coefficients.length; t++) {
+      description.append(' ').append(this.tapRows[t]).append(',').append(this.tapCols[t])
+              .append('=').append(this.coefficients[t]);
+    }
+    return description.toString();
+  }
+
+  /**
+   * Creates an image model that results from convolving every channel of a given image model
+   * with the kernel, truncating and clamping each new value to between 0 and 255. Each channel
+   * is filtered over its own contiguous plane, and a greyscale image model has its single plane
+   * filtered once.
+   *
+   * @param model  the image model to convolve
+   * @param border the way to find the values of pixels beyond the edges of the image model
+   * @return the resulting image model
+   * @throws NullPointerException if the given image model or border is null
+   */
+  public ImageModel convolve(ImageModel model, Border border) throws NullPointerException {
+    int height = Objects.requireNonNull(model).getImageHeight();
+    int width = model.getImageWidth();
+    Objects.requireNonNull(border);
+    if (model instanceof GreyscaleImageModel) {
+      return new GreyscaleImageModel(convolve(((GreyscaleImageModel) model).getPlane(),
+              height, width, border), height, width);
+    }
+    PlanarImageModel source = PlanarImageModel.from(model);
+    return new PlanarImageModel(convolve(source.getPlane(Channel.RED), height, width, border),
+            convolve(source.getPlane(Channel.GREEN), height, width, border),
+            convolve(source.getPlane(Channel.BLUE), height, width, border), height, width);
+  }
+
+  /**
+   * Convolves one row-major plane of unsigned byte values with the kernel, in bands of rows
+   * that are processed in parallel.
+   *
+   * @param plane  the plane to convolve
+   * @param height the height of the plane
+   * @param width  the width of the plane
+   * @param border the way to find the values of pixels beyond the edges of the plane
+   * @return the resulting plane
+   */
+  byte[] convolve(byte[] plane, int height, int width, Border border) {
+    byte[] newPlane = new byte[height * width];
+    int firstRow = Math.min(this.radius, height);
+    int lastRow = Math.max(height - this.radius, firstRow);
+    int firstCol = Math.min(this.radius, width);
+    int lastCol = Math.max(width - this.radius, firstCol);
+    RowBands.forEach(height, width, (bandFirstRow, bandLastRow) -> {
+      convolveInterior(plane, newPlane, width, Math.max(bandFirstRow, firstRow),
+              Math.min(bandLastRow, lastRow), firstCol, lastCol);
+      for (int row = bandFirstRow; row < bandLastRow; row++) {
+        boolean borderRow = row < firstRow || row >= lastRow;
+        for (int col = 0; col < width; col++) {
+          if (!borderRow && col == firstCol) {
+            col = lastCol;
+            if (col >= width) {
+              break;
+            }
+          }
+          newPlane[row * width + col] = (byte) convolveBorder(plane, height, width, row, col,
+                  border);
+        }
+      }
+    });
+    return newPlane;
+  }
+
+  /**
+   * Convolves the pixels whose whole neighbourhood lies inside the plane, using the distance
+   * in the plane from each pixel to each of its taps so that no bounds are checked.
+   *
+   * @param plane    the plane to convolve
+   * @param newPlane the plane to write the results to
+   * @param width    the width of the plane
+   * @param firstRow the first row of the interior
+   * @param lastRow  the row after the last row of the interior
+   * @param firstCol the first column of the interior
+   * @param lastCol  the column after the last column of the interior
+   */
+  private void convolveInterior(byte[] plane, byte[] newPlane, int width, int firstRow,
+                                int lastRow, int firstCol, int lastCol) {
+    if (this.rowCoefficients != null) {
+      convolveInteriorRows(plane, newPlane, width, firstRow, lastRow, firstCol, lastCol);
+      return;
+    }
+    int taps = this.coefficients.length;
+    long[] coefficients = this.coefficients;
+    int[] offsets = new int[taps];
+    for (int t = 0; t < taps; t++) {
+      offsets[t] = this.tapRows[t] * width + this.tapCols[t];
+    }
+    for (int row = firstRow; row < lastRow; row++) {
+      for (int center = row * width + firstCol; center < row * width + lastCol; center++) {
+        long sum = 0;
+        for (int t = 0; t < taps; t++) {
+          sum += (plane[center + offsets[t]] & 0xFF) * coefficients[t];
+        }
+        newPlane[center] = (byte) clamp(sum);
+      }
+    }
+  }
+
+  /**
+   * Convolves the pixels whose whole neighbourhood lies inside the plane one row at a time,
+   * adding each tap across the whole row of int sums before moving to the next tap. The rows
+   * that the taps read are widened to ints once each and kept in a ring as long as a tap reads
+   * them, so that each inner loop multiplies and adds consecutive ints without any dependence
+   * between them, which the JIT compiler computes several pixels at a time with SIMD
+   * instructions.
+   *
+   * @param plane    the plane to convolve
+   * @param newPlane the plane to write the results to
+   * @param width    the width of the plane
+   * @param firstRow the first row of the interior
+   * @param lastRow  the row after the last row of the interior
+   * @param firstCol the first column of the interior
+   * @param lastCol  the column after the last column of the interior
+   */
+  private void convolveInteriorRows(byte[] plane, byte[] newPlane, int width, int firstRow,
+                                    int lastRow, int firstCol, int lastCol) {
+    if (firstRow >= lastRow || firstCol >= lastCol) {
+      return;
+    }
+    int[] coefficients = this.rowCoefficients;
+    int shift = this.rowFractionBits;
+    int length = lastCol - firstCol;
+    int[] sums = new int[length];
+    int[][] ring = new int[this.size][length + 2 * this.radius];
+    for (int row = firstRow - this.radius; row < firstRow + this.radius; row++) {
+      widen(plane, row * width + firstCol - this.radius, ring[Math.floorMod(row, this.size)]);
+    }
+    for (int row = firstRow; row < lastRow; row++) {
+      int next = row + this.radius;
+      widen(plane, next * width + firstCol - this.radius, ring[next % this.size]);
+      Arrays.fill(sums, 0);
+      for (int t = 0; t < coefficients.length; t++) {
+        addTap(ring[Math.floorMod(row + this.tapRows[t], this.size)],
+                this.tapCols[t] + this.radius, coefficients[t], sums);
+      }
+      store(sums, shift, newPlane, row * width + firstCol);
+    }
+  }
+
+  // Adds the values of a widened row, starting at a position, multiplied by the coefficient of
+  // a tap to a row of sums
+  private static void addTap(int[] values, int from, int coefficient, int[] sums) {
+    for (int j = 0; j < sums.length; j++) {
+      sums[j] += values[from + j] * coefficient;
+    }
+  }
+
+  // Truncates a row of fixed point sums, clamps them to between 0 and 255, and stores them in
+  // a plane starting at a position
+  private static void store(int[] sums, int shift, byte[] newPlane, int start) {
+    for (int j = 0; j < sums.length; j++) {
+      newPlane[start + j] = (byte) Math.max(0, Math.min(255, sums[j] >> shift));
+    }
+  }
+
+  // Widens the unsigned byte values of part of a row of a plane, starting at a position, to
+  // fill an array of ints
+  private static void widen(byte[] plane, int start, int[] values) {
+    for (int j = 0; j < values.length; j++) {
+      values[j] = plane[start + j] & 0xFF;
+    }
+  }
+
+  /**
+   * Convolves one pixel near the edges of the plane, finding each tap beyond the edges
+   * through the given border.
+   *
+   * @param plane  the plane to convolve
+   * @param height the height of the plane
+   * @param width  the width of the plane
+   * @param row    the row of the pixel
+   * @param col    the column of the pixel
+   * @param border the way to find the values of pixels beyond the edges of the plane
+   * @return the new value of the pixel
+   */
+  private int convolveBorder(byte[] plane, int height, int width, int row, int col,
+                             Border border) {
+    long sum = 0;
+    for (int t = 0; t < this.coefficients.length; t++) {
+      int tapRow = border.locate(row + this.tapRows[t], height);
+      int tapCol = border.locate(col + this.tapCols[t], width);
+      if (tapRow >= 0 && tapCol >= 0) {
+        sum += (plane[tapRow * width + tapCol] & 0xFF) * this.coefficients[t];
+      }
+    }
+    return clamp(sum);
+  }
+
+  // Parses one weight, which is either a decimal number or a fraction
+  private static double parseWeight(String weight) throws IllegalArgumentException {
+    try {
+      int slash = weight.indexOf('/');
+      if (slash < 0) {
+        return Double.parseDouble(weight);
+      }
+      return Double.parseDouble(weight.substring(0, slash))
+              / Double.parseDouble(weight.substring(slash + 1));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(
+              "Kernel must be a square of numbers with an odd size of at most 63.");
+    }
+  }
+
+  // Truncates a fixed point value and clamps it to between 0 and 255 without branching
+  private static int clamp(long value) {
+    value >>= FRACTION_BITS;
+    value &= ~(value >> 63);
+    value |= (255 - value) >> 63;
+    return (int) value & 0xFF;
+  }
+}
@@ -0,0 +1,318 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * This class represents an object of an image model that has not been computed yet. It records
+ * an operation and the image model the operation is performed on, so that a script of commands
+ * builds a graph of operations and no pixels are found until an image model is saved, displayed,
+ * or otherwise read. When an image model is computed, the image models it was derived from are
+ * computed one after another without keeping their results, so that only the image model that
+ * was read holds on to its pixels. Adjacent operations that change each pixel independently are
+ * fused into one pass over the original image model.
+ */
+public class LazyImageModel implements DerivedImageModel {
+  private final List<String> operations;
+  private final int height;
+  private final int width;
+  private volatile ImageModel input;
+  private volatile Function<ImageModel, ImageModel> function;
+  private volatile PixelOperation pixelOperation;
+  private volatile ImageModel result;
+
+  /**
+   * Constructs an image model that will be computed from a given input.
+   *
+   * @param input          the image model the operation is performed on
+   * @param operations     a description of each operation and its parameters, in the order
+   *                       they are performed
+   * @param function       the operation, or null if a pixel operation is given instead
+   * @param pixelOperation the operation performed on each pixel, or null if a function is
+   *                       given instead
+   * @param height         the height of the image model once it is computed
+   * @param width          the width of the image model once it is computed
+   */
+  private LazyImageModel(ImageModel input, List<String> operations,
+                         Function<ImageModel, ImageModel> function,
+                         PixelOperation pixelOperation, int height, int width) {
+    this.input = input;
+    this.operations = operations;
+    this.function = function;
+    this.pixelOperation = pixelOperation;
+    this.height = height;
+    this.width = width;
+  }
+
+  /**
+   * Creates an image model that will be computed by performing an operation on a given image
+   * model once it is read. The operation must result in an image model with the same
+   * dimensions as the given image model.
+   *
+   * @param input     the image model the operation is performed on
+   * @param operation a description of the operation and its parameters, which two image models
+   *                  are only considered equal by if they are derived from the same image model
+   * @param function  the operation that computes the image model
+   * @return the image model that has not been computed yet
+   * @throws NullPointerException if any of the given parameters are null
+   */
+  public static LazyImageModel of(ImageModel input, String operation,
+                                  Function<ImageModel, ImageModel> function)
+          throws NullPointerException {
+    return of(input, operation, Objects.requireNonNull(input).getImageHeight(),
+            input.getImageWidth(), function);
+  }
+
+  /**
+   * Creates an image model that will be computed by performing an operation that changes the
+   * dimensions of a given image model once it is read. The operation must result in an image
+   * model with the given dimensions.
+   *
+   * @param input     the image model the operation is performed on
+   * @param operation a description of the operation and its parameters, which two image models
+   *                  are only considered equal by if they are derived from the same image model
+   * @param height    the height of the image model that the operation results in
+   * @param width     the width of the image model that the operation results in
+   * @param function  the operation that computes the image model
+   * @return the image model that has not been computed yet
+   * @throws IllegalArgumentException if either dimension is negative
+   * @throws NullPointerException     if any of the given parameters are null
+   */
+  public static LazyImageModel of(ImageModel input, String operation, int height, int width,
+                                  Function<ImageModel, ImageModel> function)
+          throws IllegalArgumentException, NullPointerException {
+    if (height < 0 || width < 0) {
+      throw new IllegalArgumentException("Dimensions of the image must not be negative.");
+    }
+    return new LazyImageModel(Objects.requireNonNull(input),
+            Collections.singletonList(Objects.requireNonNull(operation)),
+            Objects.requireNonNull(function), null, height, width);
+  }
+
+  /**
+   * Creates an image model that will be computed by performing an operation on each pixel of
+   * a given image model once it is read. If the given image model is itself waiting to perform
+   * an operation on each pixel, the two operations are fused into one pass over its input.
+   *
+   * @param input          the image model the operation is performed on
+   * @param operation      a description of the operation and its parameters, which two image
+   *                       models are only considered equal by if they are derived from the same
+   *                       image model
+   * @param pixelOperation the operation performed on each pixel
+   * @return the image model that has not been computed yet
+   * @throws NullPointerException if any of the given parameters are null
+   */
+  public static LazyImageModel of(ImageModel input, String operation,
+                                  PixelOperation pixelOperation) throws NullPointerException {
+    Objects.requireNonNull(operation);
+    Objects.requireNonNull(pixelOperation);
+    if (Objects.requireNonNull(input) instanceof LazyImageModel) {
+      LazyImageModel lazy = (LazyImageModel) input;
+      synchronized (lazy) {
+        if (lazy.result == null && lazy.pixelOperation != null) {
+          List<String> operations = new ArrayList<>(lazy.operations);
+          operations.add(operation);
+          return new LazyImageModel(lazy.input, Collections.unmodifiableList(operations), null,
+                  lazy.pixelOperation.andThen(pixelOperation), lazy.height, lazy.width);
+        }
+      }
+    }
+    return new LazyImageModel(input, Collections.singletonList(operation), null, pixelOperation,
+            input.getImageHeight(), input.getImageWidth());
+  }
+
+  /**
+   * Computes a given image model if it has not been computed yet and keeps the result, or
+   * returns the given image model if it is not a lazy image model.
+   *
+   * @param model the image model to compute
+   * @return the computed image model, or null if the given image model is null
+   */
+  public static ImageModel force(ImageModel model) {
+    return model instanceof LazyImageModel ? ((LazyImageModel) model).materialize() : model;
+  }
+
+  /**
+   * Gets the height of the image model that the method is being performed on.
+   *
+   * @return the height of the image model
+   */
+  @Override
+  public int getImageHeight() {
+    return this.height;
+  }
+
+  /**
+   * Gets the width of the image model that the method is being performed on.
+   *
+   * @return the width of the image model
+   */
+  @Override
+  public int getImageWidth() {
+    return this.width;
+  }
+
+  /**
+   * Gets the pixel at a given row and column of the image model that the method is being
+   * performed on, computing the image model first if it has not been computed yet.
+   *
+   * @param row the row from which to get the pixel
+   * @param col the column from which to get the pixel
+   * @return the pixel at the given row and column
+   * @throws IllegalArgumentException if the given position is beyond the dimensions of the
+   *                                  image model
+   */
+  @Override
+  public IPixel getPixelAt(int row, int col) throws IllegalArgumentException {
+    return materialize().getPixelAt(row, col);
+  }
+
+  /**
+   * Gets the packed 0xRRGGBB value of the pixel at a given row and column, computing the image
+   * model first if it has not been computed yet.
+   *
+   * @param row the row from which to get the value
+   * @param col the column from which to get the value
+   * @return the packed value of the pixel
+   * @throws IllegalArgumentException if the given position is beyond the dimensions of the
+   *                                  image model
+   */
+  @Override
+  public int getRGB(int row, int col) throws IllegalArgumentException {
+    return materialize().getRGB(row, col);
+  }
+
+  /**
+   * Copies the packed 0xRRGGBB values of a rectangular region of the image model into a given
+   * array, computing the image model first if it has not been computed yet.
+   *
+   * @param x      the leftmost column of the region
+   * @param y      the topmost row of the region
+   * @param w      the width of the region
+   * @param h      the height of the region
+   * @param dst    the array to copy into
+   * @param offset the position in the array of the region's top-left pixel
+   * @param stride the distance in the array between the starts of consecutive rows
+   * @throws IllegalArgumentException if the region is beyond the dimensions of the image model
+   *                                  or does not fit in the array
+   */
+  @Override
+  public void getRegion(int x, int y, int w, int h, int[] dst, int offset, int stride)
+          throws IllegalArgumentException {
+    materialize().getRegion(x, y, w, h, dst, offset, stride);
+  }
+
+  /**
+   * Determines whether this image model performs the same operation on the same image model as
+   * a given lazy image model, so that one of them can be used in place of the other.
+   *
+   * @param other the lazy image model to compare to
+   * @return true if both image models will compute the same pixels, and false otherwise
+   */
+  public boolean isEquivalentTo(LazyImageModel other) {
+    ImageModel current = this.input;
+    return other != null && current != null && current == other.input
+            && this.operations.equals(other.operations);
+  }
+
+  /**
+   * Determines whether this image model performs the operation on each pixel of a given lazy
+   * image model followed by further operations in the same pass over the same input, so that
+   * computing this image model never computes the given one.
+   *
+   * @param other the lazy image model that may have been fused into this image model
+   * @return true if this image model was fused from the given one, and false otherwise
+   */
+  public boolean isFusedFrom(LazyImageModel other) {
+    ImageModel current = this.input;
+    return other != null && other != this && current != null && current == other.input
+            && this.pixelOperation != null && other.pixelOperation != null
+            && this.operations.size() > other.operations.size()
+            && this.operations.subList(0, other.operations.size()).equals(other.operations);
+  }
+
+  /**
+   * Determines whether the image model only holds shades of grey, either because it performs
+   * an operation on each pixel that always results in grey or because it has been computed
+   * into a greyscale image model.
+   *
+   * @return true if the image model is known to be greyscale, and false otherwise
+   */
+  public boolean isGreyscale() {
+    PixelOperation current = this.pixelOperation;
+    if (current != null) {
+      return current.isGreyscale();
+    }
+    ImageModel computed = this.result;
+    return computed != null && GreyscaleImageModel.isGreyscale(computed);
+  }
+
+  /**
+   * Determines whether the image model has been computed.
+   *
+   * @return true if the image model has been computed, and false otherwise
+   */
+  public boolean isComputed() {
+    return this.result != null;
+  }
+
+  /**
+   * Determines whether the image model will read from a given image model when it is
+   * computed, either directly or through another derived image model.
+   *
+   * @param model the image model to look for
+   * @return true if the image model reads from the given image model, and false otherwise
+   */
+  @Override
+  public boolean dependsOn(ImageModel model) {
+    ImageModel current = this.input;
+    return current != null && (current == model || (current instanceof DerivedImageModel
+            && ((DerivedImageModel) current).dependsOn(model)));
+  }
+
+  /**
+   * Computes the image model if it has not been computed yet and keeps the result, after which
+   * it no longer refers to the image model it was derived from.
+   *
+   * @return the computed image model
+   */
+  @Override
+  public synchronized ImageModel materialize() {
+    if (this.result == null) {
+      this.result = compute();
+      this.input = null;
+      this.function = null;
+      this.pixelOperation = null;
+    }
+    return this.result;
+  }
+
+  /**
+   * Computes the image model without keeping the result. Image models that this image model
+   * is derived from and that have not been computed are computed the same way, so their
+   * results can be discarded as soon as the next operation has been performed.
+   *
+   * @return the computed image model
+   */
+  private ImageModel compute() {
+    ImageModel current;
+    Function<ImageModel, ImageModel> currentFunction;
+    PixelOperation currentPixelOperation;
+    synchronized (this) {
+      if (this.result != null) {
+        return this.result;
+      }
+      current = this.input;
+      currentFunction = this.function;
+      currentPixelOperation = this.pixelOperation;
+    }
+    if (current instanceof LazyImageModel) {
+      current = ((LazyImageModel) current).compute();
+    }
+    return currentPixelOperation != null ? currentPixelOperation.applyTo(current)
+            : currentFunction.apply(current);
+  }
+}
@@ -0,0 +1,269 @@
+package model;
+
+import java.util.Objects;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * This class represents an operation that maps each red, green, and blue value of a pixel to a
+ * new value through a table of 256 entries per channel. Any operation that changes each value
+ * of each channel independently of the others, such as brightening, inverting, or adjusting
+ * levels, gamma, or contrast, is computed once per possible value when its table is created, so
+ * that transforming a pixel only costs three table lookups.
+ */
+public final class LookupTable {
+  private final int[] red;
+  private final int[] green;
+  private final int[] blue;
+  private final boolean uniform;
+
+  /**
+   * Constructs a lookup table from the new values of each channel, already shifted into their
+   * position in a packed 0xRRGGBB value.
+   *
+   * @param red   the shifted new red values
+   * @param green the shifted new green values
+   * @param blue  the new blue values
+   */
+  private LookupTable(int[] red, int[] green, int[] blue) {
+    this.red = red;
+    this.green = green;
+    this.blue = blue;
+    boolean equalChannels = true;
+    for (int i = 0; i < 256; i++) {
+      equalChannels &= red[i] >> 16 == blue[i] && green[i] >> 8 == blue[i];
+    }
+    this.uniform = equalChannels;
+  }
+
+  /**
+   * Creates a lookup table that maps the values of every channel through a given curve. The
+   * results of the curve are clamped to between 0 and 255.
+   *
+   * @param curve the function from an old value to a new value
+   * @return the lookup table
+   * @throws NullPointerException if the given curve is null
+   */
+  public static LookupTable of(IntUnaryOperator curve) throws NullPointerException {
+    return of(curve, curve, curve);
+  }
+
+  /**
+   * Creates a lookup table that maps the values of each channel through its own curve. The
+   * results of each curve are clamped to between 0 and 255.
+   *
+   * @param red   the function from an old red value to a new red value
+   * @param green the function from an old green value to a new green value
+   * @param blue  the function from an old blue value to a new blue value
+   * @return the lookup table
+   * @throws NullPointerException if any of the given curves are null
+   */
+  public static LookupTable of(IntUnaryOperator red, IntUnaryOperator green,
+                               IntUnaryOperator blue) throws NullPointerException {
+    return new LookupTable(tabulate(Objects.requireNonNull(red), 16),
+            tabulate(Objects.requireNonNull(green), 8), tabulate(Objects.requireNonNull(blue), 0));
+  }
+
+  /**
+   * Creates a lookup table that adds a constant to every value, clamping the results to
+   * between 0 and 255.
+   *
+   * @param constant the constant to add, which darkens the image if it is negative
+   * @return the lookup table
+   */
+  public static LookupTable brighten(int constant) {
+    return of(value -> (int) Math.max(0, Math.min(255, (long) value + constant)));
+  }
+
+  /**
+   * Creates a lookup table that inverts every value.
+   *
+   * @return the lookup table
+   */
+  public static LookupTable invert() {
+    return of(value -> 255 - value);
+  }
+
+  /**
+   * Creates a lookup table that scales the distance of every value from the middle value 128
+   * by a given factor, rounding the results.
+   *
+   * @param factor the factor to scale by, which increases contrast if it is greater than 1
+   * @return the lookup table
+   * @throws IllegalArgumentException if the factor is negative or not a number
+   */
+  public static LookupTable contrast(double factor) throws IllegalArgumentException {
+    if (!(factor >= 0) || Double.isInfinite(factor)) {
+      throw new IllegalArgumentException("Contrast must be a non-negative number.");
+    }
+    return of(value -> (int) Math.round((value - 128) * factor + 128));
+  }
+
+  /**
+   * Creates a lookup table that applies gamma correction to every value, rounding the results.
+   * A gamma greater than 1 brightens the midtones and a gamma less than 1 darkens them, while
+   * black and white stay the same.
+   *
+   * @param gamma the gamma to correct by
+   * @return the lookup table
+   * @throws IllegalArgumentException if the gamma is not a positive number
+   */
+  public static LookupTable gamma(double gamma) throws IllegalArgumentException {
+    if (!(gamma > 0) || Double.isInfinite(gamma)) {
+      throw new IllegalArgumentException("Gamma must be a positive number.");
+    }
+    return of(value -> (int) Math.round(255 * Math.pow(value / 255.0, 1 / gamma)));
+  }
+
+  /**
+   * Creates a lookup table that stretches the values between a black point and a white point
+   * to the full range of values, rounding the results. Values at or below the black point
+   * become 0 and values at or above the white point become 255.
+   *
+   * @param black the value that becomes 0
+   * @param white the value that becomes 255
+   * @return the lookup table
+   * @throws IllegalArgumentException if the black point is not less than the white point, or
+   *                                  either point is not between 0 and 255
+   */
+  public static LookupTable levels(int black, int white) throws IllegalArgumentException {
+    if (black < 0 || white > 255 || black >= white) {
+      throw new IllegalArgumentException("Levels must satisfy 0 <= black < white <= 255.");
+    }
+    return of(value -> ((value - black) * 510 + (white - black)) / (2 * (white - black)));
+  }
+
+  /**
+   * Creates a lookup table that maps every value through a curve drawn through given control
+   * points, with straight lines between consecutive points. Values before the first point or
+   * after the last point are mapped to the value of that point.
+   *
+   * @param xs the old values of the control points, in increasing order
+   * @param ys the new values of the control points
+   * @return the lookup table
+   * @throws IllegalArgumentException if there are no control points, the old values are not
+   *                                  increasing, or any value is not between 0 and 255
+   */
+  public static LookupTable curve(int[] xs, int[] ys) throws IllegalArgumentException {
+    if (xs == null || ys == null || xs.length == 0 || xs.length != ys.length) {
+      throw new IllegalArgumentException("Curve must have at least one point.");
+    }
+    for (int i = 0; i < xs.length; i++) {
+      if (xs[i] < 0 || xs[i] > 255 || ys[i] < 0 || ys[i] > 255
+              || (i > 0 && xs[i] <= xs[i - 1])) {
+        throw new IllegalArgumentException(
+                "Curve points must be between 0 and 255 in increasing order.");
+      }
+    }
+    int[] curve = new int[256];
+    for (int value = 0, point = 0; value < 256; value++) {
+      while (point < xs.length && xs[point] < value) {
+        point++;
+      }
+      if (point == 0) {
+        curve[value] = ys[0];
+      } else if (point == xs.length) {
+        curve[value] = ys[xs.length - 1];
+      } else {
+        int run = xs[point] - xs[point - 1];
+        int rise = ys[point] - ys[point - 1];
+        curve[value] = ys[point - 1]
+                + Math.floorDiv(2 * rise * (value - xs[point - 1]) + run, 2 * run);
+      }
+    }
+    return of(value -> curve[value]);
+  }
+
+  /**
+   * Creates a lookup table that maps every value through this lookup table and then a given
+   * lookup table, which costs no more per pixel than either of them alone.
+   *
+   * @param next the lookup table applied to the results of this lookup table
+   * @return the combined lookup table
+   * @throws NullPointerException if the given lookup table is null
+   */
+  public LookupTable andThen(LookupTable next) throws NullPointerException {
+    Objects.requireNonNull(next);
+    return of(value -> next.red[this.red[value] >> 16] >> 16,
+        value -> next.green[this.green[value] >> 8] >> 8,
+        value -> next.blue[this.blue[value]]);
+  }
+
+  /**
+   * Determines whether the values of every channel are mapped through the same curve, so that
+   * greyscale pixels stay greyscale.
+   *
+   * @return true if every channel has the same table, and false otherwise
+   */
+  public boolean isUniform() {
+    return this.uniform;
+  }
+
+  /**
+   * Maps the packed 0xRRGGBB value of one pixel through the lookup table.
+   *
+   * @param rgb the packed value of the pixel
+   * @return the packed value of the resulting pixel
+   */
+  public int apply(int rgb) {
+    return this.red[(rgb >> 16) & 0xFF] | this.green[(rgb >> 8) & 0xFF] | this.blue[rgb & 0xFF];
+  }
+
+  /**
+   * Creates an image model that results from mapping every pixel of a given image model
+   * through the lookup table in one pass, in bands of rows that are processed in parallel. A
+   * greyscale image model mapped through the same curve for every channel results in a
+   * greyscale image model, with one lookup per pixel.
+   *
+   * @param model the image model to map
+   * @return the resulting image model
+   * @throws NullPointerException if the given image model is null
+   */
+  public ImageModel applyTo(ImageModel model) throws NullPointerException {
+    int height = Objects.requireNonNull(model).getImageHeight();
+    int width = model.getImageWidth();
+    if (this.uniform && model instanceof GreyscaleImageModel) {
+      byte[] plane = ((GreyscaleImageModel) model).getPlane();
+      byte[] values = new byte[plane.length];
+      int[] table = this.blue;
+      RowBands.forEach(height, width, (firstRow, lastRow) -> {
+        for (int i = firstRow * width; i < lastRow * width; i++) {
+          values[i] = (byte) table[plane[i] & 0xFF];
+        }
+      });
+      return new GreyscaleImageModel(values, height, width);
+    }
+    int[] newPixels = new int[height * width];
+    int[] redTable = this.red;
+    int[] greenTable = this.green;
+    int[] blueTable = this.blue;
+    RowBands.forEach(height, width, (firstRow, lastRow) -> {
+      model.getRegion(0, firstRow, width, lastRow - firstRow, newPixels, firstRow * width,
+              width);
+      for (int j = firstRow * width; j < lastRow * width; j++) {
+        int rgb = newPixels[j];
+        newPixels[j] = redTable[(rgb >> 16) & 0xFF] | greenTable[(rgb >> 8) & 0xFF]
+                | blueTable[rgb & 0xFF];
+      }
+    });
+    return new PackedImageModel(newPixels, height, width);
+  }
+
+  /**
+   * Gets the operation that maps each pixel through the lookup table, so that it can be fused
+   * with other operations on each pixel.
+   *
+   * @return the operation performed on each pixel
+   */
+  public PixelOperation toPixelOperation() {
+    return new PixelOperation(this);
+  }
+
+  // Finds the clamped result of a curve for every value, shifted into the position of a channel
+  private static int[] tabulate(IntUnaryOperator curve, int shift) {
+    int[] table = new int[256];
+    for (int value = 0; value < 256; value++) {
+      table[value] = Math.max(0, Math.min(255, curve.applyAsInt(value))) << shift;
+    }
+    return table;
+  }
+}
@@ -0,0 +1,99 @@
+package model;
+
+/**
+ * This interface represents the loops that transform whole rows of packed 0xRRGGBB pixels by
+ * the coefficients of a color matrix. The loops of the Vector API are used when the program is
+ * run with {@code --add-modules jdk.incubator.vector} and the classes in the vector directory
+ * were compiled with the same option, and the scalar loops are used otherwise. Both evaluate
+ * each row of the matrix in double precision in the same order, so they give the same results.
+ */
+interface MatrixRows {
+
+  /**
+   * Transforms packed pixels in place by every row of a color matrix.
+   *
+   * @param coefficients the 12 coefficients of the matrix in row-major order
+   * @param pixels       the array holding the pixels
+   * @param from         the position in the array of the first pixel to transform
+   * @param to           the position in the array after the last pixel to transform
+   */
+  void apply(double[] coefficients, int[] pixels, int from, int to);
+
+  /**
+   * Evaluates the first row of a color matrix for packed pixels, giving one greyscale value
+   * for each pixel.
+   *
+   * @param coefficients the 12 coefficients of the matrix in row-major order
+   * @param pixels       the array holding the pixels
+   * @param from         the position in the array of the first pixel to evaluate
+   * @param values       the array to store the greyscale values in
+   * @param start        the position in the values of the value of the first pixel
+   * @param length       the number of pixels to evaluate
+   */
+  void applyGreyscale(double[] coefficients, int[] pixels, int from, byte[] values, int start,
+                      int length);
+
+  /**
+   * Finds the fastest loops that are available, which are those of the Vector API if its
+   * incubator module has been added to the program and the class using it can be loaded.
+   *
+   * @return the loops to use
+   */
+  static MatrixRows find() {
+    if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+      try {
+        return (MatrixRows) Class.forName("model.VectorMatrixRows")
+                .getDeclaredConstructor().newInstance();
+      } catch (ReflectiveOperationException | LinkageError e) {
+        // the vector classes were not compiled, so the scalar loops are used
+      }
+    }
+    return new Scalar();
+  }
+
+  /**
+   * This class represents the loops that transform one pixel at a time.
+   */
+  final class Scalar implements MatrixRows {
+
+    @Override
+    public void apply(double[] coefficients, int[] pixels, int from, int to) {
+      for (int j = from; j < to; j++) {
+        int rgb = pixels[j];
+        int red = (rgb >> 16) & 0xFF;
+        int green = (rgb >> 8) & 0xFF;
+        int blue = rgb & 0xFF;
+        pixels[j] = evaluate(coefficients, red, green, blue, 0) << 16
+                | evaluate(coefficients, red, green, blue, 4) << 8
+                | evaluate(coefficients, red, green, blue, 8);
+      }
+    }
+
+    @Override
+    public void applyGreyscale(double[] coefficients, int[] pixels, int from, byte[] values,
+                               int start, int length) {
+      for (int j = 0; j < length; j++) {
+        int rgb = pixels[from + j];
+        values[start + j] = (byte) evaluate(coefficients, (rgb >> 16) & 0xFF,
+                (rgb >> 8) & 0xFF, rgb & 0xFF, 0);
+      }
+    }
+
+    /**
+     * Evaluates the row of a color matrix whose coefficients start at a given index, truncating
+     * the weighted sum and clamping it to between 0 and 255.
+     *
+     * @param c     the 12 coefficients of the matrix in row-major order
+     * @param red   the red value of the pixel
+     * @param green the green value of the pixel
+     * @param blue  the blue value of the pixel
+     * @param start the index of the first coefficient of the row
+     * @return the new value
+     */
+    static int evaluate(double[] c, int red, int green, int blue, int start) {
+      int value = (int) (red * c[start] + green * c[start + 1] + blue * c[start + 2]
+              + c[start + 3]);
+      return Math.max(Math.min(255, value), 0);
+    }
+  }
+}
@@ -0,0 +1,480 @@
+package model;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * This class represents an object of an image model whose pixels are stored outside of the
+ * Java heap, as interleaved red, green, and blue bytes held in buffers that are mapped from a
+ * temporary file. Rows are split across several buffers so that images larger than one buffer
+ * can hold are supported, and the memory is not scanned or moved by the garbage collector.
+ * Since mapped buffers are not limited by -XX:MaxDirectMemorySize, which defaults to the
+ * maximum size of the heap, an image model may be larger than the heap, and the operating
+ * system writes its pages out to the temporary file when memory runs short. The temporary file
+ * is deleted as soon as it has been mapped. The buffers may also be mapped from the pixels of a
+ * binary PPM file, so that the operating system reads each part of the file only when it is
+ * first read and the pixels are never copied unless a row is set. The image model must be
+ * closed once it is no longer used, which unmaps its buffers at once, after which its pixels
+ * can no longer be read.
+ */
+public class OffHeapImageModel implements ImageModel, AutoCloseable {
+  private static final int MAX_CHUNK_BYTES = 1 << 30;
+  // Image models whose buffers are still mapped from a file, so that the file is not changed,
+  // held weakly so that an image model that is never closed can still be garbage collected
+  private static final Set<OffHeapImageModel> MAPPED =
+          Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+  private static final MethodHandle INVOKE_CLEANER = findInvokeCleaner();
+  private final int height;
+  private final int width;
+  private final int rowsPerChunk;
+  // Held to read or write the buffers, and held exclusively to unmap them
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private volatile ByteBuffer[] chunks;
+  private volatile Path source;
+
+  /**
+   * Constructs an image model of the given height and width whose pixels are all black, and
+   * which can then be filled one row at a time using {@link #setRow(int, int[])}.
+   *
+   * @param height the height in pixels of the image model
+   * @param width  the width in pixels of the image model
+   * @throws IllegalArgumentException if either dimension is negative or one row is too wide to
+   *                                  be stored
+   * @throws IllegalStateException    if the temporary file cannot be created or mapped
+   */
+  public OffHeapImageModel(int height, int width)
+          throws IllegalArgumentException, IllegalStateException {
+    this(height, width, rowsPerChunk(height, width));
+    this.chunks = allocateChunks();
+  }
+
+  /**
+   * Constructs an image model of the given height and width whose buffers have not been
+   * created yet.
+   *
+   * @param height       the height in pixels of the image model
+   * @param width        the width in pixels of the image model
+   * @param rowsPerChunk the number of rows held by each buffer
+   */
+  private OffHeapImageModel(int height, int width, int rowsPerChunk) {
+    this.height = height;
+    this.width = width;
+    this.rowsPerChunk = rowsPerChunk;
+    this.chunks = new ByteBuffer[(height + rowsPerChunk - 1) / rowsPerChunk];
+  }
+
+  /**
+   * Creates an image model whose pixels are read directly from part of a file, which holds the
+   * red, green, and blue bytes of every pixel one row after another, as the pixels of a binary
+   * PPM file with a maximum color value of 255 do. The file is mapped into memory as read-only
+   * buffers instead of being read, and the file must not be changed while the image model is
+   * open.
+   *
+   * @param file   the file to map, which may be closed once the image model is created
+   * @param path   the path of the file
+   * @param offset the position in the file of the first byte of the pixels
+   * @param height the height in pixels of the image model
+   * @param width  the width in pixels of the image model
+   * @return the new image model
+   * @throws IllegalArgumentException if either dimension is negative, one row is too wide to
+   *                                  be stored, or the file ends before every pixel
+   * @throws IOException              if mapping the file fails
+   */
+  public static OffHeapImageModel map(FileChannel file, Path path, long offset, int height,
+                                      int width) throws IllegalArgumentException, IOException {
+    OffHeapImageModel mapped = new OffHeapImageModel(height, width,
+            rowsPerChunk(height, width));
+    long rowBytes = (long) width * 3;
+    if (offset < 0 || offset + rowBytes * height > file.size()) {
+      throw new IllegalArgumentException("Invalid PPM file: file ended before every value "
+              + "was read.");
+    }
+    for (int i = 0; i < mapped.chunks.length; i++) {
+      mapped.chunks[i] = file.map(FileChannel.MapMode.READ_ONLY,
+              offset + rowBytes * mapped.rowsPerChunk * i, rowBytes * mapped.rowsIn(i));
+    }
+    mapped.source = Objects.requireNonNull(path).toAbsolutePath();
+    MAPPED.add(mapped);
+    return mapped;
+  }
+
+  /**
+   * Determines whether the pixels of any open image model are still mapped from a given file,
+   * in which case the file must not be changed.
+   *
+   * @param filepath the path of the file
+   * @return true if an open image model is mapped from the file, and false otherwise
+   */
+  public static boolean isMappedFrom(String filepath) {
+    Path path;
+    try {
+      path = Paths.get(filepath);
+    } catch (InvalidPathException e) {
+      return false;
+    }
+    synchronized (MAPPED) {
+      for (OffHeapImageModel model : MAPPED) {
+        try {
+          Path source = model.source;
+          if (source != null && Files.isSameFile(source, path)) {
+            return true;
+          }
+        } catch (IOException e) {
+          // the file does not exist, so it cannot be the one that is mapped
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Finds the method of the JDK that unmaps a buffer at once, which is only reachable through
+   * sun.misc.Unsafe, since Java has no public way to unmap a buffer before it is garbage
+   * collected.
+   *
+   * @return the method bound to the instance of sun.misc.Unsafe, or null if it is unavailable
+   */
+  private static MethodHandle findInvokeCleaner() {
+    try {
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Field instance = unsafeClass.getDeclaredField("theUnsafe");
+      instance.setAccessible(true);
+      return MethodHandles.lookup().findVirtual(unsafeClass, "invokeCleaner",
+              MethodType.methodType(void.class, ByteBuffer.class)).bindTo(instance.get(null));
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Unmaps buffers at once, so that their memory is returned to the operating system and the
+   * file they are mapped from is released. If the JDK offers no way to do so, the buffers are
+   * left to be unmapped once the garbage collector finds that they are no longer reachable.
+   * The buffers must not be read again.
+   *
+   * @param buffers the buffers to unmap
+   */
+  private static void unmap(ByteBuffer[] buffers) {
+    if (INVOKE_CLEANER == null) {
+      return;
+    }
+    for (ByteBuffer buffer : buffers) {
+      try {
+        INVOKE_CLEANER.invokeExact(buffer);
+      } catch (Throwable e) {
+        // the buffer is unmapped once it is garbage collected instead
+      }
+    }
+  }
+
+  // Finds how many rows fit in each buffer, checking the dimensions of an image model
+  private static int rowsPerChunk(int height, int width) throws IllegalArgumentException {
+    if (height < 0 || width < 0) {
+      throw new IllegalArgumentException("Dimensions of the image must not be negative.");
+    }
+    if ((long) width * 3 > MAX_CHUNK_BYTES) {
+      throw new IllegalArgumentException("Width of the image is too large to be stored.");
+    }
+    return Math.max(1, MAX_CHUNK_BYTES / Math.max(1, width * 3));
+  }
+
+  // Finds how many rows are held by the buffer at an index
+  private int rowsIn(int chunk) {
+    return Math.min(this.rowsPerChunk, this.height - chunk * this.rowsPerChunk);
+  }
+
+  /**
+   * Creates zeroed buffers for every row of the image model by mapping a new temporary file,
+   * which is deleted once it is closed, since the buffers stay valid without it.
+   *
+   * @return the buffers, one for each chunk of rows
+   * @throws IllegalStateException if the temporary file cannot be created or mapped
+   */
+  private ByteBuffer[] allocateChunks() throws IllegalStateException {
+    ByteBuffer[] buffers = new ByteBuffer[this.chunks.length];
+    long rowBytes = (long) this.width * 3;
+    try {
+      Path path = Files.createTempFile("image", ".rgb");
+      FileChannel opened;
+      try {
+        opened = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE);
+      } catch (IOException e) {
+        Files.deleteIfExists(path);
+        throw e;
+      }
+      try (FileChannel file = opened) {
+        for (int i = 0; i < buffers.length; i++) {
+          buffers[i] = file.map(FileChannel.MapMode.READ_WRITE,
+                  rowBytes * this.rowsPerChunk * i, rowBytes * rowsIn(i));
+        }
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Memory for the image could not be allocated.");
+    }
+    return buffers;
+  }
+
+  /**
+   * Creates an image model stored outside of the Java heap that holds the same pixels as a
+   * given image model.
+   *
+   * @param model the image model to copy
+   * @return the new image model
+   * @throws NullPointerException if the given image model is null
+   */
+  public static OffHeapImageModel from(ImageModel model) throws NullPointerException {
+    int height = Objects.requireNonNull(model).getImageHeight();
+    int width = model.getImageWidth();
+    OffHeapImageModel offHeap = new OffHeapImageModel(height, width);
+    int[] row = new int[width];
+    for (int i = 0; i < height; i++) {
+      model.getRegion(0, i, width, 1, row, 0, width);
+      offHeap.setRow(i, row);
+    }
+    return offHeap;
+  }
+
+  /**
+   * Gets the height of the image model that the method is being performed on.
+   *
+   * @return the height of the image model
+   */
+  @Override
+  public int getImageHeight() {
+    return this.height;
+  }
+
+  /**
+   * Gets the width of the image model that the method is being performed on.
+   *
+   * @return the width of the image model
+   */
+  @Override
+  public int getImageWidth() {
+    return this.width;
+  }
+
+  /**
+   * Gets the pixel at a given row and column of the image model that the method is being
+   * performed on.
+   *
+   * @param row the row from which to get the pixel
+   * @param col the column from which to get the pixel
+   * @return the pixel at the given row and column
+   * @throws IllegalArgumentException if the given position is beyond the dimensions of the
+   *                                  image model
+   * @throws IllegalStateException    if the image model has been closed
+   */
+  @Override
+  public IPixel getPixelAt(int row, int col)
+          throws IllegalArgumentException, IllegalStateException {
+    return Pixel.ofRGB(getRGB(row, col));
+  }
+
+  /**
+   * Gets the packed 0xRRGGBB value of the pixel at a given row and column.
+   *
+   * @param row the row from which to get the value
+   * @param col the column from which to get the value
+   * @return the packed value of the pixel
+   * @throws IllegalArgumentException if the given position is beyond the dimensions of the
+   *                                  image model
+   * @throws IllegalStateException    if the image model has been closed
+   */
+  @Override
+  public int getRGB(int row, int col) throws IllegalArgumentException, IllegalStateException {
+    if (row >= this.height || row < 0 || col >= this.width || col < 0) {
+      throw new IllegalArgumentException("Pixel position is beyond the dimensions of the image.");
+    }
+    this.lock.readLock().lock();
+    try {
+      ByteBuffer chunk = chunkOf(row);
+      int index = ((row % this.rowsPerChunk) * this.width + col) * 3;
+      return PackedImageModel.pack(chunk.get(index) & 0xFF, chunk.get(index + 1) & 0xFF,
+              chunk.get(index + 2) & 0xFF);
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Copies the packed 0xRRGGBB values of a rectangular region of the image model into a given
+   * array, where each row of the region starts {@code stride} elements after the last one.
+   *
+   * @param x      the leftmost column of the region
+   * @param y      the topmost row of the region
+   * @param w      the width of the region
+   * @param h      the height of the region
+   * @param dst    the array to copy into
+   * @param offset the position in the array of the region's top-left pixel
+   * @param stride the distance in the array between the starts of consecutive rows
+   * @throws IllegalArgumentException if the region is beyond the dimensions of the image model
+   *                                  or does not fit in the array
+   * @throws IllegalStateException    if the image model has been closed
+   */
+  @Override
+  public void getRegion(int x, int y, int w, int h, int[] dst, int offset, int stride)
+          throws IllegalArgumentException, IllegalStateException {
+    if (x < 0 || y < 0 || w < 0 || h < 0 || x + w > this.width || y + h > this.height) {
+      throw new IllegalArgumentException("Region is beyond the dimensions of the image.");
+    }
+    if (dst == null || offset < 0 || (h > 0 && (long) offset + (long) (h - 1) * stride + w
+            > dst.length)) {
+      throw new IllegalArgumentException("Region does not fit in the given array.");
+    }
+    byte[] bytes = new byte[w * 3];
+    this.lock.readLock().lock();
+    try {
+      for (int i = 0; i < h; i++) {
+        int row = y + i;
+        chunkOf(row).get(((row % this.rowsPerChunk) * this.width + x) * 3, bytes, 0, w * 3);
+        for (int j = 0, target = offset + i * stride; j < w; j++, target++) {
+          dst[target] = PackedImageModel.pack(bytes[j * 3] & 0xFF, bytes[j * 3 + 1] & 0xFF,
+                  bytes[j * 3 + 2] & 0xFF);
+        }
+      }
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Sets the pixels of one row of the image model from a given array of packed 0xRRGGBB
+   * values. This is meant for filling the image model after it has been constructed, and must
+   * not be used once the image model has been shared. If the pixels are mapped from a file,
+   * they are first copied into buffers of their own, so that the file is never written to.
+   *
+   * @param row the row to set
+   * @param src the array holding the packed values of the row
+   * @throws IllegalArgumentException if the row is beyond the dimensions of the image model
+   *                                  or the array is too small
+   * @throws IllegalStateException    if the image model has been closed
+   */
+  public void setRow(int row, int[] src) throws IllegalArgumentException, IllegalStateException {
+    if (row >= this.height || row < 0) {
+      throw new IllegalArgumentException("Pixel position is beyond the dimensions of the image.");
+    }
+    if (src == null || src.length < this.width) {
+      throw new IllegalArgumentException("Row does not fit in the given array.");
+    }
+    if (isMapped()) {
+      copyMappedChunks();
+    }
+    byte[] bytes = new byte[this.width * 3];
+    for (int j = 0; j < this.width; j++) {
+      bytes[j * 3] = (byte) (src[j] >> 16);
+      bytes[j * 3 + 1] = (byte) (src[j] >> 8);
+      bytes[j * 3 + 2] = (byte) src[j];
+    }
+    this.lock.readLock().lock();
+    try {
+      chunkOf(row).put((row % this.rowsPerChunk) * this.width * 3, bytes);
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Determines whether the pixels of the image model are still mapped from a file.
+   *
+   * @return true if the pixels are mapped from a file, and false otherwise
+   */
+  public boolean isMapped() {
+    return this.source != null;
+  }
+
+  /**
+   * Copies every buffer that is mapped from a file into a buffer of its own, after which the
+   * buffers mapped from the file are unmapped.
+   *
+   * @throws IllegalStateException if the image model has been closed
+   */
+  private void copyMappedChunks() throws IllegalStateException {
+    this.lock.writeLock().lock();
+    try {
+      if (!isMapped()) {
+        return;
+      }
+      ByteBuffer[] mappedChunks = this.chunks;
+      if (mappedChunks == null) {
+        throw new IllegalStateException("Image has already been closed.");
+      }
+      ByteBuffer[] copies = allocateChunks();
+      for (int i = 0; i < copies.length; i++) {
+        ByteBuffer mapped = mappedChunks[i].duplicate();
+        mapped.clear();
+        copies[i].put(mapped);
+      }
+      this.chunks = copies;
+      MAPPED.remove(this);
+      this.source = null;
+      unmap(mappedChunks);
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Determines whether the image model has been closed.
+   *
+   * @return true if the image model has been closed, and false otherwise
+   */
+  public boolean isClosed() {
+    return this.chunks == null;
+  }
+
+  /**
+   * Closes the image model, after which its pixels can no longer be read, and allows the file
+   * its pixels are mapped from to be changed. The buffers that hold its pixels are unmapped
+   * once every read or write of them that is in progress has finished, so that their memory is
+   * returned to the operating system at once. Closing an image model more than once has no
+   * further effect.
+   */
+  @Override
+  public void close() {
+    this.lock.writeLock().lock();
+    try {
+      ByteBuffer[] current = this.chunks;
+      this.chunks = null;
+      MAPPED.remove(this);
+      this.source = null;
+      if (current != null) {
+        unmap(current);
+      }
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Gets the buffer that holds a given row of the image model.
+   *
+   * @param row the row whose buffer to get
+   * @return the buffer holding the row
+   * @throws IllegalStateException if the image model has been closed
+   */
+  private ByteBuffer chunkOf(int row) throws IllegalStateException {
+    ByteBuffer[] current = this.chunks;
+    if (current == null) {
+      throw new IllegalStateException("Image has already been closed.");
+    }
+    return current[row / this.rowsPerChunk];
+  }
+}
@@ -0,0 +1,148 @@
+package model;
+
+import java.util.Objects;
+
+/**
+ * This class represents an object of an image model whose pixels are stored in one contiguous
+ * array of packed 0xRRGGBB integers in row-major order, rather than as individual pixel objects.
+ */
+public class PackedImageModel implements ImageModel {
+  private final int[] rgb;
+  private final int height;
+  private final int width;
+
+  /**
+   * Constructs an image model from a given array of packed 0xRRGGBB values, height, and width.
+   * The array is used directly as the backing store of the image model and is not copied, so
+   * it must not be modified after the image model has been created.
+   *
+   * @param rgb    the row-major array of packed pixel values
+   * @param height the height in pixels of the image model
+   * @param width  the width in pixels of the image model
+   * @throws IllegalArgumentException if the array is null or does not match the dimensions
+   */
+  public PackedImageModel(int[] rgb, int height, int width) throws IllegalArgumentException {
+    if (rgb == null) {
+      throw new IllegalArgumentException("Pixels must not contain a null value.");
+    }
+    if (height < 0 || width < 0 || (long) height * width != rgb.length) {
+      throw new IllegalArgumentException("Pixels must match the dimensions of the image.");
+    }
+    this.rgb = rgb;
+    this.height = height;
+    this.width = width;
+  }
+
+  /**
+   * Creates a packed image model holding the same pixels as a given image model, returning the
+   * given image model itself if it is already packed.
+   *
+   * @param model the image model to convert
+   * @return the packed image model
+   * @throws NullPointerException if the given image model is null
+   */
+  public static PackedImageModel from(ImageModel model) throws NullPointerException {
+    if (Objects.requireNonNull(model) instanceof PackedImageModel) {
+      return (PackedImageModel) model;
+    }
+    int height = model.getImageHeight();
+    int width = model.getImageWidth();
+    int[] rgb = new int[height * width];
+    model.getRegion(0, 0, width, height, rgb, 0, width);
+    return new PackedImageModel(rgb, height, width);
+  }
+
+  /**
+   * Packs the given red, green, and blue component values into one 0xRRGGBB value.
+   *
+   * @param red   the red component value, between 0 and 255
+   * @param green the green component value, between 0 and 255
+   * @param blue  the blue component value, between 0 and 255
+   * @return the packed value
+   */
+  public static int pack(int red, int green, int blue) {
+    return (red << 16) | (green << 8) | blue;
+  }
+
+  /**
+   * Gets the height of the image model that the method is being performed on.
+   *
+   * @return the height of the image model
+   */
+  @Override
+  public int getImageHeight() {
+    return this.height;
+  }
+
+  /**
+   * Gets the width of the image model that the method is being performed on.
+   *
+   * @return the width of the image model
+   */
+  @Override
+  public int getImageWidth() {
+    return this.width;
+  }
+
+  /**
+   * Gets the pixel at a given row and column of the image model that the method is being
+   * performed on. A new pixel object is created for every call, so bulk operations should use
+   * {@link #getRGB(int, int)} or {@link #getRow(int, int[])} instead.
+   *
+   * @param row the row from which to get the pixel
+   * @param col the column from which to get the pixel
+   * @return the pixel at the given row and column
+   * @throws IllegalArgumentException if the given position is beyond the dimensions of the
+   *                                  image model
+   */
+  @Override
+  public IPixel getPixelAt(int row, int col) throws IllegalArgumentException {
+    return Pixel.ofRGB(getRGB(row, col));
+  }
+
+  /**
+   * Gets the packed 0xRRGGBB value of the pixel at a given row and column.
+   *
+   * @param row the row from which to get the value
+   * @param col the column from which to get the value
+   * @return the packed value of the pixel
+   * @throws IllegalArgumentException if the given position is beyond the dimensions of the
+   *                                  image model
+   */
+  @Override
+  public int getRGB(int row, int col) throws IllegalArgumentException {
+    if (row >= this.height || row < 0 || col >= this.width || col < 0) {
+      throw new IllegalArgumentException("Pixel position is beyond the dimensions of the image.");
+    }
+    return this.rgb[row * this.width + col];
+  }
+
+  /**
+   * Copies the packed 0xRRGGBB values of a rectangular region of the image model into a given
+   * array, where each row of the region starts {@code stride} elements after the last one.
+   *
+   * @param x      the leftmost column of the region
+   * @param y      the topmost row of the region
+   * @param w      the width of the region
+   * @param h      the height of the region
+   * @param dst    the array to copy into
+   * @param offset the position in the array of the region's top-left pixel
+   * @param stride the distance in the array between the starts of consecutive rows
+   * @throws IllegalArgumentException if the region is beyond the dimensions of the image model
+   *                                  or does not fit in the array
+   */
+  @Override
+  public void getRegion(int x, int y, int w, int h, int[] dst, int offset, int stride)
+          throws IllegalArgumentException {
+    if (x < 0 || y < 0 || w < 0 || h < 0 || x + w > this.width || y + h > this.height) {
+      throw new IllegalArgumentException("Region is beyond the dimensions of the image.");
+    }
+    if (dst == null || offset < 0 || (h > 0 && (long) offset + (long) (h - 1) * stride + w
+            > dst.length)) {
+      throw new IllegalArgumentException("Region does not fit in the given array.");
+    }
+    for (int i = 0; i < h; i++) {
+      System.arraycopy(this.rgb, (y + i) * this.width + x, dst, offset + i * stride, w);
+    }
+  }
+}
@@ -3,9 +3,21 @@ package model;
 import java.util.Objects;
 
 /**
- * This class represents an object of a pixel.
+ * This class represents an object of a pixel. Pixels are immutable, so {@link #of(int, int, int)}
+ * shares one instance between equal pixels: every greyscale pixel is kept in a complete table,
+ * and recently used colors are kept in a bounded cache.
  */
 public class Pixel implements IPixel {
+  private static final Pixel[] GREYSCALE = new Pixel[256];
+  private static final int CACHE_BITS = 12;
+  private static final Pixel[] CACHE = new Pixel[1 << CACHE_BITS];
+
+  static {
+    for (int i = 0; i < GREYSCALE.length; i++) {
+      GREYSCALE[i] = new Pixel(i, i, i);
+    }
+  }
+
   private final int red;
   private final int green;
   private final int blue;
@@ -41,6 +53,45 @@ public class Pixel implements IPixel {
     this.blue = blue;
   }
 
+  /**
+   * Gets a pixel with given pixel color values, sharing an existing pixel with the same values
+   * where possible instead of creating a new one. Greyscale pixels are always shared.
+   *
+   * @param red   the red component value of the pixel
+   * @param green the green component value of the pixel
+   * @param blue  the blue component value of the pixel
+   * @return a pixel with the given values
+   * @throws IllegalArgumentException if any of the given pixel color values are invalid
+   */
+  public static Pixel of(int red, int green, int blue) throws IllegalArgumentException {
+    if (((red | green | blue) & ~0xFF) != 0) {
+      throw new IllegalArgumentException("Must be valid pixel color measurements.");
+    }
+    if (red == green && green == blue) {
+      return GREYSCALE[red];
+    }
+    int rgb = (red << 16) | (green << 8) | blue;
+    // Pixels are immutable, so a racing read sees either a complete pixel or null
+    int index = ((rgb * 0x9E3779B1) >>> (32 - CACHE_BITS));
+    Pixel cached = CACHE[index];
+    if (cached == null || cached.red != red || cached.green != green || cached.blue != blue) {
+      cached = new Pixel(red, green, blue);
+      CACHE[index] = cached;
+    }
+    return cached;
+  }
+
+  /**
+   * Gets a pixel with the red, green, and blue values of a packed 0xRRGGBB value, sharing an
+   * existing pixel with the same values where possible.
+   *
+   * @param rgb the packed value of the pixel
+   * @return a pixel with the given values
+   */
+  public static Pixel ofRGB(int rgb) {
+    return of((rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF);
+  }
+
   /**
    * Determines and returns whether one pixel is equal to another pixel.
    *
@@ -0,0 +1,116 @@
+package model;
+
+import java.util.Objects;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * This class represents an operation that changes every pixel of an image model independently
+ * of the others, as a function from one packed 0xRRGGBB value to another. Operations can be
+ * combined so that several of them are performed in one pass over an image model without
+ * creating an image model for each of them.
+ */
+public final class PixelOperation {
+  private final IntUnaryOperator function;
+  private final boolean greyscale;
+  private final LookupTable table;
+
+  /**
+   * Constructs an operation from a given function of packed 0xRRGGBB values.
+   *
+   * @param function  the function performed on the packed value of each pixel
+   * @param greyscale true if the function always results in equal red, green, and blue values,
+   *                  so that its results can be stored as a greyscale image model
+   * @throws NullPointerException if the given function is null
+   */
+  public PixelOperation(IntUnaryOperator function, boolean greyscale)
+          throws NullPointerException {
+    this.function = Objects.requireNonNull(function);
+    this.greyscale = greyscale;
+    this.table = null;
+  }
+
+  /**
+   * Constructs an operation that maps each pixel through a given lookup table, which is
+   * combined with adjacent lookup tables into one table.
+   *
+   * @param table the lookup table that each pixel is mapped through
+   */
+  PixelOperation(LookupTable table) {
+    this.function = table::apply;
+    this.greyscale = false;
+    this.table = table;
+  }
+
+  /**
+   * Performs the operation on the packed 0xRRGGBB value of one pixel.
+   *
+   * @param rgb the packed value of the pixel
+   * @return the packed value of the resulting pixel
+   */
+  public int apply(int rgb) {
+    return this.function.applyAsInt(rgb);
+  }
+
+  /**
+   * Determines whether the operation always results in equal red, green, and blue values.
+   *
+   * @return true if the operation results in greyscale pixels, and false otherwise
+   */
+  public boolean isGreyscale() {
+    return this.greyscale;
+  }
+
+  /**
+   * Creates an operation that performs this operation and then a given operation on each
+   * pixel. Two lookup tables are combined into one lookup table, and a greyscale operation
+   * followed by a lookup table that maps every channel the same way stays greyscale.
+   *
+   * @param next the operation performed on the results of this operation
+   * @return the combined operation
+   * @throws NullPointerException if the given operation is null
+   */
+  public PixelOperation andThen(PixelOperation next) throws NullPointerException {
+    if (this.table != null && Objects.requireNonNull(next).table != null) {
+      return new PixelOperation(this.table.andThen(next.table));
+    }
+    boolean greyscale = next.greyscale
+            || (this.greyscale && next.table != null && next.table.isUniform());
+    return new PixelOperation(this.function.andThen(next.function), greyscale);
+  }
+
+  /**
+   * Creates an image model that results from performing the operation on every pixel of a
+   * given image model in one pass, in bands of rows that are processed in parallel. The result
+   * is a greyscale image model if the operation results in greyscale pixels.
+   *
+   * @param model the image model to perform the operation on
+   * @return the resulting image model
+   * @throws NullPointerException if the given image model is null
+   */
+  public ImageModel applyTo(ImageModel model) throws NullPointerException {
+    int height = Objects.requireNonNull(model).getImageHeight();
+    int width = model.getImageWidth();
+    if (this.greyscale) {
+      byte[] values = new byte[height * width];
+      RowBands.forEach(height, width, (firstRow, lastRow) -> {
+        int[] row = new int[width];
+        for (int i = firstRow, position1D = firstRow * width; i < lastRow; i++) {
+          model.getRegion(0, i, width, 1, row, 0, width);
+          for (int j = 0; j < width; j++, position1D++) {
+            values[position1D] = (byte) this.function.applyAsInt(row[j]);
+          }
+        }
+      });
+      return new GreyscaleImageModel(values, height, width);
+    }
+    int[] newPixels = new int[height * width];
+    RowBands.forEach(height, width, (firstRow, lastRow) -> {
+      model.getRegion(0, firstRow, width, lastRow - firstRow, newPixels, firstRow * width,
+              width);
+      for (int j = firstRow * width; j < lastRow * width; j++) {
+        newPixels[j] = this.function.applyAsInt(newPixels[j]) & 0xFFFFFF;
+      }
+    });
+    return new PackedImageModel(newPixels, height, width);
+  }
+}
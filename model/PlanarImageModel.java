@@ -0,0 +1,192 @@
+package model;
+
+import java.util.Objects;
+
+/**
+ * This class represents an object of an image model whose red, green, and blue values are
+ * stored as three separate row-major planes of bytes, one per channel, so that each channel can
+ * be read or shared as one contiguous block of memory.
+ */
+public class PlanarImageModel implements ImageModel {
+  private final byte[] red;
+  private final byte[] green;
+  private final byte[] blue;
+  private final int height;
+  private final int width;
+
+  /**
+   * Constructs an image model from three given planes of unsigned byte channel values, height,
+   * and width. The planes are used directly as the backing store of the image model and are not
+   * copied, so they must not be modified after the image model has been created. The same plane
+   * may be given for more than one channel.
+   *
+   * @param red    the row-major plane of red component values
+   * @param green  the row-major plane of green component values
+   * @param blue   the row-major plane of blue component values
+   * @param height the height in pixels of the image model
+   * @param width  the width in pixels of the image model
+   * @throws IllegalArgumentException if any plane is null or does not match the dimensions
+   */
+  public PlanarImageModel(byte[] red, byte[] green, byte[] blue, int height, int width)
+          throws IllegalArgumentException {
+    if (red == null || green == null || blue == null) {
+      throw new IllegalArgumentException("Planes must not contain a null value.");
+    }
+    if (height < 0 || width < 0 || (long) height * width != red.length
+            || red.length != green.length || red.length != blue.length) {
+      throw new IllegalArgumentException("Planes must match the dimensions of the image.");
+    }
+    this.red = red;
+    this.green = green;
+    this.blue = blue;
+    this.height = height;
+    this.width = width;
+  }
+
+  /**
+   * Creates a planar image model holding the same pixels as a given image model, returning the
+   * given image model itself if it is already planar. The plane of a greyscale image model is
+   * shared by all three channels rather than copied.
+   *
+   * @param model the image model to convert
+   * @return the planar image model
+   * @throws NullPointerException if the given image model is null
+   */
+  public static PlanarImageModel from(ImageModel model) throws NullPointerException {
+    if (Objects.requireNonNull(model) instanceof PlanarImageModel) {
+      return (PlanarImageModel) model;
+    }
+    if (model instanceof GreyscaleImageModel) {
+      byte[] values = ((GreyscaleImageModel) model).getPlane();
+      return new PlanarImageModel(values, values, values, model.getImageHeight(),
+              model.getImageWidth());
+    }
+    PackedImageModel packed = PackedImageModel.from(model);
+    int height = packed.getImageHeight();
+    int width = packed.getImageWidth();
+    byte[] red = new byte[height * width];
+    byte[] green = new byte[height * width];
+    byte[] blue = new byte[height * width];
+    int[] row = new int[width];
+    for (int i = 0, position1D = 0; i < height; i++) {
+      packed.getRow(i, row);
+      for (int j = 0; j < width; j++, position1D++) {
+        red[position1D] = (byte) (row[j] >> 16);
+        green[position1D] = (byte) (row[j] >> 8);
+        blue[position1D] = (byte) row[j];
+      }
+    }
+    return new PlanarImageModel(red, green, blue, height, width);
+  }
+
+  /**
+   * Gets the height of the image model that the method is being performed on.
+   *
+   * @return the height of the image model
+   */
+  @Override
+  public int getImageHeight() {
+    return this.height;
+  }
+
+  /**
+   * Gets the width of the image model that the method is being performed on.
+   *
+   * @return the width of the image model
+   */
+  @Override
+  public int getImageWidth() {
+    return this.width;
+  }
+
+  /**
+   * Gets the pixel at a given row and column of the image model that the method is being
+   * performed on.
+   *
+   * @param row the row from which to get the pixel
+   * @param col the column from which to get the pixel
+   * @return the pixel at the given row and column
+   * @throws IllegalArgumentException if the given position is beyond the dimensions of the
+   *                                  image model
+   */
+  @Override
+  public IPixel getPixelAt(int row, int col) throws IllegalArgumentException {
+    return Pixel.ofRGB(getRGB(row, col));
+  }
+
+  /**
+   * Gets the plane holding the values of one channel of the image model. The plane is shared
+   * with the image model rather than copied, so it must only be read, which allows commands to
+   * reuse a channel in a new image model without copying it.
+   *
+   * @param channel the channel whose plane to get
+   * @return the row-major plane of unsigned byte values of the channel
+   * @throws IllegalArgumentException if the channel is null
+   */
+  public byte[] getPlane(Channel channel) throws IllegalArgumentException {
+    if (channel == null) {
+      throw new IllegalArgumentException("Channel must not contain a null value.");
+    }
+    switch (channel) {
+      case RED:
+        return this.red;
+      case GREEN:
+        return this.green;
+      default:
+        return this.blue;
+    }
+  }
+
+  /**
+   * Gets the packed 0xRRGGBB value of the pixel at a given row and column.
+   *
+   * @param row the row from which to get the value
+   * @param col the column from which to get the value
+   * @return the packed value of the pixel
+   * @throws IllegalArgumentException if the given position is beyond the dimensions of the
+   *                                  image model
+   */
+  @Override
+  public int getRGB(int row, int col) throws IllegalArgumentException {
+    if (row >= this.height || row < 0 || col >= this.width || col < 0) {
+      throw new IllegalArgumentException("Pixel position is beyond the dimensions of the image.");
+    }
+    int position1D = row * this.width + col;
+    return PackedImageModel.pack(this.red[position1D] & 0xFF, this.green[position1D] & 0xFF,
+            this.blue[position1D] & 0xFF);
+  }
+
+  /**
+   * Copies the packed 0xRRGGBB values of a rectangular region of the image model into a given
+   * array, where each row of the region starts {@code stride} elements after the last one.
+   *
+   * @param x      the leftmost column of the region
+   * @param y      the topmost row of the region
+   * @param w      the width of the region
+   * @param h      the height of the region
+   * @param dst    the array to copy into
+   * @param offset the position in the array of the region's top-left pixel
+   * @param stride the distance in the array between the starts of consecutive rows
+   * @throws IllegalArgumentException if the region is beyond the dimensions of the image model
+   *                                  or does not fit in the array
+   */
+  @Override
+  public void getRegion(int x, int y, int w, int h, int[] dst, int offset, int stride)
+          throws IllegalArgumentException {
+    if (x < 0 || y < 0 || w < 0 || h < 0 || x + w > this.width || y + h > this.height) {
+      throw new IllegalArgumentException("Region is beyond the dimensions of the image.");
+    }
+    if (dst == null || offset < 0 || (h > 0 && (long) offset + (long) (h - 1) * stride + w
+            > dst.length)) {
+      throw new IllegalArgumentException("Region does not fit in the given array.");
+    }
+    for (int i = 0; i < h; i++) {
+      int source = (y + i) * this.width + x;
+      int target = offset + i * stride;
+      for (int j = 0; j < w; j++) {
+        dst[target + j] = PackedImageModel.pack(this.red[source + j] & 0xFF,
+                this.green[source + j] & 0xFF, this.blue[source + j] & 0xFF);
+      }
+    }
+  }
+}
@@ -0,0 +1,214 @@
+package model;
+
+import java.util.Objects;
+
+/**
+ * This class represents an object of an image model that is a flipped, transposed, or rotated
+ * view of another image model. Each pixel of the view is found by optionally reversing its row
+ * and its column, and then optionally swapping the two, so that the view shares the pixels of
+ * its source instead of copying them. Views of views are combined into one view of the
+ * original source, so a chain of flips and rotations reads through only one of them.
+ */
+public class RemappedImageModel extends AbstractViewImageModel {
+  private static final int TILE_SIZE = 64;
+  private final boolean transpose;
+  private final boolean flipRows;
+  private final boolean flipCols;
+
+  /**
+   * Constructs a view of a given source using the given index remapping.
+   *
+   * @param source    the image model that the view reads its pixels from
+   * @param transpose whether the rows and columns of the source are swapped
+   * @param flipRows  whether the order of the rows of the view is reversed
+   * @param flipCols  whether the order of the columns of the view is reversed
+   */
+  private RemappedImageModel(ImageModel source, boolean transpose, boolean flipRows,
+                             boolean flipCols) {
+    super(source, transpose ? source.getImageWidth() : source.getImageHeight(),
+            transpose ? source.getImageHeight() : source.getImageWidth());
+    this.transpose = transpose;
+    this.flipRows = flipRows;
+    this.flipCols = flipCols;
+  }
+
+  /**
+   * Creates an image model that is a remapped view of a given image model without copying any
+   * pixels. The pixel at a row and column of the view is read from the given image model after
+   * the row and column are optionally reversed and then optionally swapped. If the remapping
+   * cancels out, the given image model is returned instead.
+   *
+   * @param model     the image model to remap
+   * @param transpose whether the rows and columns of the image model are swapped
+   * @param flipRows  whether the order of the rows of the view is reversed
+   * @param flipCols  whether the order of the columns of the view is reversed
+   * @return the remapped image model
+   * @throws NullPointerException if the given image model is null
+   */
+  public static ImageModel of(ImageModel model, boolean transpose, boolean flipRows,
+                              boolean flipCols) throws NullPointerException {
+    if (Objects.requireNonNull(model) instanceof RemappedImageModel) {
+      RemappedImageModel remapped = (RemappedImageModel) model;
+      ImageModel source = remapped.getSource();
+      if (source != remapped) {
+        // Reversals of the view apply to the other axis of a transposed source
+        boolean composedFlipRows = (transpose ? remapped.flipCols : remapped.flipRows) ^ flipRows;
+        boolean composedFlipCols = (transpose ? remapped.flipRows : remapped.flipCols) ^ flipCols;
+        return of(source, remapped.transpose ^ transpose, composedFlipRows, composedFlipCols);
+      }
+    }
+    if (!transpose && !flipRows && !flipCols) {
+      return model;
+    }
+    return new RemappedImageModel(model, transpose, flipRows, flipCols);
+  }
+
+  /**
+   * Creates an image model that is a flipped view of a given image model.
+   *
+   * @param model     the image model to flip
+   * @param direction the direction to flip the image model in
+   * @return the flipped image model
+   * @throws NullPointerException if the given image model or direction is null
+   */
+  public static ImageModel flip(ImageModel model, Flip direction) throws NullPointerException {
+    boolean horizontal = Objects.requireNonNull(direction) == Flip.HORIZONTAL;
+    return of(model, false, !horizontal, horizontal);
+  }
+
+  /**
+   * Creates an image model that is a transposed view of a given image model, whose rows are
+   * the columns of the given image model.
+   *
+   * @param model the image model to transpose
+   * @return the transposed image model
+   * @throws NullPointerException if the given image model is null
+   */
+  public static ImageModel transpose(ImageModel model) throws NullPointerException {
+    return of(model, true, false, false);
+  }
+
+  /**
+   * Creates an image model that is a view of a given image model rotated clockwise by a given
+   * number of quarter turns. A negative number of quarter turns rotates counterclockwise.
+   *
+   * @param model        the image model to rotate
+   * @param quarterTurns the number of clockwise quarter turns to rotate by
+   * @return the rotated image model
+   * @throws NullPointerException if the given image model is null
+   */
+  public static ImageModel rotate(ImageModel model, int quarterTurns) throws NullPointerException {
+    switch (Math.floorMod(quarterTurns, 4)) {
+      case 1:
+        return of(model, true, false, true);
+      case 2:
+        return of(model, false, true, true);
+      case 3:
+        return of(model, true, true, false);
+      default:
+        return Objects.requireNonNull(model);
+    }
+  }
+
+  /**
+   * Creates an image model holding a rectangular region of this view by remapping a crop of
+   * the source of this view, so that the crop is applied before the remapping.
+   *
+   * @param x      the leftmost column of the region
+   * @param y      the topmost row of the region
+   * @param width  the width of the region
+   * @param height the height of the region
+   * @return the image model holding the region
+   */
+  ImageModel crop(int x, int y, int width, int height) {
+    ImageModel source = getSource();
+    if (source == this) {
+      return CroppedImageModel.of(source, x, y, width, height);
+    }
+    int sourceX = this.flipCols ? getImageWidth() - x - width : x;
+    int sourceY = this.flipRows ? getImageHeight() - y - height : y;
+    ImageModel cropped = this.transpose
+            ? CroppedImageModel.of(source, sourceY, sourceX, height, width)
+            : CroppedImageModel.of(source, sourceX, sourceY, width, height);
+    return of(cropped, this.transpose, this.flipRows, this.flipCols);
+  }
+
+  /**
+   * Copies the packed 0xRRGGBB values of a rectangular region of the view into a given array.
+   * A view that is not transposed reads each row of the source straight into the array, all at
+   * once if the rows are not reversed, and reverses each row in place if its columns are
+   * reversed. A transposed view reads the source in square tiles that fit in the cache, and
+   * each tile is transposed while it is still in the cache, so that neither the source nor the
+   * array is read or written a column at a time across the whole image.
+   *
+   * @param source the image model that the view reads from
+   * @param x      the leftmost column of the region
+   * @param y      the topmost row of the region
+   * @param w      the width of the region
+   * @param h      the height of the region
+   * @param dst    the array to copy into
+   * @param offset the position in the array of the region's top-left pixel
+   * @param stride the distance in the array between the starts of consecutive rows
+   */
+  @Override
+  protected void readRegion(ImageModel source, int x, int y, int w, int h, int[] dst,
+                            int offset, int stride) {
+    if (!this.transpose) {
+      readRows(source, x, y, w, h, dst, offset, stride);
+      return;
+    }
+    int[] tile = new int[TILE_SIZE * TILE_SIZE];
+    for (int top = y; top < y + h; top += TILE_SIZE) {
+      int rows = Math.min(TILE_SIZE, y + h - top);
+      int sourceX = this.flipRows ? getImageHeight() - top - rows : top;
+      for (int left = x; left < x + w; left += TILE_SIZE) {
+        int cols = Math.min(TILE_SIZE, x + w - left);
+        int sourceY = this.flipCols ? getImageWidth() - left - cols : left;
+        source.getRegion(sourceX, sourceY, rows, cols, tile, 0, rows);
+        for (int i = 0; i < rows; i++) {
+          int tileCol = this.flipRows ? rows - 1 - i : i;
+          int target = offset + (top - y + i) * stride + left - x;
+          for (int j = 0; j < cols; j++) {
+            int tileRow = this.flipCols ? cols - 1 - j : j;
+            dst[target + j] = tile[tileRow * rows + tileCol];
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Copies a rectangular region of a view that is not transposed into a given array, reading
+   * each row of the source straight into the array and reversing it in place if the columns
+   * are reversed.
+   *
+   * @param source the image model that the view reads from
+   * @param x      the leftmost column of the region
+   * @param y      the topmost row of the region
+   * @param w      the width of the region
+   * @param h      the height of the region
+   * @param dst    the array to copy into
+   * @param offset the position in the array of the region's top-left pixel
+   * @param stride the distance in the array between the starts of consecutive rows
+   */
+  private void readRows(ImageModel source, int x, int y, int w, int h, int[] dst, int offset,
+                        int stride) {
+    int sourceX = this.flipCols ? getImageWidth() - x - w : x;
+    if (!this.flipRows) {
+      source.getRegion(sourceX, y, w, h, dst, offset, stride);
+    }
+    for (int i = 0; i < h; i++) {
+      int target = offset + i * stride;
+      if (this.flipRows) {
+        source.getRegion(sourceX, getImageHeight() - 1 - y - i, w, 1, dst, target, stride);
+      }
+      if (this.flipCols) {
+        for (int left = target, right = target + w - 1; left < right; left++, right--) {
+          int rgb = dst[left];
+          dst[left] = dst[right];
+          dst[right] = rgb;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,255 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class represents a change of the size of image models to a given height and width. The
+ * change is separated into a pass over the rows, which changes the width, followed by a pass
+ * over the columns, which changes the height. The weights of the source pixels of every new
+ * column and every new row are computed once in fixed point before each pass, so each pass
+ * only multiplies and adds ints, and both passes are split into bands of rows that are
+ * processed in parallel.
+ */
+public final class Resampler {
+  private static final int WEIGHT_BITS = 14;
+  private static final int ONE = 1 << WEIGHT_BITS;
+  private final int height;
+  private final int width;
+  private final Interpolation interpolation;
+
+  /**
+   * Constructs a change of size to the given height and width.
+   *
+   * @param height        the new height in pixels
+   * @param width         the new width in pixels
+   * @param interpolation the way that new pixels are found from the source pixels
+   */
+  private Resampler(int height, int width, Interpolation interpolation) {
+    this.height = height;
+    this.width = width;
+    this.interpolation = interpolation;
+  }
+
+  /**
+   * Creates a change of size to the given height and width.
+   *
+   * @param height        the new height in pixels
+   * @param width         the new width in pixels
+   * @param interpolation the way that new pixels are found from the source pixels
+   * @return the change of size
+   * @throws IllegalArgumentException if either dimension is not positive or the image model
+   *                                  would have too many pixels to be stored in one array
+   * @throws NullPointerException     if the given interpolation is null
+   */
+  public static Resampler of(int height, int width, Interpolation interpolation)
+          throws IllegalArgumentException, NullPointerException {
+    if (height < 1 || width < 1) {
+      throw new IllegalArgumentException("Width and height must be positive integers.");
+    }
+    if ((long) height * width > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Image is too large to be stored in one array.");
+    }
+    return new Resampler(height, width, Objects.requireNonNull(interpolation));
+  }
+
+  /**
+   * Gets the height of the image models that result from the change of size.
+   *
+   * @return the new height in pixels
+   */
+  public int getHeight() {
+    return this.height;
+  }
+
+  /**
+   * Gets the width of the image models that result from the change of size.
+   *
+   * @return the new width in pixels
+   */
+  public int getWidth() {
+    return this.width;
+  }
+
+  /**
+   * Creates an image model that results from changing the size of every channel of a given
+   * image model. Each channel is resampled over its own contiguous plane, and a greyscale image
+   * model has its single plane resampled once.
+   *
+   * @param model the image model to resample
+   * @return the resulting image model
+   * @throws IllegalArgumentException if the given image model has no pixels
+   * @throws NullPointerException     if the given image model is null
+   */
+  public ImageModel apply(ImageModel model) throws IllegalArgumentException, NullPointerException {
+    int sourceHeight = Objects.requireNonNull(model).getImageHeight();
+    int sourceWidth = model.getImageWidth();
+    if (sourceHeight == 0 || sourceWidth == 0) {
+      throw new IllegalArgumentException("Image must have pixels to be resized.");
+    }
+    if (model instanceof GreyscaleImageModel) {
+      return new GreyscaleImageModel(apply(((GreyscaleImageModel) model).getPlane(),
+              sourceHeight, sourceWidth), this.height, this.width);
+    }
+    PlanarImageModel source = PlanarImageModel.from(model);
+    return new PlanarImageModel(apply(source.getPlane(Channel.RED), sourceHeight, sourceWidth),
+            apply(source.getPlane(Channel.GREEN), sourceHeight, sourceWidth),
+            apply(source.getPlane(Channel.BLUE), sourceHeight, sourceWidth), this.height,
+            this.width);
+  }
+
+  /**
+   * Changes the size of one row-major plane of unsigned byte values, first changing the width
+   * of every row and then the height of every column. A pass that would not change its
+   * dimension is skipped. The given plane is not modified.
+   *
+   * @param plane        the plane to resample
+   * @param sourceHeight the height of the plane
+   * @param sourceWidth  the width of the plane
+   * @return the resulting plane
+   */
+  byte[] apply(byte[] plane, int sourceHeight, int sourceWidth) {
+    byte[] rows = plane;
+    if (sourceWidth != this.width) {
+      Weights weights = new Weights(sourceWidth, this.width, this.interpolation);
+      byte[] newRows = new byte[sourceHeight * this.width];
+      RowBands.forEach(sourceHeight, this.width, (firstRow, lastRow) ->
+              resampleRows(plane, newRows, firstRow, lastRow, sourceWidth, weights));
+      rows = newRows;
+    }
+    if (sourceHeight == this.height) {
+      return rows == plane ? plane.clone() : rows;
+    }
+    Weights weights = new Weights(sourceHeight, this.height, this.interpolation);
+    byte[] source = rows;
+    byte[] newPlane = new byte[this.height * this.width];
+    RowBands.forEach(this.height, this.width, (firstRow, lastRow) ->
+            resampleColumns(source, newPlane, firstRow, lastRow, weights));
+    return newPlane;
+  }
+
+  /**
+   * Changes the width of a band of rows of a plane, finding each new pixel from the source
+   * pixels of its column.
+   *
+   * @param plane       the plane to resample
+   * @param newPlane    the plane to write the results to
+   * @param firstRow    the first row of the band
+   * @param lastRow     the row after the last row of the band
+   * @param sourceWidth the width of the plane
+   * @param weights     the weights of the source pixels of each new column
+   */
+  private void resampleRows(byte[] plane, byte[] newPlane, int firstRow, int lastRow,
+                            int sourceWidth, Weights weights) {
+    int[] values = weights.values;
+    int taps = weights.taps;
+    for (int row = firstRow; row < lastRow; row++) {
+      int start = row * sourceWidth;
+      int target = row * this.width;
+      for (int col = 0; col < this.width; col++) {
+        int sum = ONE / 2;
+        int from = start + weights.first[col];
+        for (int k = 0, w = col * taps; k < weights.count[col]; k++, w++) {
+          sum += values[w] * (plane[from + k] & 0xFF);
+        }
+        newPlane[target + col] = (byte) clamp(sum);
+      }
+    }
+  }
+
+  /**
+   * Changes the height of a band of new rows, adding each source row that a new row is found
+   * from to a row of sums, so that the plane is read in row order.
+   *
+   * @param plane    the plane whose width has already been changed
+   * @param newPlane the plane to write the results to
+   * @param firstRow the first new row of the band
+   * @param lastRow  the new row after the last new row of the band
+   * @param weights  the weights of the source rows of each new row
+   */
+  private void resampleColumns(byte[] plane, byte[] newPlane, int firstRow, int lastRow,
+                               Weights weights) {
+    int[] sums = new int[this.width];
+    for (int row = firstRow; row < lastRow; row++) {
+      Arrays.fill(sums, ONE / 2);
+      for (int k = 0; k < weights.count[row]; k++) {
+        int weight = weights.values[row * weights.taps + k];
+        int from = (weights.first[row] + k) * this.width;
+        for (int col = 0; col < sums.length; col++) {
+          sums[col] += weight * (plane[from + col] & 0xFF);
+        }
+      }
+      for (int col = 0, target = row * this.width; col < sums.length; col++, target++) {
+        newPlane[target] = (byte) clamp(sums[col]);
+      }
+    }
+  }
+
+  // Truncates a fixed point sum and clamps it to between 0 and 255
+  private static int clamp(int sum) {
+    return Math.max(0, Math.min(255, sum >> WEIGHT_BITS));
+  }
+
+  /**
+   * This class represents the fixed point weights of the source pixels of every new pixel
+   * along one dimension, which sum to exactly one for each new pixel.
+   */
+  private static final class Weights {
+    private final int[] first;
+    private final int[] count;
+    private final int[] values;
+    private final int taps;
+
+    /**
+     * Computes the weights of the source pixels of every new pixel along one dimension. The
+     * center of each new pixel is mapped into the source, and the filter is widened by the
+     * ratio of the sizes when the dimension shrinks so that every source pixel is weighed.
+     * Source pixels beyond the edges are left out, and the remaining weights are normalized.
+     *
+     * @param sourceLength  the number of source pixels
+     * @param length        the number of new pixels
+     * @param interpolation the way that new pixels are found from the source pixels
+     */
+    private Weights(int sourceLength, int length, Interpolation interpolation) {
+      double scale = (double) sourceLength / length;
+      double stretch = interpolation == Interpolation.NEAREST ? 1 : Math.max(1, scale);
+      double support = interpolation.getSupport() * stretch;
+      this.taps = Math.min(sourceLength, (int) Math.ceil(support) * 2 + 1);
+      this.first = new int[length];
+      this.count = new int[length];
+      this.values = new int[length * this.taps];
+      double[] weights = new double[this.taps];
+      for (int i = 0; i < length; i++) {
+        double center = (i + 0.5) * scale;
+        int left = Math.max(0, (int) Math.floor(center - support));
+        int right = Math.min(sourceLength, (int) Math.ceil(center + support));
+        right = Math.min(right, left + this.taps);
+        double total = 0;
+        for (int j = left; j < right; j++) {
+          weights[j - left] = interpolation.weight((j + 0.5 - center) / stretch);
+          total += weights[j - left];
+        }
+        if (total == 0) {
+          int nearest = Math.min(sourceLength - 1, (int) center);
+          left = nearest;
+          right = nearest + 1;
+          weights[0] = 1;
+          total = 1;
+        }
+        this.first[i] = left;
+        this.count[i] = right - left;
+        int sum = 0;
+        int largest = 0;
+        for (int k = 0; k < right - left; k++) {
+          int value = (int) Math.round(weights[k] / total * ONE);
+          this.values[i * this.taps + k] = value;
+          sum += value;
+          if (weights[k] > weights[largest]) {
+            largest = k;
+          }
+        }
+        this.values[i * this.taps + largest] += ONE - sum;
+      }
+    }
+  }
+}
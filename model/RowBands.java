@@ -0,0 +1,130 @@
+package model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class represents the pool of threads shared by every operation on image models, which
+ * splits the rows of an image model into bands that are processed in parallel. An image model
+ * with fewer pixels than the sequential cutoff is processed on the calling thread, since
+ * splitting it would cost more than it saves. The number of threads defaults to the number of
+ * processors, or to the value of the system property {@code imageprocessor.parallelism} if it
+ * is set, and can be changed while the program runs.
+ */
+public final class RowBands {
+  private static final int SEQUENTIAL_CUTOFF = 1 << 15;
+  private static volatile ForkJoinPool pool = createPool(Math.max(1, Integer.getInteger(
+          "imageprocessor.parallelism", Runtime.getRuntime().availableProcessors())));
+
+  /**
+   * This interface represents work that is performed on a band of consecutive rows, which must
+   * only write to the parts of its results that belong to those rows.
+   */
+  @FunctionalInterface
+  public interface Band {
+    /**
+     * Performs the work on a band of rows.
+     *
+     * @param firstRow the first row of the band
+     * @param lastRow  the row after the last row of the band
+     */
+    void apply(int firstRow, int lastRow);
+  }
+
+  /**
+   * Constructs nothing, since this class only has static methods.
+   */
+  private RowBands() {
+  }
+
+  /**
+   * Sets the number of threads that bands are processed on, which takes effect for the next
+   * operation. Operations that have already started keep the threads they started with, which
+   * stop on their own once they are idle, so the previous threads are not shut down.
+   *
+   * @param parallelism the number of threads, where 1 processes every band on the calling
+   *                    thread
+   * @throws IllegalArgumentException if the number of threads is not positive
+   */
+  public static void setParallelism(int parallelism) throws IllegalArgumentException {
+    pool = createPool(parallelism);
+  }
+
+  /**
+   * Gets the number of threads that bands are processed on.
+   *
+   * @return the number of threads
+   */
+  public static int getParallelism() {
+    ForkJoinPool current = pool;
+    return current == null ? 1 : current.getParallelism();
+  }
+
+  /**
+   * Performs work on every row of an image model, splitting the rows into bands of about the
+   * sequential cutoff in pixels that are processed in parallel, and returns once every
+   * band has been processed. An exception thrown by any band is thrown by this method.
+   *
+   * @param height the number of rows to process
+   * @param width  the number of pixels in each row
+   * @param band   the work to perform on each band of rows
+   */
+  public static void forEach(int height, int width, Band band) {
+    ForkJoinPool current = pool;
+    int bandRows = Math.max(1, Math.min(height, SEQUENTIAL_CUTOFF / Math.max(1, width)));
+    if (current == null || height <= bandRows) {
+      band.apply(0, height);
+      return;
+    }
+    current.invoke(new BandTask(band, 0, height, bandRows));
+  }
+
+  // Creates the pool of the given number of threads, or no pool if there is only one thread
+  private static ForkJoinPool createPool(int parallelism) throws IllegalArgumentException {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be a positive integer.");
+    }
+    return parallelism == 1 ? null : new ForkJoinPool(parallelism);
+  }
+
+  /**
+   * This class represents a task that processes a range of rows, splitting it in half until
+   * each half is no larger than the size of a band.
+   */
+  private static final class BandTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final Band band;
+    private final int firstRow;
+    private final int lastRow;
+    private final int bandRows;
+
+    /**
+     * Constructs a task that processes a range of rows.
+     *
+     * @param band     the work to perform on each band of rows
+     * @param firstRow the first row of the range
+     * @param lastRow  the row after the last row of the range
+     * @param bandRows the largest number of rows that are processed without splitting
+     */
+    private BandTask(Band band, int firstRow, int lastRow, int bandRows) {
+      this.band = band;
+      this.firstRow = firstRow;
+      this.lastRow = lastRow;
+      this.bandRows = bandRows;
+    }
+
+    /**
+     * Processes the range of rows, or splits it and processes both halves in parallel.
+     */
+    @Override
+    protected void compute() {
+      if (this.lastRow - this.firstRow <= this.bandRows) {
+        this.band.apply(this.firstRow, this.lastRow);
+        return;
+      }
+      int middle = (this.firstRow + this.lastRow) >>> 1;
+      invokeAll(new BandTask(this.band, this.firstRow, middle, this.bandRows),
+              new BandTask(this.band, middle, this.lastRow, this.bandRows));
+    }
+  }
+}
@@ -0,0 +1,198 @@
+package model;
+
+import java.util.Objects;
+
+/**
+ * This class represents a blur of any radius that is performed as a series of box blurs, each
+ * of which averages the square of pixels around every pixel. Each box blur is separated into a
+ * pass over the rows followed by a pass over the columns, and each pass keeps a running sum of
+ * the pixels in its window, adding the pixel that enters the window and subtracting the pixel
+ * that leaves it, so that the cost of every pixel does not depend on the radius. A gaussian
+ * blur is approximated by three box blurs whose sizes are chosen to match its deviation.
+ */
+public final class SeparableBlur {
+  private static final int MAX_RADIUS = 1000;
+  private static final int GAUSSIAN_PASSES = 3;
+  private final int[] radii;
+
+  /**
+   * Constructs a blur from the radius of each of its box blurs.
+   *
+   * @param radii the radius of each box blur, in the order they are performed
+   */
+  private SeparableBlur(int[] radii) {
+    this.radii = radii;
+  }
+
+  /**
+   * Creates a blur that averages the square of pixels within a given radius of every pixel.
+   *
+   * @param radius the number of pixels on each side of every pixel that are averaged with it
+   * @return the blur
+   * @throws IllegalArgumentException if the radius is not between 1 and 1000
+   */
+  public static SeparableBlur box(int radius) throws IllegalArgumentException {
+    if (radius < 1 || radius > MAX_RADIUS) {
+      throw new IllegalArgumentException("Radius must be an integer between 1 and 1000.");
+    }
+    return new SeparableBlur(new int[]{radius});
+  }
+
+  /**
+   * Creates a blur that approximates a gaussian blur with a given standard deviation by three
+   * box blurs, whose sizes are the two odd sizes nearest to the ideal size and are mixed so
+   * that their combined variance is as close as possible to the square of the deviation.
+   *
+   * @param sigma the standard deviation of the gaussian blur in pixels
+   * @return the blur
+   * @throws IllegalArgumentException if the deviation is not a positive number of at most 1000
+   */
+  public static SeparableBlur gaussian(double sigma) throws IllegalArgumentException {
+    if (!(sigma > 0 && sigma <= MAX_RADIUS)) {
+      throw new IllegalArgumentException("Sigma must be a positive number of at most 1000.");
+    }
+    double variance = 12 * sigma * sigma;
+    int lower = (int) Math.sqrt(variance / GAUSSIAN_PASSES + 1);
+    if (lower % 2 == 0) {
+      lower--;
+    }
+    double excess = variance - GAUSSIAN_PASSES * ((double) lower * lower + 4.0 * lower + 3);
+    long smaller = Math.round(excess / (-4.0 * lower - 4));
+    int[] radii = new int[GAUSSIAN_PASSES];
+    for (int i = 0; i < GAUSSIAN_PASSES; i++) {
+      radii[i] = i < smaller ? (lower - 1) / 2 : (lower + 1) / 2;
+    }
+    return new SeparableBlur(radii);
+  }
+
+  /**
+   * Creates an image model that results from blurring every channel of a given image model,
+   * rounding each average to the nearest value. Each channel is blurred over its own contiguous
+   * plane, and a greyscale image model has its single plane blurred once.
+   *
+   * @param model  the image model to blur
+   * @param border the way to find the values of pixels beyond the edges of the image model
+   * @return the resulting image model
+   * @throws NullPointerException if the given image model or border is null
+   */
+  public ImageModel apply(ImageModel model, Border border) throws NullPointerException {
+    int height = Objects.requireNonNull(model).getImageHeight();
+    int width = model.getImageWidth();
+    Objects.requireNonNull(border);
+    if (model instanceof GreyscaleImageModel) {
+      return new GreyscaleImageModel(apply(((GreyscaleImageModel) model).getPlane(), height,
+              width, border), height, width);
+    }
+    PlanarImageModel source = PlanarImageModel.from(model);
+    return new PlanarImageModel(apply(source.getPlane(Channel.RED), height, width, border),
+            apply(source.getPlane(Channel.GREEN), height, width, border),
+            apply(source.getPlane(Channel.BLUE), height, width, border), height, width);
+  }
+
+  /**
+   * Blurs one row-major plane of unsigned byte values, performing each box blur over the rows
+   * and then over the columns. The rows are processed in parallel in bands, and the columns in
+   * strips. The given plane is not modified.
+   *
+   * @param plane  the plane to blur
+   * @param height the height of the plane
+   * @param width  the width of the plane
+   * @param border the way to find the values of pixels beyond the edges of the plane
+   * @return the resulting plane
+   */
+  byte[] apply(byte[] plane, int height, int width, Border border) {
+    byte[] rows = new byte[plane.length];
+    byte[] result = plane.clone();
+    if (plane.length == 0) {
+      return result;
+    }
+    for (int radius : this.radii) {
+      RowBands.forEach(height, width, (firstRow, lastRow) ->
+              blurRows(result, rows, firstRow, lastRow, width, radius, border));
+      RowBands.forEach(width, height, (firstCol, lastCol) ->
+              blurColumns(rows, result, height, width, firstCol, lastCol, radius, border));
+    }
+    return result;
+  }
+
+  /**
+   * Averages each pixel of a band of rows of a plane with the pixels within a radius of it in
+   * the same row, keeping a running sum of the window as it slides along each row.
+   *
+   * @param plane    the plane to blur
+   * @param newPlane the plane to write the results to
+   * @param firstRow the first row of the band
+   * @param lastRow  the row after the last row of the band
+   * @param width    the width of the plane
+   * @param radius   the number of pixels on each side of every pixel that are averaged with it
+   * @param border   the way to find the values of pixels beyond the edges of the plane
+   */
+  private static void blurRows(byte[] plane, byte[] newPlane, int firstRow, int lastRow,
+                               int width, int radius, Border border) {
+    long reciprocal = reciprocal(radius);
+    for (int row = firstRow, start = firstRow * width; row < lastRow; row++, start += width) {
+      int sum = 0;
+      for (int col = -radius; col <= radius; col++) {
+        sum += valueAt(plane, start, border.locate(col, width));
+      }
+      for (int col = 0; col < width; col++) {
+        newPlane[start + col] = (byte) ((sum + radius) * reciprocal >>> 32);
+        sum += valueAt(plane, start, border.locate(col + radius + 1, width))
+                - valueAt(plane, start, border.locate(col - radius, width));
+      }
+    }
+  }
+
+  /**
+   * Averages each pixel of a strip of columns of a plane with the pixels within a radius of it
+   * in the same column, keeping a running sum of the window of every column as it slides down
+   * the plane one row at a time, so that the strip is read in row order.
+   *
+   * @param plane    the plane to blur
+   * @param newPlane the plane to write the results to
+   * @param height   the height of the plane
+   * @param width    the width of the plane
+   * @param firstCol the first column of the strip
+   * @param lastCol  the column after the last column of the strip
+   * @param radius   the number of pixels on each side of every pixel that are averaged with it
+   * @param border   the way to find the values of pixels beyond the edges of the plane
+   */
+  private static void blurColumns(byte[] plane, byte[] newPlane, int height, int width,
+                                  int firstCol, int lastCol, int radius, Border border) {
+    long reciprocal = reciprocal(radius);
+    int[] sums = new int[lastCol - firstCol];
+    for (int row = -radius; row <= radius; row++) {
+      addRow(plane, sums, border.locate(row, height) * width, firstCol, 1);
+    }
+    for (int row = 0, start = firstCol; row < height; row++, start += width) {
+      for (int col = 0; col < sums.length; col++) {
+        newPlane[start + col] = (byte) ((sums[col] + radius) * reciprocal >>> 32);
+      }
+      addRow(plane, sums, border.locate(row + radius + 1, height) * width, firstCol, 1);
+      addRow(plane, sums, border.locate(row - radius, height) * width, firstCol, -1);
+    }
+  }
+
+  // Adds or subtracts part of one row of a plane, starting at a column, to the running sum of
+  // each column of a strip, unless the row reads zero
+  private static void addRow(byte[] plane, int[] sums, int start, int firstCol, int sign) {
+    if (start < 0) {
+      return;
+    }
+    for (int col = 0, position1D = start + firstCol; col < sums.length; col++, position1D++) {
+      sums[col] += sign * (plane[position1D] & 0xFF);
+    }
+  }
+
+  // Gets the value at an index of a row of a plane, or zero if the index reads zero
+  private static int valueAt(byte[] plane, int start, int index) {
+    return index < 0 ? 0 : plane[start + index] & 0xFF;
+  }
+
+  // Finds the fixed point reciprocal of the size of a window, rounded up so that multiplying
+  // any sum of the window by it and truncating divides the sum exactly
+  private static long reciprocal(int radius) {
+    long size = 2L * radius + 1;
+    return ((1L << 32) + size - 1) / size;
+  }
+}
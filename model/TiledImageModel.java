@@ -0,0 +1,322 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This class represents an object of an image model whose pixels are split into square tiles of
+ * packed 0xRRGGBB integers. A tile is only allocated and filled from the source of the image
+ * model once it is first read, so work that touches one region of the image model, such as
+ * displaying the visible part of it, only needs the memory and the work of the tiles in that
+ * region. The pixels of a tile never change once it has been filled.
+ */
+public class TiledImageModel implements ImageModel {
+  /**
+   * The width and height in pixels of every tile that is not cut off by an edge of the image.
+   */
+  public static final int TILE_SIZE = 256;
+
+  private final int height;
+  private final int width;
+  private final int tileRows;
+  private final int tileCols;
+  private final TileSource source;
+  private final AtomicReferenceArray<int[]> tiles;
+
+  /**
+   * This interface represents a source that computes the pixels of a tile when the tile is
+   * first read.
+   */
+  public interface TileSource {
+    /**
+     * Fills a given array with the packed 0xRRGGBB values of a rectangular region of the image
+     * in row-major order.
+     *
+     * @param x   the leftmost column of the region
+     * @param y   the topmost row of the region
+     * @param w   the width of the region
+     * @param h   the height of the region
+     * @param dst the array to fill, which holds exactly {@code w * h} values
+     */
+    void fill(int x, int y, int w, int h, int[] dst);
+  }
+
+  /**
+   * This class represents the position and size of one tile of a tiled image model.
+   */
+  public static final class Tile {
+    private final int x;
+    private final int y;
+    private final int width;
+    private final int height;
+
+    private Tile(int x, int y, int width, int height) {
+      this.x = x;
+      this.y = y;
+      this.width = width;
+      this.height = height;
+    }
+
+    /**
+     * Gets the leftmost column of the image covered by the tile.
+     *
+     * @return the leftmost column of the tile
+     */
+    public int getX() {
+      return this.x;
+    }
+
+    /**
+     * Gets the topmost row of the image covered by the tile.
+     *
+     * @return the topmost row of the tile
+     */
+    public int getY() {
+      return this.y;
+    }
+
+    /**
+     * Gets the width in pixels of the tile.
+     *
+     * @return the width of the tile
+     */
+    public int getWidth() {
+      return this.width;
+    }
+
+    /**
+     * Gets the height in pixels of the tile.
+     *
+     * @return the height of the tile
+     */
+    public int getHeight() {
+      return this.height;
+    }
+  }
+
+  /**
+   * Constructs a tiled image model of the given height and width whose tiles are computed by a
+   * given source the first time they are read.
+   *
+   * @param height the height in pixels of the image model
+   * @param width  the width in pixels of the image model
+   * @param source the source that computes the pixels of each tile
+   * @throws IllegalArgumentException if either dimension is negative or the source is null
+   */
+  public TiledImageModel(int height, int width, TileSource source)
+          throws IllegalArgumentException {
+    if (height < 0 || width < 0) {
+      throw new IllegalArgumentException("Dimensions of the image must not be negative.");
+    }
+    if (source == null) {
+      throw new IllegalArgumentException("Source must not contain a null value.");
+    }
+    this.height = height;
+    this.width = width;
+    this.tileRows = (height + TILE_SIZE - 1) / TILE_SIZE;
+    this.tileCols = (width + TILE_SIZE - 1) / TILE_SIZE;
+    this.source = source;
+    this.tiles = new AtomicReferenceArray<>(this.tileRows * this.tileCols);
+  }
+
+  /**
+   * Creates a tiled image model holding the same pixels as a given image model, returning the
+   * given image model itself if it is already tiled. Each tile is copied from the given image
+   * model the first time it is read.
+   *
+   * @param model the image model to convert
+   * @return the tiled image model
+   * @throws NullPointerException if the given image model is null
+   */
+  public static TiledImageModel from(ImageModel model) throws NullPointerException {
+    if (Objects.requireNonNull(model) instanceof TiledImageModel) {
+      return (TiledImageModel) model;
+    }
+    return new TiledImageModel(model.getImageHeight(), model.getImageWidth(),
+            (x, y, w, h, dst) -> model.getRegion(x, y, w, h, dst, 0, w));
+  }
+
+  /**
+   * Gets the height of the image model that the method is being performed on.
+   *
+   * @return the height of the image model
+   */
+  @Override
+  public int getImageHeight() {
+    return this.height;
+  }
+
+  /**
+   * Gets the width of the image model that the method is being performed on.
+   *
+   * @return the width of the image model
+   */
+  @Override
+  public int getImageWidth() {
+    return this.width;
+  }
+
+  /**
+   * Gets the pixel at a given row and column of the image model that the method is being
+   * performed on.
+   *
+   * @param row the row from which to get the pixel
+   * @param col the column from which to get the pixel
+   * @return the pixel at the given row and column
+   * @throws IllegalArgumentException if the given position is beyond the dimensions of the
+   *                                  image model
+   */
+  @Override
+  public IPixel getPixelAt(int row, int col) throws IllegalArgumentException {
+    return Pixel.ofRGB(getRGB(row, col));
+  }
+
+  /**
+   * Gets the packed 0xRRGGBB value of the pixel at a given row and column.
+   *
+   * @param row the row from which to get the value
+   * @param col the column from which to get the value
+   * @return the packed value of the pixel
+   * @throws IllegalArgumentException if the given position is beyond the dimensions of the
+   *                                  image model
+   */
+  @Override
+  public int getRGB(int row, int col) throws IllegalArgumentException {
+    if (row >= this.height || row < 0 || col >= this.width || col < 0) {
+      throw new IllegalArgumentException("Pixel position is beyond the dimensions of the image.");
+    }
+    int tileRow = row / TILE_SIZE;
+    int tileCol = col / TILE_SIZE;
+    return tileAt(tileRow, tileCol)[(row - tileRow * TILE_SIZE) * tileWidth(tileCol)
+            + col - tileCol * TILE_SIZE];
+  }
+
+  /**
+   * Copies the packed 0xRRGGBB values of a rectangular region of the image model into a given
+   * array, where each row of the region starts {@code stride} elements after the last one.
+   * Only the tiles that overlap the region are read.
+   *
+   * @param x      the leftmost column of the region
+   * @param y      the topmost row of the region
+   * @param w      the width of the region
+   * @param h      the height of the region
+   * @param dst    the array to copy into
+   * @param offset the position in the array of the region's top-left pixel
+   * @param stride the distance in the array between the starts of consecutive rows
+   * @throws IllegalArgumentException if the region is beyond the dimensions of the image model
+   *                                  or does not fit in the array
+   */
+  @Override
+  public void getRegion(int x, int y, int w, int h, int[] dst, int offset, int stride)
+          throws IllegalArgumentException {
+    checkRegion(x, y, w, h);
+    if (dst == null || offset < 0 || (h > 0 && (long) offset + (long) (h - 1) * stride + w
+            > dst.length)) {
+      throw new IllegalArgumentException("Region does not fit in the given array.");
+    }
+    for (Tile tile : tiles(x, y, w, h)) {
+      int[] pixels = tileAt(tile.y / TILE_SIZE, tile.x / TILE_SIZE);
+      int firstCol = Math.max(x, tile.x);
+      int lastCol = Math.min(x + w, tile.x + tile.width);
+      for (int row = Math.max(y, tile.y); row < Math.min(y + h, tile.y + tile.height); row++) {
+        System.arraycopy(pixels, (row - tile.y) * tile.width + firstCol - tile.x, dst,
+                offset + (row - y) * stride + firstCol - x, lastCol - firstCol);
+      }
+    }
+  }
+
+  /**
+   * Gets every tile of the image model in row-major order, without filling any of them.
+   *
+   * @return the tiles of the image model
+   */
+  public Iterable<Tile> tiles() {
+    return tiles(0, 0, this.width, this.height);
+  }
+
+  /**
+   * Gets the tiles of the image model that overlap a rectangular region in row-major order,
+   * without filling any of them, so that work can be split and scheduled one tile at a time.
+   *
+   * @param x the leftmost column of the region
+   * @param y the topmost row of the region
+   * @param w the width of the region
+   * @param h the height of the region
+   * @return the tiles that overlap the region
+   * @throws IllegalArgumentException if the region is beyond the dimensions of the image model
+   */
+  public Iterable<Tile> tiles(int x, int y, int w, int h) throws IllegalArgumentException {
+    checkRegion(x, y, w, h);
+    List<Tile> overlapping = new ArrayList<>();
+    if (w == 0 || h == 0) {
+      return overlapping;
+    }
+    for (int tileRow = y / TILE_SIZE; tileRow <= (y + h - 1) / TILE_SIZE; tileRow++) {
+      for (int tileCol = x / TILE_SIZE; tileCol <= (x + w - 1) / TILE_SIZE; tileCol++) {
+        overlapping.add(new Tile(tileCol * TILE_SIZE, tileRow * TILE_SIZE,
+                tileWidth(tileCol), tileHeight(tileRow)));
+      }
+    }
+    return overlapping;
+  }
+
+  /**
+   * Determines whether the tile covering a given pixel has been allocated and filled.
+   *
+   * @param row the row of a pixel in the tile
+   * @param col the column of a pixel in the tile
+   * @return true if the tile has been allocated, and false otherwise
+   * @throws IllegalArgumentException if the given position is beyond the dimensions of the
+   *                                  image model
+   */
+  public boolean isMaterialized(int row, int col) throws IllegalArgumentException {
+    if (row >= this.height || row < 0 || col >= this.width || col < 0) {
+      throw new IllegalArgumentException("Pixel position is beyond the dimensions of the image.");
+    }
+    return this.tiles.get((row / TILE_SIZE) * this.tileCols + col / TILE_SIZE) != null;
+  }
+
+  /**
+   * Gets the pixels of a tile, computing them from the source of the image model if the tile
+   * has not been read before. If several threads fill the same tile at once, every thread
+   * gets the tile that was stored first.
+   *
+   * @param tileRow the row of the tile in the grid of tiles
+   * @param tileCol the column of the tile in the grid of tiles
+   * @return the row-major packed values of the tile
+   */
+  private int[] tileAt(int tileRow, int tileCol) {
+    int index = tileRow * this.tileCols + tileCol;
+    int[] pixels = this.tiles.get(index);
+    if (pixels == null) {
+      int tileWidth = tileWidth(tileCol);
+      int tileHeight = tileHeight(tileRow);
+      int[] filled = new int[tileWidth * tileHeight];
+      this.source.fill(tileCol * TILE_SIZE, tileRow * TILE_SIZE, tileWidth, tileHeight, filled);
+      if (!this.tiles.compareAndSet(index, null, filled)) {
+        return this.tiles.get(index);
+      }
+      pixels = filled;
+    }
+    return pixels;
+  }
+
+  // Gets the width of the tiles in the given column of the grid of tiles
+  private int tileWidth(int tileCol) {
+    return Math.min(TILE_SIZE, this.width - tileCol * TILE_SIZE);
+  }
+
+  // Gets the height of the tiles in the given row of the grid of tiles
+  private int tileHeight(int tileRow) {
+    return Math.min(TILE_SIZE, this.height - tileRow * TILE_SIZE);
+  }
+
+  // Checks that a rectangular region lies within the dimensions of the image model
+  private void checkRegion(int x, int y, int w, int h) throws IllegalArgumentException {
+    if (x < 0 || y < 0 || w < 0 || h < 0 || x + w > this.width || y + h > this.height) {
+      throw new IllegalArgumentException("Region is beyond the dimensions of the image.");
+    }
+  }
+}
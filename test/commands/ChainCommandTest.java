@@ -0,0 +1,127 @@
+package commands;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Scanner;
+
+import controller.ImageControllerImpl;
+import model.GreyscaleImageModel;
+import model.ImageModel;
+import model.ImageModelMapImpl;
+import model.LazyImageModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link Chain}.
+ */
+public class ChainCommandTest {
+  ImageModelMapImpl allModels;
+  StringBuilder output;
+
+  // Tests that the command constructor will throw an exception when given a null map of
+  // commands
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullCommands() {
+    new Chain(new StringBuilder(), new ImageModelMapImpl(new HashMap<>()),
+            new Scanner("1 brighten 10"), null);
+  }
+
+  // Load the image necessary for testing
+  @Before
+  public void init() {
+    allModels = new ImageModelMapImpl(new HashMap<>());
+    output = new StringBuilder();
+    new ImageControllerImpl(output, allModels).run(
+            new StringReader("load test/image.ppm image"), false);
+    output.setLength(0);
+  }
+
+  // Tests that a chain results in the same image as running each of its commands in turn
+  @Test
+  public void testChainMatchesCommands() {
+    new ImageControllerImpl(output, allModels).run(new StringReader(
+            "chain 4 brighten 20 sepia-tone levels 10 240 luma-component image chained "
+                    + "brighten 20 image a sepia-tone a b levels 10 240 b c luma-component c d"),
+            false);
+    assertEquals("Edit completed.\nEdit completed.\nEdit completed.\nEdit completed.\n"
+            + "Edit completed.\n", output.toString());
+    assertSameImage(allModels.find("d"), allModels.find("chained"));
+  }
+
+  // Tests that a chain reports commands that do not change every pixel independently, and
+  // chains that do not start with a number of commands
+  @Test
+  public void testInvalidChains() {
+    new ImageControllerImpl(output, allModels).run(new StringReader(
+            "chain 2 brighten 10 blur image a chain x image b chain 1 brighten y image c"),
+            false);
+    assertEquals("blur cannot be chained.\n"
+            + "Chain must start with a positive number of commands.\n"
+            + "Constant must be an integer.\n", output.toString());
+    assertEquals(null, allModels.find("a"));
+  }
+
+  // Tests that the controller fuses consecutive commands that change every pixel
+  // independently, and only computes the image models that no later command was fused from
+  @Test
+  public void testControllerFusion() {
+    new ImageControllerImpl(output, allModels).run(new StringReader(
+            "brighten 20 image a sepia-tone a b luma-component b c"), false);
+    assertTrue(allModels.find("c") instanceof GreyscaleImageModel);
+    assertFalse(((LazyImageModel) allModels.find("a")).isComputed());
+    assertFalse(((LazyImageModel) allModels.find("b")).isComputed());
+    new ImageControllerImpl(output, allModels).run(new StringReader(
+            "chain 3 brighten 20 sepia-tone luma-component image chained"), false);
+    assertSameImage(allModels.find("chained"), allModels.find("c"));
+    assertEquals(allModels.find("image").getPixelAt(0, 2).getRed() + 20 > 255 ? 255
+            : allModels.find("image").getPixelAt(0, 2).getRed() + 20,
+            allModels.find("a").getPixelAt(0, 2).getRed());
+  }
+
+  // Tests that commands on separate lines are fused until a command that does not change every
+  // pixel independently, which reads the computed image model
+  @Test
+  public void testFusionAcrossLines() {
+    new ImageControllerImpl(output, allModels).run(new StringReader(
+            "brighten 20 image a\nsepia-tone a b\nluma-component b c\nhorizontal-flip c d\n"
+                    + "brighten 10 d e\n"), false);
+    assertFalse(((LazyImageModel) allModels.find("a")).isComputed());
+    assertFalse(((LazyImageModel) allModels.find("b")).isComputed());
+    assertTrue(allModels.find("c") instanceof GreyscaleImageModel);
+    assertFalse(allModels.find("e") instanceof LazyImageModel);
+    new ImageControllerImpl(output, allModels).run(new StringReader(
+            "chain 3 brighten 20 sepia-tone luma-component image chained"), false);
+    assertSameImage(allModels.find("chained"), allModels.find("c"));
+  }
+
+  // Tests that an image model that only fed a fused command is computed once the image model
+  // it reads from is replaced, rather than keeping the replaced image model
+  @Test
+  public void testFusedFromReleased() {
+    new ImageControllerImpl(output, allModels).run(new StringReader(
+            "brighten 20 image a sepia-tone a b"), false);
+    LazyImageModel fusedFrom = (LazyImageModel) allModels.find("a");
+    assertFalse(fusedFrom.isComputed());
+    new ImageControllerImpl(output, allModels).run(new StringReader(
+            "load test/image.ppm image"), false);
+    assertTrue(fusedFrom.isComputed());
+    assertFalse(allModels.find("a") instanceof LazyImageModel);
+  }
+
+  // Checks that two image models have the same dimensions and pixels
+  private void assertSameImage(ImageModel expected, ImageModel actual) {
+    assertEquals(expected.getImageHeight(), actual.getImageHeight());
+    assertEquals(expected.getImageWidth(), actual.getImageWidth());
+    for (int i = 0; i < expected.getImageHeight(); i++) {
+      for (int j = 0; j < expected.getImageWidth(); j++) {
+        assertEquals(expected.getPixelAt(i, j), actual.getPixelAt(i, j));
+      }
+    }
+  }
+}
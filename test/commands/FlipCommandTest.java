@@ -5,9 +5,11 @@ import org.junit.Test;
 
 import java.io.FileNotFoundException;
 import java.io.FileReader;
+import java.io.StringReader;
 import java.util.HashMap;
 import java.util.Scanner;
 
+import controller.ImageControllerImpl;
 import model.ImageModel;
 import model.ImageModelMapImpl;
 import model.Pixel;
@@ -56,6 +58,32 @@ public class FlipCommandTest {
     allModels.add("image", testModel, output);
   }
 
+  // Tests that the rotate and transpose commands move every pixel to its rotated or transposed
+  // position
+  @Test
+  public void testRotateAndTransposeCommands() {
+    new ImageControllerImpl(output, allModels).run(new StringReader(
+            "rotate-90 image r90 rotate-180 image r180 rotate-270 image r270 "
+                    + "transpose image t rotate-90 r90 r180twice"), false);
+    int height = testModel.getImageHeight();
+    int width = testModel.getImageWidth();
+    assertEquals(width, allModels.find("r90").getImageHeight());
+    assertEquals(height, allModels.find("r90").getImageWidth());
+    for (int i = 0; i < height; i++) {
+      for (int j = 0; j < width; j++) {
+        assertEquals(testModel.getPixelAt(i, j),
+                allModels.find("r90").getPixelAt(j, height - 1 - i));
+        assertEquals(testModel.getPixelAt(i, j),
+                allModels.find("r180").getPixelAt(height - 1 - i, width - 1 - j));
+        assertEquals(testModel.getPixelAt(i, j),
+                allModels.find("r180twice").getPixelAt(height - 1 - i, width - 1 - j));
+        assertEquals(testModel.getPixelAt(i, j),
+                allModels.find("r270").getPixelAt(width - 1 - j, i));
+        assertEquals(testModel.getPixelAt(i, j), allModels.find("t").getPixelAt(j, i));
+      }
+    }
+  }
+
   // Tests that each flip command returns a map with the specified ImageModel that has been edited
   // in a manner matching the intended operation
   @Test
@@ -3,11 +3,19 @@ package commands;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.awt.image.BufferedImage;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Scanner;
 
+import javax.imageio.ImageIO;
+
+import model.GreyscaleImageModel;
 import model.ImageModel;
 import model.ImageModelMapImpl;
 import model.Pixel;
@@ -185,4 +193,68 @@ public class LoadImageTest {
     assertTrue(Math.abs(allModels.find("testLoadJPEGImage")
             .getPixelAt(2, 2).getBlue() - new Pixel(5, 5, 255).getBlue()) < 2);
   }
+
+  // Tests that plain PPM and PGM files with comments after values and empty lines are loaded,
+  // with every value scaled from the maximum color value of the file to 255
+  @Test
+  public void testLoadPlainFiles() throws IOException {
+    assertEquals(new Pixel(0, 128, 255),
+            loadText(".ppm", "P3\n# scaled\n\n1 1 # one pixel\n1000\n0 502 1000\n")
+                    .getPixelAt(0, 0));
+    ImageModel grey = loadText(".pgm", "P2 2 1 3 1 3");
+    assertEquals(new Pixel(85, 85, 85), grey.getPixelAt(0, 0));
+    assertEquals(new Pixel(255, 255, 255), grey.getPixelAt(0, 1));
+  }
+
+  // Tests that malformed plain PPM files are reported as invalid
+  @Test
+  public void testLoadMalformedFiles() throws IOException {
+    String[] files = {"P4 1 1 0", "P6 1 1 255\n\0\0", "P3 1 1 255 0 0", "P3 1 1 255 0 x 0",
+                      "P3 1 1 0 0 0 0", "P3 1 1 100 0 101 0"};
+    for (String text : files) {
+      try {
+        loadText(".ppm", text);
+        throw new AssertionError("Loaded malformed file: " + text);
+      } catch (IllegalArgumentException e) {
+        assertTrue(e.getMessage().startsWith("Invalid PPM file")
+                || e.getMessage().equals("Must be valid pixel color measurements."));
+      }
+    }
+  }
+
+  // Tests that an 8-bit greyscale image is loaded with the same pixels that getRGB gives,
+  // which converts each sample from a linear color space to sRGB
+  @Test
+  public void testLoadGreyscaleImage() throws IOException {
+    BufferedImage image = new BufferedImage(256, 2, BufferedImage.TYPE_BYTE_GRAY);
+    for (int j = 0; j < 256; j++) {
+      image.getRaster().setSample(j, 0, 0, j);
+      image.getRaster().setSample(j, 1, 0, 255 - j);
+    }
+    Path path = Files.createTempFile("load", ".png");
+    try {
+      ImageIO.write(image, "png", path.toFile());
+      BufferedImage expected = ImageIO.read(path.toFile());
+      ImageModel grey = imageLoader.loadImage(path.toString());
+      assertTrue(grey instanceof GreyscaleImageModel);
+      for (int i = 0; i < 2; i++) {
+        for (int j = 0; j < 256; j++) {
+          assertEquals(expected.getRGB(j, i) & 0xFFFFFF, grey.getRGB(i, j));
+        }
+      }
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  // Loads an image from a temporary file with the given extension and text
+  private ImageModel loadText(String extension, String text) throws IOException {
+    Path path = Files.createTempFile("load", extension);
+    try {
+      Files.write(path, text.getBytes(StandardCharsets.US_ASCII));
+      return imageLoader.loadImage(path.toString());
+    } finally {
+      Files.delete(path);
+    }
+  }
 }
\ No newline at end of file
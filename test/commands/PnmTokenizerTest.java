@@ -0,0 +1,67 @@
+package commands;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link PnmTokenizer}.
+ */
+public class PnmTokenizerTest {
+
+  // Creates a tokenizer that reads the given text
+  private PnmTokenizer tokenizer(String text) {
+    return new PnmTokenizer(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)));
+  }
+
+  // Tests that comments are skipped wherever they appear, including right after a value, and
+  // that empty lines and any kind of whitespace separate values
+  @Test
+  public void testCommentsAndWhitespace() {
+    PnmTokenizer tokenizer = tokenizer("P3\n# made by hand\n\n3#width\r\n 2\t255 # max\n"
+            + "0\f12\u000B345\n#");
+    assertEquals("P3", tokenizer.nextWord());
+    int[] expected = {3, 2, 255, 0, 12, 345};
+    for (int value : expected) {
+      assertEquals(value, tokenizer.nextInt());
+    }
+  }
+
+  // Tests that values spanning the end of the buffer are read whole
+  @Test
+  public void testValuesAcrossBuffer() {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 30000; i++) {
+      text.append(i % 1000).append(' ');
+    }
+    PnmTokenizer tokenizer = tokenizer(text.toString());
+    for (int i = 0; i < 30000; i++) {
+      assertEquals(i % 1000, tokenizer.nextInt());
+    }
+  }
+
+  // Tests that a word which is not a non-negative integer cannot be read as one
+  @Test(expected = IllegalArgumentException.class)
+  public void testNotAnInteger() {
+    PnmTokenizer tokenizer = tokenizer("12 -5");
+    tokenizer.nextInt();
+    tokenizer.nextInt();
+  }
+
+  // Tests that reading past the end of the stream is reported
+  @Test(expected = IllegalArgumentException.class)
+  public void testEndOfStream() {
+    PnmTokenizer tokenizer = tokenizer("7 # trailing comment");
+    assertEquals(7, tokenizer.nextInt());
+    tokenizer.nextInt();
+  }
+
+  // Tests that a value too large for an int is reported rather than overflowing
+  @Test(expected = IllegalArgumentException.class)
+  public void testOverflow() {
+    tokenizer("2147483648").nextInt();
+  }
+}
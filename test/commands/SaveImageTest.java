@@ -3,15 +3,36 @@ package commands;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.awt.image.BufferedImage;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Random;
 import java.util.Scanner;
+import java.util.stream.Stream;
 
+import javax.imageio.ImageIO;
+
+import controller.ImageControllerImpl;
+import model.CroppedImageModel;
+import model.Flip;
+import model.GreyscaleImageModel;
 import model.ImageModel;
 import model.ImageModelMapImpl;
+import model.OffHeapImageModel;
+import model.PackedImageModel;
 import model.Pixel;
+import model.RemappedImageModel;
+import model.RowBands;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -216,6 +237,298 @@ public class SaveImageTest {
     }
   }
 
+  // Tests that images saved as binary PPM and PGM files with 8-bit and 16-bit values are
+  // loaded back with the same pixels, whatever the extension of the file
+  @Test
+  public void testSaveBinaryImage() throws IOException {
+    allModels.add("grey", new GreyscaleImageModel(new byte[]{0, 7, (byte) 200, (byte) 255,
+        1, 2}, 2, 3), output);
+    Path directory = Files.createTempDirectory("binary");
+    String[][] saves = {{"-binary", "image.ppm", "image", "P6", "27"},
+                        {"-binary -depth=16", "image.ppm", "image", "P6", "54"},
+                        {"-binary", "grey.pgm", "grey", "P5", "6"},
+                        {"-depth=16 -binary", "grey.pgm", "grey", "P5", "12"}};
+    try {
+      for (String[] save : saves) {
+        String filepath = directory.resolve(save[1]).toString();
+        StringBuilder log = new StringBuilder();
+        new ImageControllerImpl(log, allModels).run(new StringReader("save " + save[0] + " "
+                + filepath + " " + save[2]), false);
+        assertEquals("Writing to new file: " + filepath + ".\nSaving completed.\n",
+                log.toString());
+        byte[] bytes = Files.readAllBytes(directory.resolve(save[1]));
+        assertEquals(save[3], new String(bytes, 0, 2, StandardCharsets.US_ASCII));
+        assertEquals(Integer.parseInt(save[4]), bytes.length - headerLength(bytes));
+        Path renamed = directory.resolve("copy.bin");
+        Files.move(directory.resolve(save[1]), renamed);
+        ImageModel loaded = imageLoader.loadImage(renamed.toString());
+        ImageModel original = allModels.find(save[2]);
+        for (int i = 0; i < original.getImageHeight(); i++) {
+          for (int j = 0; j < original.getImageWidth(); j++) {
+            assertEquals(original.getRGB(i, j), loaded.getRGB(i, j));
+          }
+        }
+        Files.delete(renamed);
+      }
+    } finally {
+      for (String[] save : saves) {
+        Files.deleteIfExists(directory.resolve(save[1]));
+      }
+      Files.deleteIfExists(directory.resolve("copy.bin"));
+      Files.delete(directory);
+    }
+  }
+
+  // Tests that options which are not supported by a file format or have invalid values are
+  // reported
+  @Test
+  public void testSaveInvalidOptions() {
+    StringBuilder log = new StringBuilder();
+    new ImageControllerImpl(log, allModels).run(new StringReader(
+            "save -depth=12 test/bad.ppm image save -binary test/bad.png image "
+                    + "save -binary test/bad.pgm image"), false);
+    assertEquals("Depth must be 8 or 16.\nOption -binary is not supported for this file type.\n"
+            + "Only greyscale images can be saved as PGM files.\n", log.toString());
+  }
+
+  // Tests that a file cannot be overwritten while a loaded image is mapped from it, and can be
+  // once that image has been closed
+  @Test
+  public void testSaveOverMappedFile() throws IOException {
+    Path path = Files.createTempFile("mapped", ".ppm");
+    try {
+      Files.write(path, "P6 1 1 255\n\1\2\3".getBytes(StandardCharsets.US_ASCII));
+      OffHeapImageModel mapped;
+      try (FileChannel file = FileChannel.open(path)) {
+        mapped = OffHeapImageModel.map(file, path, 11, 1, 1);
+      }
+      SaveImage saver = new SaveImage(new StringBuilder(), allModels, scanner);
+      try {
+        saver.saveImage(testModel, new StringBuilder(), path.toString());
+        fail();
+      } catch (IllegalArgumentException e) {
+        assertEquals("Cannot overwrite a file that a loaded image is read from.",
+                e.getMessage());
+      }
+      mapped.close();
+      saver.saveImage(testModel, new StringBuilder(), path.toString());
+      assertEquals(testModel.getRGB(2, 2), imageLoader.loadImage(path.toString()).getRGB(2, 2));
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  // Tests that plain files have one value on each line, in the same order whether or not their
+  // rows are formatted in several bands in parallel
+  @Test
+  public void testSavePlainText() throws IOException {
+    Random random = new Random(4);
+    int[] rgb = new int[150 * 120];
+    for (int i = 0; i < rgb.length; i++) {
+      rgb[i] = random.nextInt(0x1000000);
+    }
+    String line = System.lineSeparator();
+    StringBuilder expected = new StringBuilder("P3" + line + "# PPM Image Output" + line
+            + "120 150" + line + "65535" + line);
+    for (int value : rgb) {
+      expected.append(((value >> 16) & 0xFF) * 257).append(line)
+              .append(((value >> 8) & 0xFF) * 257).append(line)
+              .append((value & 0xFF) * 257).append(line);
+    }
+    Path path = Files.createTempFile("plain", ".ppm");
+    int parallelism = RowBands.getParallelism();
+    try {
+      for (int threads : new int[]{1, 4}) {
+        RowBands.setParallelism(threads);
+        new SaveImage(new StringBuilder(), allModels, scanner).saveImage(
+                new PackedImageModel(rgb, 150, 120), new StringBuilder(), path.toString(),
+                Collections.singletonMap("depth", "16"));
+        assertEquals(expected.toString(),
+                new String(Files.readAllBytes(path), StandardCharsets.US_ASCII));
+      }
+      new SaveImage(new StringBuilder(), allModels, scanner).saveImage(
+              new GreyscaleImageModel(new byte[]{0, 9, 10, (byte) 255}, 2, 2),
+              new StringBuilder(), path.toString().replace(".ppm", ".pgm"));
+      assertEquals("P2" + line + "# PGM Image Output" + line + "2 2" + line + "255" + line + "0"
+              + line + "9" + line + "10" + line + "255" + line, new String(Files.readAllBytes(
+              Paths.get(path.toString().replace(".ppm", ".pgm"))), StandardCharsets.US_ASCII));
+    } finally {
+      RowBands.setParallelism(parallelism);
+      Files.deleteIfExists(Paths.get(path.toString().replace(".ppm", ".pgm")));
+      Files.delete(path);
+    }
+  }
+
+  // Tests that a flipped or cropped view of a greyscale image model is saved as a PGM file and
+  // as a greyscale PNG file, even once the view has been materialized
+  @Test
+  public void testSaveGreyscaleView() throws IOException {
+    ImageModel grey = new GreyscaleImageModel(new byte[]{0, 7, (byte) 200, (byte) 255, 1, 2},
+            2, 3);
+    RemappedImageModel flipped = (RemappedImageModel) RemappedImageModel.flip(grey,
+            Flip.HORIZONTAL);
+    ImageModel cropped = CroppedImageModel.of(grey, 1, 0, 2, 2);
+    Path directory = Files.createTempDirectory("views");
+    String line = System.lineSeparator();
+    try {
+      SaveImage saver = new SaveImage(new StringBuilder(), allModels, scanner);
+      saver.saveImage(cropped, new StringBuilder(), directory.resolve("plain.pgm").toString());
+      assertEquals("P2" + line + "# PGM Image Output" + line + "2 2" + line + "255" + line
+              + "7" + line + "200" + line + "1" + line + "2" + line, new String(
+              Files.readAllBytes(directory.resolve("plain.pgm")), StandardCharsets.US_ASCII));
+      flipped.materialize();
+      saver.saveImage(flipped, new StringBuilder(), directory.resolve("binary.pgm").toString(),
+              Collections.singletonMap("binary", ""));
+      byte[] bytes = Files.readAllBytes(directory.resolve("binary.pgm"));
+      assertEquals("200 7 0 2 1 255", (bytes[bytes.length - 6] & 0xFF) + " "
+              + (bytes[bytes.length - 5] & 0xFF) + " " + (bytes[bytes.length - 4] & 0xFF) + " "
+              + (bytes[bytes.length - 3] & 0xFF) + " " + (bytes[bytes.length - 2] & 0xFF) + " "
+              + (bytes[bytes.length - 1] & 0xFF));
+      saver.saveImage(flipped, new StringBuilder(), directory.resolve("grey.png").toString());
+      BufferedImage image = ImageIO.read(directory.resolve("grey.png").toFile());
+      assertEquals(BufferedImage.TYPE_BYTE_GRAY, image.getType());
+      assertEquals(200, image.getRaster().getSample(0, 0, 0));
+      assertEquals(255, image.getRaster().getSample(2, 1, 0));
+      ImageModel loaded = new LoadImage(new StringBuilder(), allModels, scanner)
+              .loadImage(directory.resolve("grey.png").toString());
+      for (int i = 0; i < flipped.getImageHeight(); i++) {
+        for (int j = 0; j < flipped.getImageWidth(); j++) {
+          assertEquals(flipped.getRGB(i, j), loaded.getRGB(i, j));
+        }
+      }
+    } finally {
+      for (String name : new String[]{"plain.pgm", "binary.pgm", "grey.png"}) {
+        Files.deleteIfExists(directory.resolve(name));
+      }
+      Files.delete(directory);
+    }
+  }
+
+  // Tests that a greyscale image model is saved as an 8-bit greyscale PNG file that loads back
+  // with every grey level unchanged, and in color to a format that cannot declare sRGB samples
+  @Test
+  public void testGreyscalePngRoundTrip() throws IOException {
+    byte[] levels = new byte[256];
+    for (int i = 0; i < levels.length; i++) {
+      levels[i] = (byte) i;
+    }
+    ImageModel grey = new GreyscaleImageModel(levels, 16, 16);
+    Path directory = Files.createTempDirectory("grey");
+    try {
+      SaveImage saver = new SaveImage(new StringBuilder(), allModels, scanner);
+      LoadImage loader = new LoadImage(new StringBuilder(), allModels, scanner);
+      saver.saveImage(grey, new StringBuilder(), directory.resolve("grey.png").toString());
+      assertEquals(BufferedImage.TYPE_BYTE_GRAY,
+              ImageIO.read(directory.resolve("grey.png").toFile()).getType());
+      saver.saveImage(grey, new StringBuilder(), directory.resolve("grey.bmp").toString());
+      assertEquals(BufferedImage.TYPE_3BYTE_BGR,
+              ImageIO.read(directory.resolve("grey.bmp").toFile()).getType());
+      for (String name : new String[]{"grey.png", "grey.bmp"}) {
+        ImageModel loaded = loader.loadImage(directory.resolve(name).toString());
+        for (int i = 0; i < 16; i++) {
+          for (int j = 0; j < 16; j++) {
+            assertEquals(grey.getRGB(i, j), loaded.getRGB(i, j));
+          }
+        }
+      }
+    } finally {
+      for (String name : new String[]{"grey.png", "grey.bmp"}) {
+        Files.deleteIfExists(directory.resolve(name));
+      }
+      Files.delete(directory);
+    }
+  }
+
+  // Tests that the options of the encoder change the size of JPEG and PNG files, and that the
+  // format is found from an explicit option or from an extension of any length
+  @Test
+  public void testSaveEncoderOptions() throws IOException {
+    Random random = new Random(5);
+    int[] rgb = new int[90 * 160];
+    for (int i = 0; i < 90; i++) {
+      for (int j = 0; j < 160; j++) {
+        rgb[i * 160 + j] = (i * 2 << 16) | (j << 8) | random.nextInt(32);
+      }
+    }
+    ImageModel model = new PackedImageModel(rgb, 90, 160);
+    allModels.add("gradient", model, output);
+    Path directory = Files.createTempDirectory("encoded");
+    String[] saves = {"-quality=0.1 low.jpeg", "-quality=0.95 -progressive high.jpg",
+        "-compression=0 stored.png", "-compression=9 deflated.png", "-progressive laced.png",
+        "-format=png untitled", "image.TIFF"};
+    try {
+      StringBuilder log = new StringBuilder();
+      StringBuilder expected = new StringBuilder();
+      for (String save : saves) {
+        int space = save.lastIndexOf(' ');
+        String filepath = directory.resolve(save.substring(space + 1)).toString();
+        new ImageControllerImpl(log, allModels).run(new StringReader("save "
+                + save.substring(0, space + 1) + filepath + " gradient"), false);
+        expected.append("Writing to new file: ").append(filepath).append(".\nSaving completed.\n");
+      }
+      assertEquals(expected.toString(), log.toString());
+      assertTrue(Files.size(directory.resolve("low.jpeg"))
+              < Files.size(directory.resolve("high.jpg")));
+      assertTrue(Files.size(directory.resolve("deflated.png"))
+              < Files.size(directory.resolve("stored.png")));
+      for (String name : new String[]{"stored.png", "deflated.png", "laced.png", "untitled",
+          "image.TIFF"}) {
+        ImageModel loaded = imageLoader.loadImage(directory.resolve(name).toString());
+        for (int i = 0; i < 90; i++) {
+          for (int j = 0; j < 160; j++) {
+            assertEquals(model.getRGB(i, j), loaded.getRGB(i, j));
+          }
+        }
+      }
+    } finally {
+      for (String save : saves) {
+        Files.deleteIfExists(directory.resolve(save.substring(save.lastIndexOf(' ') + 1)));
+      }
+      Files.delete(directory);
+    }
+  }
+
+  // Tests that an option the format does not support or with an invalid value is reported
+  // before any file is created
+  @Test
+  public void testSaveInvalidEncoderOptions() throws IOException {
+    Path directory = Files.createTempDirectory("rejected");
+    try {
+      StringBuilder log = new StringBuilder();
+      new ImageControllerImpl(log, allModels).run(new StringReader(String.join(" ",
+              "save -quality=2", directory.resolve("a.jpg").toString(), "image",
+              "save -quality=0.5", directory.resolve("b.png").toString(), "image",
+              "save -compression=3", directory.resolve("c.jpg").toString(), "image",
+              "save -compression=4.5", directory.resolve("d.png").toString(), "image",
+              "save -progressive", directory.resolve("e.bmp").toString(), "image",
+              "save -format=heic", directory.resolve("f.png").toString(), "image")), false);
+      assertEquals("Quality must be a number between 0 and 1.\n"
+              + "Option -quality is not supported for this file type.\n"
+              + "Option -compression is not supported for this file type.\n"
+              + "Compression must be an integer between 0 and 9.\n"
+              + "Option -progressive is not supported for this file type.\n"
+              + "Invalid image file type to save to.\n", log.toString());
+      try (Stream<Path> files = Files.list(directory)) {
+        assertEquals(0, files.count());
+      }
+    } finally {
+      Files.delete(directory);
+    }
+  }
+
+  // Finds the number of bytes in the header of a binary PPM or PGM file, which ends with the
+  // whitespace after the fourth word, and whose second line is a comment
+  private int headerLength(byte[] bytes) {
+    int lines = 0;
+    int index = 0;
+    while (lines < 4) {
+      if (bytes[index++] == '\n') {
+        lines++;
+      }
+    }
+    return index;
+  }
+
   /**
    * Helper that fails if the given filepath is not that of a PPM image file.
    *
@@ -2,7 +2,10 @@ package controller;
 
 import org.junit.Test;
 
+import java.io.IOException;
 import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.HashMap;
 
 import model.ImageModelMapImpl;
@@ -41,11 +44,35 @@ public class ImageControllerImplTest {
             "2. Color Transformations (operation name new-name)\n" +
             "   These operations include red-component, green-component, blue-component,\n" +
             "   maxvalue-component, luma-component, intensity component, and sepia-tone.\n" +
-            "3. Image Flipping (operation name new-name)\n" +
-            "   These operations include horizontal-flip and vertical-flip.\n" +
+            "   color-matrix first takes the 12 values of a 3x4 matrix in row-major order,\n" +
+            "   where the fourth value of each row is an offset that is added to it\n" +
+            "   (color-matrix r1 r2 r3 r4 g1 g2 g3 g4 b1 b2 b3 b4 name new-name).\n" +
+            "3. Image Flipping and Rotating (operation name new-name)\n" +
+            "   These operations include horizontal-flip, vertical-flip, rotate-90,\n" +
+            "   rotate-180, rotate-270, and transpose.\n" +
             "4. Image Filtering (operation name new-name)\n" +
             "   These operations include blur-filter and sharpen-filter.\n" +
-            "5. Image Saving (save to-filepath name)\n",
+            "   convolve first takes a kernel file or rows like 0,1/4,0;1/4,0,1/4;0,1/4,0\n" +
+            "   and a border: zero, clamp, mirror, or wrap\n" +
+            "   (convolve kernel border name new-name).\n" +
+            "   box-blur takes a radius and gaussian-blur a standard deviation in pixels\n" +
+            "   (box-blur radius name new-name) (gaussian-blur sigma name new-name).\n" +
+            "5. Tone Adjustments (operation parameters name new-name)\n" +
+            "   These operations include levels (levels black white name new-name),\n" +
+            "   gamma (gamma value name new-name), and curves, which takes old:new points\n" +
+            "   (curves 0:0,64:40,255:255 name new-name).\n" +
+            "6. Chaining (chain count operations name new-name)\n" +
+            "   Performs several operations that change each pixel on its own in one pass,\n" +
+            "   as in chain 3 brighten 20 sepia-tone luma-component name new-name.\n" +
+            "7. Resizing (resize width height interpolation name new-name)\n" +
+            "   The interpolation is nearest, bilinear, bicubic, or lanczos.\n" +
+            "8. Image Saving\n" +
+            "   Options go before the filepath: -binary saves a binary PPM or PGM file,\n" +
+            "   and -depth=16 saves 16-bit values, as in save -binary image.ppm name.\n" +
+            "   -format=png sets the file type, -quality=0.8 the quality of a JPEG file,\n" +
+            "   -compression=9 the deflate level of a PNG file, and -progressive saves\n" +
+            "   a progressive JPEG or an interlaced PNG or GIF file.\n" +
+            "   (save to-filepath name)\n",
             testOutput.toString());
   }
 
@@ -71,6 +98,28 @@ public class ImageControllerImplTest {
                     "Thank you for using the Image Processor!");
   }
 
+  // Tests that the result of a command that changes every pixel, given on its own line, is
+  // recognized as greyscale through a view of it and saved as a PGM file, whether or not the
+  // map is lazy
+  @Test
+  public void testSaveViewOfFusedGreyscale() throws IOException {
+    for (boolean lazy : new boolean[]{false, true}) {
+      Appendable testOutput = new StringBuilder();
+      ImageController controller = new ImageControllerImpl(testOutput,
+              new ImageModelMapImpl(new HashMap<>(), lazy));
+      try {
+        controller.run(new StringReader("load test/image.ppm image\n"
+                + "luma-component image luma\nhorizontal-flip luma flipped\n"
+                + "save SavedImages/flipped-luma.pgm flipped\n"), false);
+      } finally {
+        Files.deleteIfExists(Paths.get("SavedImages", "flipped-luma.pgm"));
+      }
+      assertEquals("Loading completed.\nEdit completed.\nEdit completed.\n"
+              + "Writing to new file: SavedImages/flipped-luma.pgm.\nSaving completed.\n",
+              testOutput.toString());
+    }
+  }
+
   // Tests that load works as intended when given a valid PPM filepath
   @Test
   public void testLoadValidPPMFilepath() {
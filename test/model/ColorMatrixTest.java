@@ -0,0 +1,136 @@
+package model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Random;
+
+import controller.ImageControllerImpl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link ColorMatrix}.
+ */
+public class ColorMatrixTest {
+  PackedImageModel testModel;
+
+  // Initialize a model with a black, a white, and two colored pixels
+  @Before
+  public void init() {
+    testModel = new PackedImageModel(new int[]{0x000000, 0xFFFFFF, 0x102030, 0xC86432}, 2, 2);
+  }
+
+  // Tests that the constructor will throw an exception when given the wrong number of values
+  @Test(expected = IllegalArgumentException.class)
+  public void testWrongNumberOfValues() {
+    ColorMatrix.of(1, 0, 0, 0, 1, 0, 0, 0);
+  }
+
+  // Tests that the constructor will throw an exception when given a value that is not a number
+  @Test(expected = IllegalArgumentException.class)
+  public void testNotANumber() {
+    ColorMatrix.of(1, 0, 0, 0, 1, 0, 0, 0, Double.NaN);
+  }
+
+  // Tests that the constructor will throw an exception when given a value that is too large
+  @Test(expected = IllegalArgumentException.class)
+  public void testValueTooLarge() {
+    ColorMatrix.of(1, 0, 0, 0, 1, 0, 0, 0, 100000);
+  }
+
+  // Tests that weighted sums truncate exactly as the original double precision sums did
+  @Test
+  public void testExactTruncation() {
+    ColorMatrix luma = ColorMatrix.of(0.2126, 0.7152, 0.0722, 0.2126, 0.7152, 0.0722,
+            0.2126, 0.7152, 0.0722);
+    for (int value = 0; value < 256; value++) {
+      int expected = (int) (0.2126 * value + 0.7152 * value + 0.0722 * value);
+      assertEquals(expected * 0x010101, luma.apply(value * 0x010101));
+    }
+    ColorMatrix intensity = ColorMatrix.of(1.0 / 3, 1.0 / 3, 1.0 / 3, 1.0 / 3, 1.0 / 3, 1.0 / 3,
+            1.0 / 3, 1.0 / 3, 1.0 / 3);
+    int expected = (int) (100 * (1.0 / 3) + 200 * (1.0 / 3) + 12 * (1.0 / 3));
+    assertEquals(expected * 0x010101, intensity.apply(0x64C80C));
+    assertEquals(0xFEFEFE, luma.apply(0xFFFFFF));
+  }
+
+  // Tests that the offsets of a 3x4 matrix are added, and results are clamped to 0 and 255
+  @Test
+  public void testOffsetsAndClamping() {
+    ColorMatrix invert = ColorMatrix.of(-1, 0, 0, 255, 0, -1, 0, 255, 0, 0, -1, 255);
+    assertEquals(0xEFDFCF, invert.apply(0x102030));
+    ColorMatrix boost = ColorMatrix.of(2, 0, 0, 0, 0, 1, 0, -40, 0, 0, 1, 0.5);
+    assertEquals(0xFF3C32, boost.apply(0xC86432));
+    assertEquals(0x200030, boost.apply(0x102030));
+  }
+
+  // Tests that a matrix with equal rows results in a greyscale image model
+  @Test
+  public void testGreyscale() {
+    ColorMatrix average = ColorMatrix.of(0.5, 0.5, 0, 0.5, 0.5, 0, 0.5, 0.5, 0);
+    assertTrue(average.isGreyscale());
+    assertTrue(average.toPixelOperation().isGreyscale());
+    ImageModel result = average.applyTo(testModel);
+    assertTrue(result instanceof GreyscaleImageModel);
+    assertEquals(new Pixel(255, 255, 255), result.getPixelAt(0, 1));
+    assertEquals(new Pixel(24, 24, 24), result.getPixelAt(1, 0));
+    assertEquals(0x969696, average.toPixelOperation().apply(0xC86432));
+  }
+
+  // Tests that a matrix with different rows transforms every pixel into a packed image model
+  @Test
+  public void testApplyTo() {
+    ColorMatrix swap = ColorMatrix.of(0, 0, 1, 0, 1, 0, 1, 0, 0);
+    assertFalse(swap.isGreyscale());
+    ImageModel result = swap.applyTo(testModel);
+    assertTrue(result instanceof PackedImageModel);
+    assertEquals(0x000000, result.getRGB(0, 0));
+    assertEquals(0xFFFFFF, result.getRGB(0, 1));
+    assertEquals(0x302010, result.getRGB(1, 0));
+    assertEquals(0x3264C8, result.getRGB(1, 1));
+  }
+
+  // Tests that transforming whole rows gives the same pixels as transforming each pixel, for
+  // rows that do not fill a whole number of vectors
+  @Test
+  public void testRowsMatchPixels() {
+    Random random = new Random(1);
+    int[] pixels = new int[37 * 23];
+    for (int i = 0; i < pixels.length; i++) {
+      pixels[i] = random.nextInt() & 0xFFFFFF;
+    }
+    ImageModel model = new PackedImageModel(pixels, 23, 37);
+    ColorMatrix sepia = ColorMatrix.of(0.393, 0.769, 0.189, 0.349, 0.686, 0.168, 0.272, 0.534,
+            0.131);
+    ColorMatrix luma = ColorMatrix.of(0.2126, 0.7152, 0.0722, 0.2126, 0.7152, 0.0722, 0.2126,
+            0.7152, 0.0722);
+    ColorMatrix invert = ColorMatrix.of(-1, 0, 0, 255, 0, -1, 0, 255, 0, 0, -1, 255);
+    for (ColorMatrix matrix : new ColorMatrix[]{sepia, luma, invert}) {
+      ImageModel result = matrix.applyTo(model);
+      for (int i = 0; i < 23; i++) {
+        for (int j = 0; j < 37; j++) {
+          assertEquals(matrix.apply(pixels[i * 37 + j]), result.getRGB(i, j));
+        }
+      }
+    }
+  }
+
+  // Tests that the color-matrix command transforms an image, and reports invalid values
+  @Test
+  public void testColorMatrixCommand() {
+    ImageModelMap map = new ImageModelMapImpl(new HashMap<>());
+    map.add("image", testModel, new StringBuilder());
+    StringBuilder output = new StringBuilder();
+    new ImageControllerImpl(output, map).run(new StringReader(
+            "color-matrix 0 0 1 0 0 1 0 0 1 0 0 0 image swapped "
+                    + "color-matrix 0 0 1 0 0 1 0 0 one 0 0 0 image invalid"), false);
+    assertEquals(0x3264C8, map.find("swapped").getRGB(1, 1));
+    assertEquals("Edit completed.\n"
+            + "Matrix values must be numbers between -65536 and 65536.\n", output.toString());
+  }
+}
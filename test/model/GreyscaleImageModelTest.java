@@ -0,0 +1,92 @@
+package model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link GreyscaleImageModel}.
+ */
+public class GreyscaleImageModelTest {
+  GreyscaleImageModel testModel;
+  byte[] values;
+
+  // Initialize values for testing
+  @Before
+  public void init() {
+    values = new byte[]{0, (byte) 255, 122, 100, 5, (byte) 200};
+    testModel = new GreyscaleImageModel(values, 2, 3);
+  }
+
+  // Tests that the constructor will throw an exception when given a null plane
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullValues() {
+    new GreyscaleImageModel(null, 1, 1);
+  }
+
+  // Tests that the constructor will throw an exception when the plane does not match the
+  // given dimensions
+  @Test(expected = IllegalArgumentException.class)
+  public void testMismatchedDimensions() {
+    new GreyscaleImageModel(values, 3, 3);
+  }
+
+  // Tests that getPixelAt repeats the greyscale value in every channel
+  @Test
+  public void testGetPixelAt() {
+    assertEquals(new Pixel(0, 0, 0), testModel.getPixelAt(0, 0));
+    assertEquals(new Pixel(255, 255, 255), testModel.getPixelAt(0, 1));
+    assertEquals(new Pixel(100, 100, 100), testModel.getPixelAt(1, 0));
+    assertEquals(new Pixel(200, 200, 200), testModel.getPixelAt(1, 2));
+  }
+
+  // Tests that getValue and getRGB read the intended values
+  @Test
+  public void testGetValueAndRGB() {
+    assertEquals(122, testModel.getValue(0, 2));
+    assertEquals(0x7A7A7A, testModel.getRGB(0, 2));
+    int[] row = new int[3];
+    testModel.getRow(1, row);
+    assertEquals(0x646464, row[0]);
+    assertEquals(0xC8C8C8, row[2]);
+  }
+
+  // Tests that getValue will throw an exception beyond the dimensions of the image
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetValueOutOfBounds() {
+    testModel.getValue(0, 3);
+  }
+
+  // Tests that views of a lazy greyscale image model are greyscale before and after the lazy
+  // image model is computed, and stay greyscale once they are materialized
+  @Test
+  public void testLazyGreyscale() {
+    ImageModel colour = new PackedImageModel(new int[]{0x102030, 0x405060}, 1, 2);
+    LazyImageModel luma = LazyImageModel.of(colour, "average",
+            ColorMatrix.of(0.5, 0.5, 0, 0.5, 0.5, 0, 0.5, 0.5, 0).toPixelOperation());
+    RemappedImageModel flipped = (RemappedImageModel) RemappedImageModel.flip(luma,
+            Flip.HORIZONTAL);
+    assertTrue(GreyscaleImageModel.isGreyscale(luma));
+    assertTrue(GreyscaleImageModel.isGreyscale(flipped));
+    luma.materialize();
+    assertTrue(GreyscaleImageModel.isGreyscale(luma));
+    assertTrue(GreyscaleImageModel.isGreyscale(flipped));
+    flipped.materialize();
+    assertTrue(GreyscaleImageModel.isGreyscale(flipped));
+    assertFalse(GreyscaleImageModel.isGreyscale(RemappedImageModel.flip(colour,
+            Flip.HORIZONTAL)));
+  }
+
+  // Tests that other image models accept a greyscale image model without copying its plane
+  @Test
+  public void testConversions() {
+    PlanarImageModel planar = PlanarImageModel.from(testModel);
+    assertSame(values, planar.getPlane(Channel.RED));
+    assertSame(values, planar.getPlane(Channel.BLUE));
+    assertEquals(0xFFFFFF, PackedImageModel.from(testModel).getRGB(0, 1));
+  }
+}
@@ -0,0 +1,57 @@
+package model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link ImageModelBuilder}.
+ */
+public class ImageModelBuilderTest {
+  ImageModelBuilder builder;
+
+  // Initialize a builder for testing
+  @Before
+  public void init() {
+    builder = new ImageModelBuilder(2, 3);
+  }
+
+  // Tests that the constructor will throw an exception when given a negative dimension
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeDimensions() {
+    new ImageModelBuilder(2, -3);
+  }
+
+  // Tests that pixels, rows, and regions set on the builder are held by the built image model
+  @Test
+  public void testBuild() {
+    builder.setRGB(0, 0, 0x010203)
+            .setRow(1, new int[]{0x040506, 0x070809, 0x0A0B0C})
+            .setRegion(1, 0, 2, 1, new int[]{0, 0xFF0000, 0x00FF00}, 1, 2);
+    PackedImageModel model = builder.build();
+    assertEquals(new Pixel(1, 2, 3), model.getPixelAt(0, 0));
+    assertEquals(new Pixel(255, 0, 0), model.getPixelAt(0, 1));
+    assertEquals(new Pixel(0, 255, 0), model.getPixelAt(0, 2));
+    assertEquals(new Pixel(10, 11, 12), model.getPixelAt(1, 2));
+  }
+
+  // Tests that values beyond 0xFFFFFF are masked to the red, green, and blue bytes
+  @Test
+  public void testMasked() {
+    assertEquals(0x123456, builder.setRGB(1, 1, 0xFF123456).build().getRGB(1, 1));
+  }
+
+  // Tests that setRGB will throw an exception beyond the dimensions of the image
+  @Test(expected = IllegalArgumentException.class)
+  public void testSetRGBOutOfBounds() {
+    builder.setRGB(2, 0, 0);
+  }
+
+  // Tests that the builder can no longer be used once the image model has been built
+  @Test(expected = IllegalStateException.class)
+  public void testUsedAfterBuild() {
+    builder.build();
+    builder.setRGB(0, 0, 0);
+  }
+}
@@ -62,7 +62,29 @@ public class ImageModelImplTest {
     assertEquals(new Pixel(5, 255, 5), testModel.getPixelAt(2, 1));
     assertEquals(new Pixel(5, 5, 255), testModel.getPixelAt(2, 2));
   }
-}
 
+  // Tests that the default bulk accessors read the packed values of the pixels
+  @Test
+  public void testDefaultBulkAccessors() {
+    assertEquals(0x7A7B7A, testModel.getRGB(0, 2));
+    int[] row = new int[3];
+    testModel.getRow(1, row);
+    assertEquals(0x640505, row[0]);
+    assertEquals(0x050564, row[2]);
+    int[] region = new int[5];
+    testModel.getRegion(1, 1, 2, 2, region, 0, 3);
+    assertEquals(0x056405, region[0]);
+    assertEquals(0x050564, region[1]);
+    assertEquals(0x05FF05, region[3]);
+    assertEquals(0x0505FF, region[4]);
+  }
+
+  // Tests that the default region accessor will throw an exception beyond the dimensions of
+  // the image
+  @Test(expected = IllegalArgumentException.class)
+  public void testDefaultGetRegionOutOfBounds() {
+    testModel.getRegion(2, 0, 2, 1, new int[2], 0, 2);
+  }
+}
 
 
@@ -0,0 +1,80 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for {@link ImagePyramid}.
+ */
+public class ImagePyramidTest {
+
+  // Tests that each level halves the size of the level before it, rounding up, until a level
+  // is a single pixel
+  @Test
+  public void testLevelSizes() {
+    ImagePyramid pyramid = new ImagePyramid(new PackedImageModel(new int[5 * 12], 5, 12));
+    assertEquals(5, pyramid.getLevelCount());
+    int[][] sizes = {{5, 12}, {3, 6}, {2, 3}, {1, 2}, {1, 1}};
+    for (int i = 0; i < sizes.length; i++) {
+      assertEquals(sizes[i][0], pyramid.getLevel(i).getImageHeight());
+      assertEquals(sizes[i][1], pyramid.getLevel(i).getImageWidth());
+    }
+    assertEquals(1, new ImagePyramid(new PackedImageModel(new int[0], 0, 0)).getLevelCount());
+  }
+
+  // Tests that a level outside of the pyramid cannot be read
+  @Test(expected = IllegalArgumentException.class)
+  public void testLevelOutOfRange() {
+    new ImagePyramid(new PackedImageModel(new int[4], 2, 2)).getLevel(2);
+  }
+
+  // Tests that each level is computed once and averages the pixels of the level before it
+  @Test
+  public void testLevelsAreKept() {
+    int[] pixels = new int[8 * 8];
+    Arrays.fill(pixels, 0x336699);
+    ImageModel model = new PackedImageModel(pixels, 8, 8);
+    ImagePyramid pyramid = new ImagePyramid(model);
+    assertSame(model, pyramid.getLevel(0));
+    ImageModel level = pyramid.getLevel(2);
+    assertSame(level, pyramid.getLevel(2));
+    assertEquals(0x336699, level.getRGB(1, 1));
+  }
+
+  // Tests that the smallest level that is at least the requested size is found
+  @Test
+  public void testFindLevel() {
+    ImageModel model = new PackedImageModel(new int[100 * 80], 100, 80);
+    ImagePyramid pyramid = new ImagePyramid(model);
+    assertSame(model, pyramid.findLevel(100, 80));
+    assertSame(model, pyramid.findLevel(51, 10));
+    assertSame(pyramid.getLevel(1), pyramid.findLevel(50, 40));
+    assertSame(pyramid.getLevel(2), pyramid.findLevel(20, 20));
+    assertSame(pyramid.getLevel(pyramid.getLevelCount() - 1), pyramid.findLevel(1, 1));
+    assertSame(model, pyramid.findLevel(200, 200));
+  }
+
+  // Tests that a map keeps the pyramid of an image model until the image model is overwritten
+  @Test
+  public void testMapInvalidatesPyramid() {
+    ImageModelMap map = new ImageModelMapImpl(new HashMap<>());
+    map.add("image", new PackedImageModel(new int[64 * 64], 64, 64), new StringBuilder());
+    ImageModel level = map.findLevel("image", 16, 16);
+    assertEquals(16, level.getImageHeight());
+    assertSame(level, map.findLevel("image", 10, 16));
+    int[] pixels = new int[64 * 64];
+    Arrays.fill(pixels, 0xFFFFFF);
+    map.add("image", new PackedImageModel(pixels, 64, 64), new StringBuilder());
+    ImageModel newLevel = map.findLevel("image", 16, 16);
+    assertNotSame(level, newLevel);
+    assertEquals(0xFFFFFF, newLevel.getRGB(0, 0));
+    assertNull(map.findLevel("missing", 1, 1));
+  }
+}
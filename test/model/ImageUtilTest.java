@@ -0,0 +1,77 @@
+package model;
+
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link ImageUtil}.
+ */
+public class ImageUtilTest {
+  private static final int[] TYPES = {BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_INT_ARGB,
+                                      BufferedImage.TYPE_INT_BGR, BufferedImage.TYPE_3BYTE_BGR,
+                                      BufferedImage.TYPE_4BYTE_ABGR,
+                                      BufferedImage.TYPE_BYTE_INDEXED,
+                                      BufferedImage.TYPE_BYTE_BINARY,
+                                      BufferedImage.TYPE_USHORT_565_RGB};
+
+  // Tests that the rows read from every type of BufferedImage, whether their samples are read
+  // directly or through the color model, match the colors that the image reports
+  @Test
+  public void testReadRows() {
+    Random random = new Random(5);
+    for (int type : TYPES) {
+      BufferedImage image = new BufferedImage(37, 23, type);
+      for (int i = 0; i < 23; i++) {
+        for (int j = 0; j < 37; j++) {
+          image.setRGB(j, i, 0xFF000000 | random.nextInt(0x1000000));
+        }
+      }
+      int[] pixels = new int[37 * 20 + 5];
+      ImageUtil.readRows(image, 3, 20, pixels, 5);
+      for (int i = 0; i < 20; i++) {
+        for (int j = 0; j < 37; j++) {
+          assertEquals(image.getRGB(j, i + 3) & 0xFFFFFF, pixels[5 + i * 37 + j]);
+        }
+      }
+    }
+  }
+
+  // Tests that a part of another BufferedImage, whose raster is translated, is read correctly
+  @Test
+  public void testReadSubimage() {
+    BufferedImage image = new BufferedImage(10, 10, BufferedImage.TYPE_3BYTE_BGR);
+    image.setRGB(4, 6, 0x123456);
+    int[] pixels = new int[5 * 5];
+    ImageUtil.readRows(image.getSubimage(2, 3, 5, 5), 0, 5, pixels, 0);
+    assertEquals(0x123456, pixels[3 * 5 + 2]);
+    assertEquals(0, pixels[0]);
+  }
+
+  // Tests that a region of an image model is rendered to every type of BufferedImage that can
+  // hold its colors exactly
+  @Test
+  public void testRenderRegion() {
+    Random random = new Random(6);
+    int[] rgb = new int[30 * 40];
+    for (int i = 0; i < rgb.length; i++) {
+      rgb[i] = random.nextInt(0x1000000);
+    }
+    ImageModel model = new PackedImageModel(rgb, 30, 40);
+    int[] types = {BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_INT_ARGB,
+                   BufferedImage.TYPE_INT_BGR, BufferedImage.TYPE_3BYTE_BGR,
+                   BufferedImage.TYPE_4BYTE_ABGR};
+    for (int type : types) {
+      BufferedImage image = new BufferedImage(25, 20, type);
+      ImageUtil.renderBufferedImage(image, model, 10, 5, 25, 20);
+      for (int i = 0; i < 20; i++) {
+        for (int j = 0; j < 25; j++) {
+          assertEquals(0xFF000000 | model.getRGB(i + 5, j + 10), image.getRGB(j, i));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,178 @@
+package model;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Random;
+
+import controller.ImageControllerImpl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link Kernel}.
+ */
+public class KernelTest {
+
+  // Tests that a kernel will throw an exception when given an even size
+  @Test(expected = IllegalArgumentException.class)
+  public void testEvenSize() {
+    Kernel.of(2, 1, 0, 0, 0);
+  }
+
+  // Tests that a kernel will throw an exception when parsed from rows that are not square
+  @Test(expected = IllegalArgumentException.class)
+  public void testNotSquare() {
+    Kernel.parse("1 2 1; 2 4");
+  }
+
+  // Tests that a kernel will throw an exception when given a weight that is too large
+  @Test(expected = IllegalArgumentException.class)
+  public void testWeightTooLarge() {
+    Kernel.of(1, 2000);
+  }
+
+  // Tests that rows may be separated by semicolons or lines, that weights may be fractions,
+  // and that comments are ignored
+  @Test
+  public void testParse() {
+    assertEquals(3, Kernel.parse("# box blur\n1/9 1/9 1/9\n1/9,1/9,1/9;1/9 1/9 1/9").getSize());
+    ImageModel grey = new GreyscaleImageModel(new byte[]{9, 9, 9, 9}, 2, 2);
+    ImageModel blurred = Kernel.parse("1/9 1/9 1/9; 1/9 1/9 1/9; 1/9 1/9 1/9")
+            .convolve(grey, Border.CLAMP);
+    assertEquals(new Pixel(9, 9, 9), blurred.getPixelAt(1, 1));
+  }
+
+  // Tests that each border finds the pixels beyond the edges of an image model
+  @Test
+  public void testBorders() {
+    ImageModel row = new GreyscaleImageModel(new byte[]{10, 20, 30}, 1, 3);
+    Kernel left = Kernel.parse("0 0 0; 1 0 0; 0 0 0");
+    assertBorder(left.convolve(row, Border.ZERO), 0, 10, 20);
+    assertBorder(left.convolve(row, Border.CLAMP), 10, 10, 20);
+    assertBorder(left.convolve(row, Border.MIRROR), 20, 10, 20);
+    assertBorder(left.convolve(row, Border.WRAP), 30, 10, 20);
+  }
+
+  // Tests that the interior and the edges of an image model are convolved exactly, by
+  // comparing with a direct sum of every tap
+  @Test
+  public void testMatchesDirectSum() {
+    Random random = new Random(7);
+    int[] pixels = new int[7 * 9];
+    for (int i = 0; i < pixels.length; i++) {
+      pixels[i] = random.nextInt(0x1000000);
+    }
+    ImageModel model = new PackedImageModel(pixels, 7, 9);
+    int[] numerators = new int[25];
+    double[] weights = new double[25];
+    for (int i = 0; i < 25; i++) {
+      numerators[i] = random.nextInt(9) - 3;
+      weights[i] = numerators[i] / 16.0;
+    }
+    ImageModel result = Kernel.of(5, weights).convolve(model, Border.ZERO);
+    for (int row = 0; row < 7; row++) {
+      for (int col = 0; col < 9; col++) {
+        for (int shift = 0; shift <= 16; shift += 8) {
+          int sum = 0;
+          for (int a = -2; a <= 2; a++) {
+            for (int b = -2; b <= 2; b++) {
+              if (row + a >= 0 && row + a < 7 && col + b >= 0 && col + b < 9) {
+                sum += numerators[(a + 2) * 5 + b + 2]
+                        * ((pixels[(row + a) * 9 + col + b] >> shift) & 0xFF);
+              }
+            }
+          }
+          int expected = Math.max(0, Math.min(255, Math.floorDiv(sum, 16)));
+          assertEquals(expected, (result.getRGB(row, col) >> shift) & 0xFF);
+        }
+      }
+    }
+  }
+
+  // Tests that kernels whose weights are fractions of powers of two compute the interior across
+  // rows of int sums with the same result as computing it one pixel at a time
+  @Test
+  public void testVectorizedMatchesScalar() {
+    Random random = new Random(5);
+    byte[] plane = new byte[40 * 50];
+    random.nextBytes(plane);
+    assertTrue(Kernel.parse("1/16 1/8 1/16; 1/8 1/4 1/8; 1/16 1/8 1/16").isVectorized());
+    assertFalse(Kernel.parse("1/9 1/9 1/9; 1/9 1/9 1/9; 1/9 1/9 1/9").isVectorized());
+    for (int size = 1; size <= 7; size += 2) {
+      double[] weights = new double[size * size];
+      for (int i = 0; i < weights.length; i++) {
+        weights[i] = (random.nextInt(33) - 8) / 32.0;
+      }
+      Kernel kernel = Kernel.of(size, weights);
+      assertTrue(kernel.isVectorized());
+      assertFalse(kernel.scalar().isVectorized());
+      for (Border border : Border.values()) {
+        assertArrayEquals(kernel.scalar().convolve(plane, 40, 50, border),
+                kernel.convolve(plane, 40, 50, border));
+      }
+    }
+  }
+
+  // Tests that the convolve command reads its kernel inline or from a file, and reports an
+  // invalid kernel or border
+  @Test
+  public void testConvolveCommand() throws IOException {
+    File file = File.createTempFile("kernel", ".txt");
+    file.deleteOnExit();
+    Files.write(file.toPath(), "0 0 0\n0 0 1\n0 0 0\n".getBytes());
+    ImageModelMap map = new ImageModelMapImpl(new HashMap<>());
+    map.add("image", new PackedImageModel(new int[]{0x010203, 0x040506}, 1, 2),
+            new StringBuilder());
+    StringBuilder output = new StringBuilder();
+    new ImageControllerImpl(output, map).run(new StringReader(
+            "convolve 0,0,0;1,0,0;0,0,0 wrap image left convolve " + file.getPath()
+                    + " clamp image right convolve 1,2 zero image a "
+                    + "convolve 0,0,0;0,1,0;0,0,0 sideways image b"), false);
+    assertEquals(0x040506, map.find("left").getRGB(0, 0));
+    assertTrue(map.find("right") instanceof PlanarImageModel);
+    assertEquals(0x040506, map.find("right").getRGB(0, 0));
+    assertEquals(0x040506, map.find("right").getRGB(0, 1));
+    assertEquals("Edit completed.\nEdit completed.\n"
+            + "Kernel must be a square of numbers with an odd size of at most 63.\n"
+            + "Border must be zero, clamp, mirror, or wrap.\n", output.toString());
+  }
+
+  // Tests that a lazy map only reuses the result of an earlier convolve command when the
+  // weights of the kernels are the same, not when a kernel file has changed in between
+  @Test
+  public void testConvolveCommandEquivalence() throws IOException {
+    File file = File.createTempFile("kernel", ".txt");
+    file.deleteOnExit();
+    ImageModelMap map = new ImageModelMapImpl(new HashMap<>(), true);
+    map.add("image", new PackedImageModel(new int[]{0x010203, 0x040506}, 1, 2),
+            new StringBuilder());
+    StringBuilder output = new StringBuilder();
+    Files.write(file.toPath(), "0 0 0\n0 0 1\n0 0 0\n".getBytes());
+    new ImageControllerImpl(output, map).run(new StringReader("convolve " + file.getPath()
+            + " clamp image right"), false);
+    Files.write(file.toPath(), "0 0 0\n1 0 0\n0 0 0\n".getBytes());
+    new ImageControllerImpl(output, map).run(new StringReader("convolve " + file.getPath()
+            + " clamp image left convolve 0,0,0;1/1,0,0;0,0,0 clamp image same"), false);
+    assertNotSame(map.find("right"), map.find("left"));
+    assertSame(map.find("left"), map.find("same"));
+    assertEquals(0x040506, map.find("right").getRGB(0, 0));
+    assertEquals(0x010203, map.find("left").getRGB(0, 1));
+  }
+
+  // Checks the values of a convolved row of three greyscale pixels
+  private void assertBorder(ImageModel model, int first, int second, int third) {
+    assertEquals(new Pixel(first, first, first), model.getPixelAt(0, 0));
+    assertEquals(new Pixel(second, second, second), model.getPixelAt(0, 1));
+    assertEquals(new Pixel(third, third, third), model.getPixelAt(0, 2));
+  }
+}
@@ -0,0 +1,130 @@
+package model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.HashMap;
+
+import controller.ImageControllerImpl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link LazyImageModel}.
+ */
+public class LazyImageModelTest {
+  PackedImageModel testModel;
+  int[] passes;
+  PixelOperation addOne;
+
+  // Initialize a model and an operation that counts how many pixels it has been performed on
+  @Before
+  public void init() {
+    testModel = new PackedImageModel(new int[]{0x010203, 0x040506}, 1, 2);
+    passes = new int[1];
+    addOne = new PixelOperation(rgb -> {
+      passes[0]++;
+      return rgb + 0x010101;
+    }, false);
+  }
+
+  // Tests that nothing is computed until a pixel is read, and that the result is kept
+  @Test
+  public void testComputedOnRead() {
+    LazyImageModel lazy = LazyImageModel.of(testModel, "add", addOne);
+    assertEquals(0, passes[0]);
+    assertFalse(lazy.isComputed());
+    assertEquals(new Pixel(2, 3, 4), lazy.getPixelAt(0, 0));
+    assertTrue(lazy.isComputed());
+    assertEquals(new Pixel(5, 6, 7), lazy.getPixelAt(0, 1));
+    assertEquals(2, passes[0]);
+  }
+
+  // Tests that adjacent pixel operations are fused into one operation over the original input
+  @Test
+  public void testFusion() {
+    LazyImageModel first = LazyImageModel.of(testModel, "add", addOne);
+    LazyImageModel second = LazyImageModel.of(first, "add", addOne);
+    assertTrue(second.dependsOn(testModel));
+    assertFalse(second.dependsOn(first));
+    assertEquals(new Pixel(3, 4, 5), second.getPixelAt(0, 0));
+    assertFalse(first.isComputed());
+  }
+
+  // Tests that fused operations are compared one by one, so that descriptions containing
+  // commas are not mistaken for several operations
+  @Test
+  public void testFusedOperationsCompared() {
+    LazyImageModel first = LazyImageModel.of(testModel, "a", addOne);
+    LazyImageModel fused = LazyImageModel.of(first, "b", addOne);
+    LazyImageModel single = LazyImageModel.of(testModel, "a,b", addOne);
+    LazyImageModel other = LazyImageModel.of(LazyImageModel.of(testModel, "a,c", addOne), "d",
+        addOne);
+    assertTrue(fused.isFusedFrom(first));
+    assertFalse(fused.isEquivalentTo(single));
+    assertFalse(fused.isFusedFrom(single));
+    assertFalse(other.isFusedFrom(first));
+  }
+
+  // Tests that the inputs of an image model are computed without keeping their results
+  @Test
+  public void testInputsNotKept() {
+    LazyImageModel first = LazyImageModel.of(testModel, "copy",
+        model -> PackedImageModel.from(model));
+    LazyImageModel second = LazyImageModel.of(first, "copy",
+        model -> PackedImageModel.from(model));
+    assertEquals(0x040506, PackedImageModel.from(second).getRGB(0, 1));
+    assertTrue(second.isComputed());
+    assertFalse(second.dependsOn(testModel));
+    assertFalse(first.isComputed());
+  }
+
+  // Tests that force computes a lazy image model and leaves other image models as they are
+  @Test
+  public void testForce() {
+    ImageModel forced = LazyImageModel.force(LazyImageModel.of(testModel, "add", addOne));
+    assertTrue(forced instanceof PackedImageModel);
+    assertSame(testModel, LazyImageModel.force(testModel));
+    assertEquals(null, LazyImageModel.force(null));
+  }
+
+  // Tests that a map reuses an equivalent lazy image model instead of adding a second one
+  @Test
+  public void testCommonSubexpressions() {
+    ImageModelMap map = new ImageModelMapImpl(new HashMap<>(), true);
+    StringBuilder output = new StringBuilder();
+    map.add("first", LazyImageModel.of(testModel, "add", addOne), output);
+    map.add("second", LazyImageModel.of(testModel, "add", addOne), output);
+    map.add("third", LazyImageModel.of(testModel, "other", addOne), output);
+    assertSame(map.find("first"), map.find("second"));
+    assertNotSame(map.find("first"), map.find("third"));
+  }
+
+  // Tests that a lazy script produces the same images as an eager script, and only computes
+  // the image that is saved
+  @Test
+  public void testLazyScript() {
+    String script = "load test/image.ppm image brighten 30 image bright "
+            + "sepia-tone bright sepia horizontal-flip sepia flipped "
+            + "luma-component flipped luma blur luma blurred ";
+    ImageModelMap eager = new ImageModelMapImpl(new HashMap<>());
+    new ImageControllerImpl(new StringBuilder(), eager).run(new StringReader(script), false);
+    ImageModelMap lazy = new ImageModelMapImpl(new HashMap<>(), true);
+    new ImageControllerImpl(new StringBuilder(), lazy).run(new StringReader(script), false);
+    assertTrue(lazy.find("bright") instanceof LazyImageModel);
+    ImageModel blurred = LazyImageModel.force(lazy.find("blurred"));
+    assertTrue(blurred instanceof GreyscaleImageModel);
+    assertFalse(((LazyImageModel) lazy.find("bright")).isComputed());
+    ImageModel expected = eager.find("blurred");
+    for (int i = 0; i < expected.getImageHeight(); i++) {
+      for (int j = 0; j < expected.getImageWidth(); j++) {
+        assertEquals(expected.getPixelAt(i, j), blurred.getPixelAt(i, j));
+      }
+    }
+  }
+}
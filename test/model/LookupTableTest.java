@@ -0,0 +1,138 @@
+package model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.HashMap;
+
+import controller.ImageControllerImpl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link LookupTable}.
+ */
+public class LookupTableTest {
+  PackedImageModel testModel;
+
+  // Initialize a model with a black, a white, and two colored pixels
+  @Before
+  public void init() {
+    testModel = new PackedImageModel(new int[]{0x000000, 0xFFFFFF, 0x102030, 0x7D14E6}, 2, 2);
+  }
+
+  // Tests that levels will throw an exception when the black point is above the white point
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidLevels() {
+    LookupTable.levels(200, 50);
+  }
+
+  // Tests that gamma will throw an exception when given a gamma that is not positive
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidGamma() {
+    LookupTable.gamma(0);
+  }
+
+  // Tests that a curve will throw an exception when its points are not in increasing order
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidCurve() {
+    LookupTable.curve(new int[]{0, 128, 100}, new int[]{0, 64, 255});
+  }
+
+  // Tests that brightening, inverting, and contrast clamp their results to 0 and 255
+  @Test
+  public void testPointOperations() {
+    assertEquals(0x42FFFF, LookupTable.brighten(50).apply(0x10F0FF));
+    assertEquals(0x00DCEB, LookupTable.brighten(-20).apply(0x10F0FF));
+    assertEquals(0xFFFFFF, LookupTable.brighten(Integer.MAX_VALUE).apply(0x10F0FF));
+    assertEquals(0xEFDFCF, LookupTable.invert().apply(0x102030));
+    assertEquals(0x48FF00, LookupTable.contrast(2).apply(0x64C800));
+  }
+
+  // Tests that gamma correction keeps black and white, and brightens the midtones
+  @Test
+  public void testGamma() {
+    LookupTable gamma = LookupTable.gamma(2.2);
+    assertEquals(0x000000, gamma.apply(0x000000));
+    assertEquals(0xFFFFFF, gamma.apply(0xFFFFFF));
+    assertEquals(0xBA8800, gamma.apply(0x804000));
+  }
+
+  // Tests that levels stretch the values between the black and white points, rounding them
+  @Test
+  public void testLevels() {
+    LookupTable levels = LookupTable.levels(50, 200);
+    assertEquals(0x0080FF, levels.apply(0x327DC8));
+    assertEquals(0x0000FF, levels.apply(0x1400E6));
+  }
+
+  // Tests that a curve is drawn through its points and is flat beyond its first and last points
+  @Test
+  public void testCurve() {
+    LookupTable curve = LookupTable.curve(new int[]{0, 128, 255}, new int[]{0, 64, 255});
+    assertEquals(0x2040A0, curve.apply(0x4080C0));
+    LookupTable constant = LookupTable.curve(new int[]{100}, new int[]{50});
+    assertEquals(0x323232, constant.apply(0x00FF64));
+  }
+
+  // Tests that combined lookup tables map every value through both tables, and that tables
+  // with a different curve for each channel are not uniform
+  @Test
+  public void testAndThen() {
+    LookupTable combined = LookupTable.brighten(50).andThen(LookupTable.invert());
+    assertTrue(combined.isUniform());
+    assertEquals(0xBDAD9D, combined.apply(0x102030));
+    LookupTable channels = LookupTable.of(value -> value, value -> 0, value -> 255);
+    assertFalse(channels.isUniform());
+    assertEquals(0x1200FF, channels.apply(0x123456));
+  }
+
+  // Tests that pixel operations of lookup tables are combined, and that a greyscale operation
+  // followed by a uniform lookup table stays greyscale
+  @Test
+  public void testPixelOperations() {
+    PixelOperation twice = LookupTable.brighten(10).toPixelOperation()
+            .andThen(LookupTable.brighten(20).toPixelOperation());
+    assertEquals(0x2E3E4E, twice.apply(0x102030));
+    PixelOperation red = new PixelOperation(rgb -> ((rgb >> 16) & 0xFF) * 0x010101, true);
+    assertTrue(red.andThen(LookupTable.invert().toPixelOperation()).isGreyscale());
+    assertFalse(red.andThen(LookupTable.of(value -> value, value -> 0, value -> 0)
+            .toPixelOperation()).isGreyscale());
+  }
+
+  // Tests that a uniform table keeps a greyscale image model greyscale, and that other image
+  // models are mapped into a packed image model
+  @Test
+  public void testApplyTo() {
+    ImageModel grey = new GreyscaleImageModel(new byte[]{0, 100}, 1, 2);
+    ImageModel brightGrey = LookupTable.brighten(10).applyTo(grey);
+    assertTrue(brightGrey instanceof GreyscaleImageModel);
+    assertEquals(new Pixel(110, 110, 110), brightGrey.getPixelAt(0, 1));
+    ImageModel inverted = LookupTable.invert().applyTo(testModel);
+    assertTrue(inverted instanceof PackedImageModel);
+    assertEquals(0xFFFFFF, inverted.getRGB(0, 0));
+    assertEquals(0x82EB19, inverted.getRGB(1, 1));
+  }
+
+  // Tests that the levels, gamma, and curves commands transform an image, and report invalid
+  // parameters
+  @Test
+  public void testCommands() {
+    ImageModelMap map = new ImageModelMapImpl(new HashMap<>());
+    map.add("image", testModel, new StringBuilder());
+    StringBuilder output = new StringBuilder();
+    new ImageControllerImpl(output, map).run(new StringReader(
+            "levels 50 200 image levels gamma 1 image gamma curves 0:255,255:0 image curves "
+                    + "levels 200 50 image a gamma -1 image b curves 0:0,x image c"), false);
+    assertEquals(0x8000FF, map.find("levels").getRGB(1, 1));
+    assertEquals(0x7D14E6, map.find("gamma").getRGB(1, 1));
+    assertEquals(0x82EB19, map.find("curves").getRGB(1, 1));
+    assertEquals("Edit completed.\nEdit completed.\nEdit completed.\n"
+            + "Levels must satisfy 0 <= black < white <= 255.\n"
+            + "Gamma must be a positive number.\n"
+            + "Curve points must be given as old:new pairs.\n", output.toString());
+  }
+}
@@ -0,0 +1,202 @@
+package model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link OffHeapImageModel}.
+ */
+public class OffHeapImageModelTest {
+  OffHeapImageModel testModel;
+
+  // Initialize pixels for testing
+  @Before
+  public void init() {
+    testModel = new OffHeapImageModel(2, 3);
+    testModel.setRow(0, new int[]{0x000000, 0xFFFFFF, 0x7A7B7A});
+    testModel.setRow(1, new int[]{0x640505, 0x056405, 0x050564});
+  }
+
+  // Tests that the constructor will throw an exception when given a negative dimension
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeDimensions() {
+    new OffHeapImageModel(-1, 3);
+  }
+
+  // Tests that the pixels set in each row can be read back
+  @Test
+  public void testGetPixelAt() {
+    assertEquals(new Pixel(0, 0, 0), testModel.getPixelAt(0, 0));
+    assertEquals(new Pixel(255, 255, 255), testModel.getPixelAt(0, 1));
+    assertEquals(new Pixel(122, 123, 122), testModel.getPixelAt(0, 2));
+    assertEquals(new Pixel(5, 5, 100), testModel.getPixelAt(1, 2));
+    assertEquals(0x056405, testModel.getRGB(1, 1));
+  }
+
+  // Tests that getRegion copies the intended values
+  @Test
+  public void testGetRegion() {
+    int[] region = new int[4];
+    testModel.getRegion(1, 0, 2, 2, region, 0, 2);
+    assertEquals(0xFFFFFF, region[0]);
+    assertEquals(0x7A7B7A, region[1]);
+    assertEquals(0x056405, region[2]);
+    assertEquals(0x050564, region[3]);
+  }
+
+  // Tests that setRow will throw an exception beyond the dimensions of the image
+  @Test(expected = IllegalArgumentException.class)
+  public void testSetRowOutOfBounds() {
+    testModel.setRow(2, new int[3]);
+  }
+
+  // Tests that getRow will throw an exception when the array is too small
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetRowTooSmall() {
+    testModel.getRow(0, new int[2]);
+  }
+
+  // Tests that the pixels can no longer be read once the image model is closed
+  @Test(expected = IllegalStateException.class)
+  public void testClosed() {
+    testModel.close();
+    assertTrue(testModel.isClosed());
+    testModel.getPixelAt(0, 0);
+  }
+
+  // Tests that from copies the pixels of another image model
+  @Test
+  public void testFrom() {
+    OffHeapImageModel copy = OffHeapImageModel.from(
+            new PackedImageModel(new int[]{0x010203, 0x040506}, 2, 1));
+    assertEquals(new Pixel(1, 2, 3), copy.getPixelAt(0, 0));
+    assertEquals(new Pixel(4, 5, 6), copy.getPixelAt(1, 0));
+  }
+
+  // Tests that an image model map closes an image model once it has been overwritten under
+  // every name it was stored under
+  @Test
+  public void testClosedWhenOverwritten() {
+    ImageModelMap map = new ImageModelMapImpl(new HashMap<>());
+    StringBuilder output = new StringBuilder();
+    map.add("first", testModel, output);
+    map.add("second", testModel, output);
+    map.add("first", new PackedImageModel(new int[1], 1, 1), output);
+    assertFalse(testModel.isClosed());
+    map.add("second", new PackedImageModel(new int[1], 1, 1), output);
+    assertTrue(testModel.isClosed());
+  }
+
+  // Tests that pixels mapped from a file are read from it, are copied before a row is set so
+  // that the file is unchanged, and keep the file from being overwritten until then
+  @Test
+  public void testMap() throws IOException {
+    byte[] bytes = {'H', 'E', 'A', 'D', 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12};
+    Path path = Files.createTempFile("mapped", ".ppm");
+    try {
+      Files.write(path, bytes);
+      OffHeapImageModel mapped;
+      try (FileChannel file = FileChannel.open(path)) {
+        mapped = OffHeapImageModel.map(file, path, 4, 2, 2);
+      }
+      assertTrue(mapped.isMapped());
+      assertTrue(OffHeapImageModel.isMappedFrom(path.toString()));
+      assertEquals(0x010203, mapped.getRGB(0, 0));
+      assertEquals(0x0A0B0C, mapped.getRGB(1, 1));
+      mapped.setRow(0, new int[]{0xFFFFFF, 0x000000});
+      assertFalse(mapped.isMapped());
+      assertFalse(OffHeapImageModel.isMappedFrom(path.toString()));
+      assertEquals(0xFFFFFF, mapped.getRGB(0, 0));
+      assertEquals(0x070809, mapped.getRGB(1, 0));
+      assertTrue(Arrays.equals(bytes, Files.readAllBytes(path)));
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  // Tests that a file cannot be mapped if it ends before every pixel
+  @Test(expected = IllegalArgumentException.class)
+  public void testMapShortFile() throws IOException {
+    Path path = Files.createTempFile("mapped", ".ppm");
+    try {
+      Files.write(path, new byte[11]);
+      try (FileChannel file = FileChannel.open(path)) {
+        OffHeapImageModel.map(file, path, 0, 2, 2);
+      }
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  // Tests that a new image model starts black and leaves no temporary file behind once its
+  // buffers have been mapped
+  @Test
+  public void testTemporaryFileDeleted() throws IOException {
+    Path directory = Paths.get(System.getProperty("java.io.tmpdir"));
+    long before = countTemporaryFiles(directory);
+    OffHeapImageModel model = new OffHeapImageModel(40, 50);
+    assertEquals(before, countTemporaryFiles(directory));
+    assertEquals(0, model.getRGB(39, 49));
+    model.close();
+    assertTrue(model.isClosed());
+  }
+
+  // Tests that closing an image model unmaps its buffers at once instead of waiting for the
+  // garbage collector, including the buffers that were mapped from a file before a row was set
+  @Test
+  public void testCloseUnmaps() throws IOException {
+    OffHeapImageModel model = new OffHeapImageModel(40, 50);
+    long open = mappedMemory();
+    model.close();
+    assertTrue(open - mappedMemory() >= 40 * 50 * 3);
+    Path path = Files.createTempFile("mapped", ".ppm");
+    try {
+      Files.write(path, new byte[40 * 50 * 3]);
+      OffHeapImageModel mapped;
+      try (FileChannel file = FileChannel.open(path)) {
+        mapped = OffHeapImageModel.map(file, path, 0, 40, 50);
+      }
+      open = mappedMemory();
+      mapped.setRow(0, new int[50]);
+      assertTrue(mappedMemory() <= open);
+      mapped.close();
+      assertTrue(open - mappedMemory() >= 40 * 50 * 3);
+      assertFalse(OffHeapImageModel.isMappedFrom(path.toString()));
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  // Finds the number of bytes of every buffer that is currently mapped from a file
+  private long mappedMemory() {
+    for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+      if (pool.getName().equals("mapped")) {
+        return pool.getMemoryUsed();
+      }
+    }
+    throw new IllegalStateException("No pool of mapped buffers.");
+  }
+
+  // Counts the temporary files that off-heap image models map their buffers from
+  private long countTemporaryFiles(Path directory) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(file -> file.getFileName().toString().matches("image.*\\.rgb"))
+              .count();
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for {@link PackedImageModel}.
+ */
+public class PackedImageModelTest {
+  PackedImageModel testModel;
+
+  // Initialize pixels for testing
+  @Before
+  public void init() {
+    int[] rgb = new int[]{
+        0x000000, 0xFFFFFF, 0x7A7B7A,
+        0x640505, 0x056405, 0x050564,
+        0xFF0505, 0x05FF05, 0x0505FF};
+    testModel = new PackedImageModel(rgb, 3, 3);
+  }
+
+  // Tests that the constructor will throw an exception when given a null array
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullPixels() {
+    new PackedImageModel(null, 1, 1);
+  }
+
+  // Tests that the constructor will throw an exception when the array does not match the
+  // given dimensions
+  @Test(expected = IllegalArgumentException.class)
+  public void testMismatchedDimensions() {
+    new PackedImageModel(new int[5], 2, 3);
+  }
+
+  // Tests that getPixelAt unpacks each component as intended
+  @Test
+  public void testGetPixelAt() {
+    assertEquals(new Pixel(0, 0, 0), testModel.getPixelAt(0, 0));
+    assertEquals(new Pixel(255, 255, 255), testModel.getPixelAt(0, 1));
+    assertEquals(new Pixel(122, 123, 122), testModel.getPixelAt(0, 2));
+    assertEquals(new Pixel(100, 5, 5), testModel.getPixelAt(1, 0));
+    assertEquals(new Pixel(5, 5, 255), testModel.getPixelAt(2, 2));
+  }
+
+  // Tests that getPixelAt will throw an exception beyond the dimensions of the image
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetPixelAtOutOfBounds() {
+    testModel.getPixelAt(3, 0);
+  }
+
+  // Tests that getRow and getRegion copy the intended values
+  @Test
+  public void testGetRowAndRegion() {
+    int[] row = new int[3];
+    testModel.getRow(1, row);
+    assertEquals(0x640505, row[0]);
+    assertEquals(0x050564, row[2]);
+
+    int[] region = new int[6];
+    testModel.getRegion(1, 1, 2, 2, region, 1, 3);
+    assertEquals(0x056405, region[1]);
+    assertEquals(0x050564, region[2]);
+    assertEquals(0x05FF05, region[4]);
+    assertEquals(0x0505FF, region[5]);
+  }
+
+  // Tests that getRegion will throw an exception when the region does not fit the array
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetRegionTooSmall() {
+    testModel.getRegion(0, 0, 3, 3, new int[8], 0, 3);
+  }
+
+  // Tests that from converts other image models and returns packed models unchanged
+  @Test
+  public void testFrom() {
+    assertSame(testModel, PackedImageModel.from(testModel));
+    Pixel[][] pixels = new Pixel[][]{{new Pixel(1, 2, 3), new Pixel(4, 5, 6)}};
+    PackedImageModel converted = PackedImageModel.from(new ImageModelImpl(pixels, 1, 2));
+    assertEquals(0x010203, converted.getRGB(0, 0));
+    assertEquals(new Pixel(4, 5, 6), converted.getPixelAt(0, 1));
+  }
+}
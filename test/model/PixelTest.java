@@ -4,6 +4,7 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 
 /**
  * Tests for {@link Pixel}.
@@ -123,4 +124,27 @@ public class PixelTest {
     assertEquals(red.hashCode(), red.hashCode());
     assertEquals(red.hashCode(), new Pixel(255, 0, 0).hashCode());
   }
+
+  // Tests that of returns the same instance for every equal greyscale pixel
+  @Test
+  public void testOfGreyscaleShared() {
+    for (int i = 0; i < 256; i++) {
+      assertSame(Pixel.of(i, i, i), Pixel.of(i, i, i));
+    }
+    assertSame(Pixel.of(122, 122, 122), Pixel.ofRGB(0x7A7A7A));
+  }
+
+  // Tests that of returns pixels with the given values, sharing recently used colors
+  @Test
+  public void testOfColor() {
+    assertEquals(new Pixel(100, 5, 5), Pixel.of(100, 5, 5));
+    assertSame(Pixel.of(100, 5, 5), Pixel.of(100, 5, 5));
+    assertEquals(new Pixel(5, 100, 255), Pixel.ofRGB(0x0564FF));
+  }
+
+  // Tests that of throws an exception when given an invalid color value
+  @Test(expected = IllegalArgumentException.class)
+  public void testOfInvalid() {
+    Pixel.of(0, 256, 0);
+  }
 }
@@ -0,0 +1,75 @@
+package model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for {@link PlanarImageModel}.
+ */
+public class PlanarImageModelTest {
+  PlanarImageModel testModel;
+  byte[] red;
+  byte[] green;
+  byte[] blue;
+
+  // Initialize planes for testing
+  @Before
+  public void init() {
+    red = new byte[]{0, (byte) 255, 122, 100};
+    green = new byte[]{0, (byte) 255, 123, 5};
+    blue = new byte[]{0, (byte) 255, 122, 5};
+    testModel = new PlanarImageModel(red, green, blue, 2, 2);
+  }
+
+  // Tests that the constructor will throw an exception when given a null plane
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullPlane() {
+    new PlanarImageModel(red, null, blue, 2, 2);
+  }
+
+  // Tests that the constructor will throw an exception when the planes have different sizes
+  @Test(expected = IllegalArgumentException.class)
+  public void testMismatchedPlanes() {
+    new PlanarImageModel(red, green, new byte[3], 2, 2);
+  }
+
+  // Tests that getPixelAt combines the planes as intended
+  @Test
+  public void testGetPixelAt() {
+    assertEquals(new Pixel(0, 0, 0), testModel.getPixelAt(0, 0));
+    assertEquals(new Pixel(255, 255, 255), testModel.getPixelAt(0, 1));
+    assertEquals(new Pixel(122, 123, 122), testModel.getPixelAt(1, 0));
+    assertEquals(new Pixel(100, 5, 5), testModel.getPixelAt(1, 1));
+  }
+
+  // Tests that getPlane shares the planes of the image model rather than copying them
+  @Test
+  public void testGetPlane() {
+    assertSame(red, testModel.getPlane(Channel.RED));
+    assertSame(green, testModel.getPlane(Channel.GREEN));
+    assertSame(blue, testModel.getPlane(Channel.BLUE));
+  }
+
+  // Tests that getRow packs the values of each plane
+  @Test
+  public void testGetRow() {
+    int[] row = new int[2];
+    testModel.getRow(1, row);
+    assertEquals(0x7A7B7A, row[0]);
+    assertEquals(0x640505, row[1]);
+  }
+
+  // Tests that from splits other image models into planes
+  @Test
+  public void testFrom() {
+    assertSame(testModel, PlanarImageModel.from(testModel));
+    PlanarImageModel converted = PlanarImageModel.from(
+            new PackedImageModel(new int[]{0x010203, 0xFFFEFD}, 1, 2));
+    assertEquals(1, converted.getPlane(Channel.RED)[0]);
+    assertEquals((byte) 0xFE, converted.getPlane(Channel.GREEN)[1]);
+    assertEquals(new Pixel(255, 254, 253), converted.getPixelAt(0, 1));
+  }
+}
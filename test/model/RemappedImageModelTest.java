@@ -0,0 +1,173 @@
+package model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link RemappedImageModel} and {@link CroppedImageModel}.
+ */
+public class RemappedImageModelTest {
+  PackedImageModel testModel;
+
+  // Initialize a 2x3 model for testing
+  @Before
+  public void init() {
+    testModel = new PackedImageModel(new int[]{1, 2, 3, 4, 5, 6}, 2, 3);
+  }
+
+  // Tests that flips reverse the rows or columns of the source
+  @Test
+  public void testFlip() {
+    ImageModel horizontal = RemappedImageModel.flip(testModel, Flip.HORIZONTAL);
+    assertEquals(3, rgb(horizontal, 0, 0));
+    assertEquals(4, rgb(horizontal, 1, 2));
+    ImageModel vertical = RemappedImageModel.flip(testModel, Flip.VERTICAL);
+    assertEquals(4, rgb(vertical, 0, 0));
+    assertEquals(3, rgb(vertical, 1, 2));
+  }
+
+  // Tests that rotations and transposition swap the dimensions and move the intended pixels
+  @Test
+  public void testRotateAndTranspose() {
+    ImageModel clockwise = RemappedImageModel.rotate(testModel, 1);
+    assertEquals(3, clockwise.getImageHeight());
+    assertEquals(2, clockwise.getImageWidth());
+    assertEquals(4, rgb(clockwise, 0, 0));
+    assertEquals(1, rgb(clockwise, 0, 1));
+    assertEquals(3, rgb(clockwise, 2, 1));
+    ImageModel counterclockwise = RemappedImageModel.rotate(testModel, -1);
+    assertEquals(3, rgb(counterclockwise, 0, 0));
+    assertEquals(4, rgb(counterclockwise, 2, 1));
+    ImageModel transposed = RemappedImageModel.transpose(testModel);
+    assertEquals(2, rgb(transposed, 1, 0));
+    assertEquals(4, rgb(transposed, 0, 1));
+    assertEquals(6, rgb(RemappedImageModel.rotate(testModel, 2), 0, 0));
+  }
+
+  // Tests that chained views collapse into one view of the source, and cancel out entirely
+  @Test
+  public void testComposition() {
+    ImageModel twice = RemappedImageModel.flip(
+            RemappedImageModel.flip(testModel, Flip.HORIZONTAL), Flip.HORIZONTAL);
+    assertSame(testModel, twice);
+    ImageModel both = RemappedImageModel.flip(
+            RemappedImageModel.flip(testModel, Flip.HORIZONTAL), Flip.VERTICAL);
+    assertEquals(PackedImageModel.from(RemappedImageModel.rotate(testModel, 2)).getRGB(1, 0),
+            PackedImageModel.from(both).getRGB(1, 0));
+    ImageModel fourTurns = testModel;
+    for (int i = 0; i < 4; i++) {
+      fourTurns = RemappedImageModel.rotate(fourTurns, 1);
+    }
+    assertSame(testModel, fourTurns);
+  }
+
+  // Tests every combination of two remappings and a crop against copying each step
+  @Test
+  public void testCompositionMatchesCopies() {
+    PackedImageModel source = new PackedImageModel(new int[]{
+        1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12}, 3, 4);
+    for (int first = 0; first < 8; first++) {
+      for (int second = 0; second < 8; second++) {
+        PackedImageModel remapped = PackedImageModel.from(remap(
+                PackedImageModel.from(remap(source, first)), second));
+        int width = remapped.getImageWidth() - 1;
+        PackedImageModel expected = PackedImageModel.from(
+                CroppedImageModel.of(remapped, 1, 1, width, 1));
+        ImageModel actual = CroppedImageModel.of(remap(remap(source, first), second), 1, 1,
+                width, 1);
+        assertEquals(expected.getImageWidth(), actual.getImageWidth());
+        for (int j = 0; j < expected.getImageWidth(); j++) {
+          assertEquals(expected.getRGB(0, j),
+                  rgb(actual, 0, j));
+        }
+      }
+    }
+  }
+
+  // Tests that every remapping of an image model larger than one tile reads whole and partial
+  // regions that match remapping each pixel directly
+  @Test
+  public void testRegionsSpanningTiles() {
+    int[] pixels = new int[150 * 200];
+    for (int i = 0; i < pixels.length; i++) {
+      pixels[i] = i;
+    }
+    PackedImageModel source = new PackedImageModel(pixels, 150, 200);
+    for (int combination = 0; combination < 8; combination++) {
+      ImageModel view = remap(source, combination);
+      int height = view.getImageHeight();
+      int width = view.getImageWidth();
+      int[] whole = new int[height * width];
+      view.getRegion(0, 0, width, height, whole, 0, width);
+      int[] part = new int[70 * 100];
+      view.getRegion(37, 45, 90, 70, part, 5, 100);
+      for (int row = 0; row < height; row++) {
+        for (int col = 0; col < width; col++) {
+          int sourceRow = (combination & 2) != 0 ? height - 1 - row : row;
+          int sourceCol = (combination & 1) != 0 ? width - 1 - col : col;
+          int expected = (combination & 4) != 0 ? sourceCol * 200 + sourceRow
+                  : sourceRow * 200 + sourceCol;
+          assertEquals(expected, whole[row * width + col]);
+          if (row >= 45 && row < 115 && col >= 37 && col < 127) {
+            assertEquals(expected, part[5 + (row - 45) * 100 + col - 37]);
+          }
+        }
+      }
+    }
+  }
+
+  // Tests that crops share the source and that a crop of a crop reads from the source
+  @Test
+  public void testCrop() {
+    ImageModel cropped = CroppedImageModel.of(testModel, 1, 0, 2, 2);
+    assertEquals(5, rgb(cropped, 1, 0));
+    ImageModel inner = CroppedImageModel.of(cropped, 1, 1, 1, 1);
+    assertEquals(6, rgb(inner, 0, 0));
+    assertTrue(((AbstractViewImageModel) inner).dependsOn(testModel));
+    assertFalse(((AbstractViewImageModel) inner).dependsOn(cropped));
+    assertSame(testModel, CroppedImageModel.of(testModel, 0, 0, 3, 2));
+  }
+
+  // Tests that a crop will throw an exception beyond the dimensions of the image
+  @Test(expected = IllegalArgumentException.class)
+  public void testCropOutOfBounds() {
+    CroppedImageModel.of(testModel, 2, 0, 2, 1);
+  }
+
+  // Tests that a view is materialized once its source is overwritten in an image model map,
+  // so that an off-heap source can be closed
+  @Test
+  public void testMaterializedWhenSourceOverwritten() {
+    OffHeapImageModel offHeap = OffHeapImageModel.from(testModel);
+    ImageModelMap map = new ImageModelMapImpl(new HashMap<>());
+    StringBuilder output = new StringBuilder();
+    map.add("image", offHeap, output);
+    map.add("flipped", RemappedImageModel.flip(offHeap, Flip.HORIZONTAL), output);
+    AbstractViewImageModel flipped = (AbstractViewImageModel) map.find("flipped");
+    assertFalse(flipped.isMaterialized());
+    map.add("image", testModel, output);
+    assertTrue(offHeap.isClosed());
+    assertTrue(flipped.isMaterialized());
+    assertFalse(flipped.dependsOn(offHeap));
+    assertEquals(new Pixel(0, 0, 3), flipped.getPixelAt(0, 0));
+  }
+
+  // Gets the packed value of a pixel of a model
+  private int rgb(ImageModel model, int row, int col) {
+    IPixel pixel = model.getPixelAt(row, col);
+    return PackedImageModel.pack(pixel.getRed(), pixel.getGreen(), pixel.getBlue());
+  }
+
+  // Gets the view of a model under one of the eight combinations of remappings
+  private ImageModel remap(ImageModel model, int combination) {
+    return RemappedImageModel.of(model, (combination & 4) != 0, (combination & 2) != 0,
+            (combination & 1) != 0);
+  }
+}
@@ -0,0 +1,98 @@
+package model;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import controller.ImageControllerImpl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link Resampler}.
+ */
+public class ResamplerTest {
+
+  // Tests that a change of size will throw an exception when given a width that is not positive
+  @Test(expected = IllegalArgumentException.class)
+  public void testZeroWidth() {
+    Resampler.of(10, 0, Interpolation.BILINEAR);
+  }
+
+  // Tests that every interpolation keeps a uniform image model uniform when it grows or shrinks
+  @Test
+  public void testUniform() {
+    byte[] plane = new byte[30 * 20];
+    Arrays.fill(plane, (byte) 173);
+    for (Interpolation interpolation : Interpolation.values()) {
+      for (int[] size : new int[][]{{7, 11}, {45, 60}, {1, 1}}) {
+        for (byte value : Resampler.of(size[0], size[1], interpolation).apply(plane, 30, 20)) {
+          assertEquals(173, value & 0xFF);
+        }
+      }
+    }
+  }
+
+  // Tests that nearest interpolation repeats pixels when growing and picks pixels when shrinking
+  @Test
+  public void testNearest() {
+    byte[] plane = {10, 20, 30, 40};
+    assertArrayEquals(new byte[]{10, 10, 20, 20, 30, 30, 40, 40},
+            Resampler.of(1, 8, Interpolation.NEAREST).apply(plane, 1, 4));
+    assertArrayEquals(new byte[]{20, 40},
+            Resampler.of(1, 2, Interpolation.NEAREST).apply(plane, 1, 4));
+    assertArrayEquals(new byte[]{10, 10, 30, 30},
+            Resampler.of(4, 1, Interpolation.NEAREST).apply(new byte[]{10, 30}, 2, 1));
+  }
+
+  // Tests that bilinear interpolation weighs the two nearest pixels by their distance
+  @Test
+  public void testBilinear() {
+    assertArrayEquals(new byte[]{0, 50, (byte) 150, (byte) 200},
+            Resampler.of(1, 4, Interpolation.BILINEAR).apply(new byte[]{0, (byte) 200}, 1, 2));
+  }
+
+  // Tests that a greyscale image model stays greyscale and that each channel of a color image
+  // model is resampled separately
+  @Test
+  public void testChannels() {
+    ImageModel grey = new GreyscaleImageModel(new byte[]{0, 100, (byte) 200, 50}, 2, 2);
+    ImageModel resized = Resampler.of(3, 5, Interpolation.BICUBIC).apply(grey);
+    assertTrue(resized instanceof GreyscaleImageModel);
+    assertEquals(3, resized.getImageHeight());
+    assertEquals(5, resized.getImageWidth());
+    ImageModel color = new PackedImageModel(new int[]{0xFF0000, 0x00FF00, 0x0000FF, 0xFFFFFF},
+            2, 2);
+    ImageModel shrunk = Resampler.of(1, 1, Interpolation.LANCZOS).apply(color);
+    assertFalse(shrunk instanceof GreyscaleImageModel);
+    assertEquals(new Pixel(128, 128, 128), shrunk.getPixelAt(0, 0));
+  }
+
+  // Tests that the resize command adds an image model of the new size, which a lazy map only
+  // computes once it is read, and reports an invalid size or interpolation
+  @Test
+  public void testResizeCommand() {
+    ImageModelMap map = new ImageModelMapImpl(new HashMap<>(), true);
+    map.add("image", new PackedImageModel(new int[40 * 30], 30, 40), new StringBuilder());
+    StringBuilder output = new StringBuilder();
+    new ImageControllerImpl(output, map).run(new StringReader(
+            "resize 20 15 lanczos image small resize 0 10 bilinear image a "
+                    + "resize 10 10 smooth image b"), false);
+    assertEquals("Edit completed.\nWidth and height must be positive integers.\n"
+            + "Interpolation must be nearest, bilinear, bicubic, or lanczos.\n",
+            output.toString());
+    assertTrue(map.find("small") instanceof LazyImageModel);
+    LazyImageModel small = (LazyImageModel) map.find("small");
+    assertFalse(small.isComputed());
+    assertEquals(15, small.getImageHeight());
+    assertEquals(20, small.getImageWidth());
+    assertEquals(0, small.getRGB(14, 19));
+    assertTrue(small.isComputed());
+    assertFalse(map.find("small") instanceof LazyImageModel);
+  }
+}
@@ -0,0 +1,126 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link RowBands}.
+ */
+public class RowBandsTest {
+  // Tests that the number of threads must be positive
+  @Test(expected = IllegalArgumentException.class)
+  public void testZeroParallelism() {
+    RowBands.setParallelism(0);
+  }
+
+  // Tests that every row is processed exactly once when the rows are split into many bands
+  @Test
+  public void testEveryRowOnce() {
+    int parallelism = RowBands.getParallelism();
+    AtomicIntegerArray counts = new AtomicIntegerArray(5000);
+    try {
+      RowBands.setParallelism(4);
+      assertEquals(4, RowBands.getParallelism());
+      RowBands.forEach(5000, 100, (firstRow, lastRow) -> {
+        for (int i = firstRow; i < lastRow; i++) {
+          counts.incrementAndGet(i);
+        }
+      });
+    } finally {
+      RowBands.setParallelism(parallelism);
+    }
+    for (int i = 0; i < counts.length(); i++) {
+      assertEquals(1, counts.get(i));
+    }
+  }
+
+  // Tests that an operation finishes on the threads it started with when the number of
+  // threads changes while it runs, and that the new number is used afterwards
+  @Test
+  public void testParallelismChangedDuringOperation() {
+    int parallelism = RowBands.getParallelism();
+    AtomicIntegerArray counts = new AtomicIntegerArray(5000);
+    try {
+      RowBands.setParallelism(4);
+      RowBands.forEach(5000, 100, (firstRow, lastRow) -> {
+        if (firstRow == 0) {
+          RowBands.setParallelism(2);
+        }
+        for (int i = firstRow; i < lastRow; i++) {
+          counts.incrementAndGet(i);
+        }
+      });
+      assertEquals(2, RowBands.getParallelism());
+    } finally {
+      RowBands.setParallelism(parallelism);
+    }
+    for (int i = 0; i < counts.length(); i++) {
+      assertEquals(1, counts.get(i));
+    }
+  }
+
+  // Tests that an exception thrown by a band is thrown to the caller
+  @Test(expected = IllegalStateException.class)
+  public void testBandException() {
+    int parallelism = RowBands.getParallelism();
+    try {
+      RowBands.setParallelism(4);
+      RowBands.forEach(5000, 100, (firstRow, lastRow) -> {
+        if (lastRow == 5000) {
+          throw new IllegalStateException("Last band failed.");
+        }
+      });
+    } finally {
+      RowBands.setParallelism(parallelism);
+    }
+  }
+
+  // Tests that operations on a large image model give the same pixels on one thread as on
+  // several threads
+  @Test
+  public void testParallelMatchesSequential() {
+    Random random = new Random(3);
+    int[] pixels = new int[300 * 400];
+    for (int i = 0; i < pixels.length; i++) {
+      pixels[i] = random.nextInt(0x1000000);
+    }
+    ImageModel model = new PackedImageModel(pixels, 300, 400);
+    int parallelism = RowBands.getParallelism();
+    ImageModel[] sequential;
+    ImageModel[] parallel;
+    try {
+      RowBands.setParallelism(1);
+      sequential = operate(model);
+      RowBands.setParallelism(4);
+      parallel = operate(model);
+    } finally {
+      RowBands.setParallelism(parallelism);
+    }
+    for (int k = 0; k < sequential.length; k++) {
+      for (int i = 0; i < sequential[k].getImageHeight(); i++) {
+        for (int j = 0; j < sequential[k].getImageWidth(); j++) {
+          assertEquals(sequential[k].getRGB(i, j), parallel[k].getRGB(i, j));
+        }
+      }
+    }
+  }
+
+  // Performs every kind of operation that is split into bands on an image model
+  private ImageModel[] operate(ImageModel model) {
+    return new ImageModel[]{
+        Kernel.parse("1/16 1/8 1/16; 1/8 1/4 1/8; 1/16 1/8 1/16").convolve(model, Border.MIRROR),
+        SeparableBlur.gaussian(4).apply(model, Border.CLAMP),
+        LookupTable.gamma(2.2).applyTo(model),
+        ColorMatrix.of(0.393, 0.769, 0.189, 0.349, 0.686, 0.168, 0.272, 0.534, 0.131)
+                .applyTo(model),
+        LookupTable.invert().toPixelOperation().andThen(LookupTable.brighten(10)
+                .toPixelOperation()).applyTo(model),
+        ((DerivedImageModel) RemappedImageModel.flip(model, Flip.HORIZONTAL)).materialize(),
+        Resampler.of(170, 230, Interpolation.LANCZOS).apply(model)
+    };
+  }
+}
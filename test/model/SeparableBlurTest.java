@@ -0,0 +1,113 @@
+package model;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+
+import controller.ImageControllerImpl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link SeparableBlur}.
+ */
+public class SeparableBlurTest {
+
+  // Tests that a box blur will throw an exception when given a radius that is not positive
+  @Test(expected = IllegalArgumentException.class)
+  public void testZeroRadius() {
+    SeparableBlur.box(0);
+  }
+
+  // Tests that a gaussian blur will throw an exception when given a deviation that is too large
+  @Test(expected = IllegalArgumentException.class)
+  public void testSigmaTooLarge() {
+    SeparableBlur.gaussian(1001);
+  }
+
+  // Tests that a box blur matches averaging the rows and then the columns directly, with the
+  // edge pixels repeated beyond the edges
+  @Test
+  public void testBoxMatchesDirectAverage() {
+    Random random = new Random(11);
+    byte[] plane = new byte[6 * 10];
+    random.nextBytes(plane);
+    int radius = 3;
+    int size = 2 * radius + 1;
+    byte[] result = SeparableBlur.box(radius).apply(plane, 6, 10, Border.CLAMP);
+    int[] rows = new int[plane.length];
+    for (int row = 0; row < 6; row++) {
+      for (int col = 0; col < 10; col++) {
+        int sum = 0;
+        for (int k = -radius; k <= radius; k++) {
+          sum += plane[row * 10 + Math.max(0, Math.min(9, col + k))] & 0xFF;
+        }
+        rows[row * 10 + col] = (sum + radius) / size;
+      }
+    }
+    for (int row = 0; row < 6; row++) {
+      for (int col = 0; col < 10; col++) {
+        int sum = 0;
+        for (int k = -radius; k <= radius; k++) {
+          sum += rows[Math.max(0, Math.min(5, row + k)) * 10 + col];
+        }
+        assertEquals((sum + radius) / size, result[row * 10 + col] & 0xFF);
+      }
+    }
+  }
+
+  // Tests that blurring a uniform image model keeps it uniform for any border that repeats the
+  // image, even when the radius is larger than the image model
+  @Test
+  public void testUniformLargeRadius() {
+    byte[] plane = new byte[5 * 4];
+    Arrays.fill(plane, (byte) 200);
+    for (Border border : new Border[]{Border.CLAMP, Border.MIRROR, Border.WRAP}) {
+      for (byte value : SeparableBlur.box(100).apply(plane, 5, 4, border)) {
+        assertEquals(200, value & 0xFF);
+      }
+    }
+  }
+
+  // Tests that a gaussian blur spreads a single bright pixel evenly in every direction, with
+  // values that fall away from the center
+  @Test
+  public void testGaussianSymmetric() {
+    byte[] plane = new byte[21 * 21];
+    plane[10 * 21 + 10] = (byte) 255;
+    ImageModel blurred = SeparableBlur.gaussian(1.5)
+            .apply(new GreyscaleImageModel(plane, 21, 21), Border.ZERO);
+    assertTrue(blurred instanceof GreyscaleImageModel);
+    GreyscaleImageModel grey = (GreyscaleImageModel) blurred;
+    for (int d = 0; d < 10; d++) {
+      assertEquals(grey.getValue(10, 10 + d), grey.getValue(10, 10 - d));
+      assertEquals(grey.getValue(10 + d, 10), grey.getValue(10 - d, 10));
+      assertEquals(grey.getValue(10 + d, 10), grey.getValue(10, 10 + d));
+      assertTrue(grey.getValue(10, 10 + d) >= grey.getValue(10, 11 + d));
+    }
+    assertTrue(grey.getValue(10, 10) > grey.getValue(10, 12));
+  }
+
+  // Tests that the blur commands blur an image model and report invalid parameters
+  @Test
+  public void testBlurCommands() {
+    ImageModelMap map = new ImageModelMapImpl(new HashMap<>());
+    map.add("image", new PackedImageModel(new int[]{0x000000, 0x0C0C0C, 0x181818}, 1, 3),
+            new StringBuilder());
+    StringBuilder output = new StringBuilder();
+    new ImageControllerImpl(output, map).run(new StringReader(
+            "box-blur 1 image box gaussian-blur 0.5 image same box-blur 0 image a "
+                    + "gaussian-blur x image b"), false);
+    assertEquals(0x040404, map.find("box").getRGB(0, 0));
+    assertEquals(0x0C0C0C, map.find("box").getRGB(0, 1));
+    assertEquals(0x141414, map.find("box").getRGB(0, 2));
+    assertEquals(0x181818, map.find("same").getRGB(0, 2));
+    assertEquals("Edit completed.\nEdit completed.\n"
+            + "Radius must be an integer between 1 and 1000.\n"
+            + "Sigma must be a positive number of at most 1000.\n", output.toString());
+  }
+}
@@ -0,0 +1,122 @@
+package model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link TiledImageModel}.
+ */
+public class TiledImageModelTest {
+  static final int SIZE = TiledImageModel.TILE_SIZE;
+  TiledImageModel testModel;
+  int[] fills;
+
+  // Initialize a model of 2x2 tiles whose last row and column of tiles are cut off, and whose
+  // pixels encode their own position
+  @Before
+  public void init() {
+    fills = new int[1];
+    testModel = new TiledImageModel(SIZE + 3, SIZE + 5, (x, y, w, h, dst) -> {
+      fills[0]++;
+      for (int i = 0; i < h; i++) {
+        for (int j = 0; j < w; j++) {
+          dst[i * w + j] = ((y + i) << 12) | (x + j);
+        }
+      }
+    });
+  }
+
+  // Tests that the constructor will throw an exception when given a negative dimension
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeDimensions() {
+    new TiledImageModel(-1, 3, (x, y, w, h, dst) -> { });
+  }
+
+  // Tests that the constructor will throw an exception when given no source
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullSource() {
+    new TiledImageModel(3, 3, null);
+  }
+
+  // Tests that tiles are only filled when they are first read, and only once
+  @Test
+  public void testLazyTiles() {
+    assertFalse(testModel.isMaterialized(0, 0));
+    assertEquals((2 << 12) | 3, testModel.getRGB(2, 3));
+    assertEquals((5 << 12) | 7, testModel.getRGB(5, 7));
+    assertEquals(1, fills[0]);
+    assertTrue(testModel.isMaterialized(0, 0));
+    assertFalse(testModel.isMaterialized(SIZE, SIZE));
+    assertFalse(testModel.isMaterialized(0, SIZE));
+  }
+
+  // Tests that a region spanning all four tiles is copied correctly
+  @Test
+  public void testGetRegionAcrossTiles() {
+    int[] region = new int[8];
+    testModel.getRegion(SIZE - 1, SIZE - 1, 2, 2, region, 1, 4);
+    assertEquals(((SIZE - 1) << 12) | (SIZE - 1), region[1]);
+    assertEquals(((SIZE - 1) << 12) | SIZE, region[2]);
+    assertEquals((SIZE << 12) | (SIZE - 1), region[5]);
+    assertEquals((SIZE << 12) | SIZE, region[6]);
+    assertEquals(4, fills[0]);
+  }
+
+  // Tests that the tile iterator covers the region without filling any tile
+  @Test
+  public void testTiles() {
+    int count = 0;
+    int covered = 0;
+    for (TiledImageModel.Tile tile : testModel.tiles()) {
+      count++;
+      covered += tile.getWidth() * tile.getHeight();
+    }
+    assertEquals(4, count);
+    assertEquals((SIZE + 3) * (SIZE + 5), covered);
+    TiledImageModel.Tile last = null;
+    for (TiledImageModel.Tile tile : testModel.tiles(SIZE, 0, 5, 1)) {
+      assertEquals(null, last);
+      last = tile;
+    }
+    assertEquals(SIZE, last.getX());
+    assertEquals(0, last.getY());
+    assertEquals(5, last.getWidth());
+    assertEquals(0, fills[0]);
+  }
+
+  // Tests that reading the image in bands of rows that are processed in parallel, which fill
+  // the same tiles at once, gives every pixel of the source
+  @Test
+  public void testParallelRegions() {
+    int[] pixels = new int[(SIZE + 3) * (SIZE + 5)];
+    RowBands.forEach(SIZE + 3, SIZE + 5, (firstRow, lastRow) -> testModel.getRegion(0,
+            firstRow, SIZE + 5, lastRow - firstRow, pixels, firstRow * (SIZE + 5), SIZE + 5));
+    for (int i = 0; i < SIZE + 3; i++) {
+      for (int j = 0; j < SIZE + 5; j++) {
+        assertEquals((i << 12) | j, pixels[i * (SIZE + 5) + j]);
+      }
+    }
+    assertTrue(testModel.isMaterialized(SIZE, SIZE));
+  }
+
+  // Tests that getRegion will throw an exception beyond the dimensions of the image
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetRegionOutOfBounds() {
+    testModel.getRegion(SIZE, 0, 6, 1, new int[6], 0, 6);
+  }
+
+  // Tests that from copies the pixels of another image model and keeps a tiled one as it is
+  @Test
+  public void testFrom() {
+    TiledImageModel tiled = TiledImageModel.from(
+            new PackedImageModel(new int[]{0x010203, 0x040506}, 2, 1));
+    assertEquals(new Pixel(4, 5, 6), tiled.getPixelAt(1, 0));
+    assertEquals(0x040506, PackedImageModel.from(tiled).getRGB(1, 0));
+    assertSame(testModel, TiledImageModel.from(testModel));
+  }
+}
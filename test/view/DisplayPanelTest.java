@@ -2,9 +2,21 @@ package view;
 
 import org.junit.Test;
 
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
 import java.util.HashMap;
 
+import model.CroppedImageModel;
+import model.IPixel;
+import model.ImageModel;
+import model.ImageModelMap;
 import model.ImageModelMapImpl;
+import model.PackedImageModel;
+import model.Pixel;
+import model.TiledImageModel;
+
+import static org.junit.Assert.assertEquals;
 
 /**
  * This class represents tests for the display panel.
@@ -25,4 +37,67 @@ public class DisplayPanelTest {
   public void testNullStringMethod() {
     new DisplayPanel(new ImageModelMapImpl(new HashMap<>()), "name").setImageToPaint(null);
   }
+
+  // Tests that zooming scales the preferred size of the panel, rounding up
+  @Test
+  public void testZoom() {
+    ImageModelMap map = new ImageModelMapImpl(new HashMap<>());
+    map.add("image", new PackedImageModel(new int[30 * 40], 30, 40), new StringBuilder());
+    DisplayPanel panel = new DisplayPanel(map, "image");
+    assertEquals(new Dimension(40, 30), panel.getPreferredSize());
+    panel.setZoom(0.25);
+    assertEquals(0.25, panel.getZoom(), 0);
+    assertEquals(new Dimension(10, 8), panel.getPreferredSize());
+  }
+
+  // Tests that the zoom must be within the range that the panel supports
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidZoom() {
+    ImageModelMap map = new ImageModelMapImpl(new HashMap<>());
+    map.add("image", new PackedImageModel(new int[4], 2, 2), new StringBuilder());
+    new DisplayPanel(map, "image").setZoom(0);
+  }
+
+  // Tests that a view is painted through tiles, so that only the tiles that are visible are
+  // read from its source, and painting the same region again reads nothing
+  @Test
+  public void testPaintsVisibleTiles() {
+    int[] reads = new int[1];
+    ImageModel source = new ImageModel() {
+      @Override
+      public int getImageHeight() {
+        return 600;
+      }
+
+      @Override
+      public int getImageWidth() {
+        return 601;
+      }
+
+      @Override
+      public IPixel getPixelAt(int row, int col) {
+        int value = getRGB(row, col);
+        return new Pixel(value >> 16, (value >> 8) & 0xFF, value & 0xFF);
+      }
+
+      @Override
+      public int getRGB(int row, int col) {
+        reads[0]++;
+        return row * 601 + col;
+      }
+    };
+    ImageModelMap map = new ImageModelMapImpl(new HashMap<>());
+    map.add("view", CroppedImageModel.of(source, 0, 0, 600, 600), new StringBuilder());
+    DisplayPanel panel = new DisplayPanel(map, "view");
+    BufferedImage canvas = new BufferedImage(600, 600, BufferedImage.TYPE_INT_RGB);
+    Graphics graphics = canvas.createGraphics();
+    graphics.setClip(10, 20, 100, 100);
+    panel.paintComponent(graphics);
+    int tile = TiledImageModel.TILE_SIZE * TiledImageModel.TILE_SIZE;
+    assertEquals(tile, reads[0]);
+    assertEquals(119 * 601 + 109, canvas.getRGB(109, 119) & 0xFFFFFF);
+    panel.paintComponent(graphics);
+    assertEquals(tile, reads[0]);
+    graphics.dispose();
+  }
 }
@@ -0,0 +1,71 @@
+package model;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * This class represents the loops that transform rows of packed pixels by a color matrix
+ * several pixels at a time with the Vector API. The red, green, and blue values of each group
+ * of pixels are converted to lanes of doubles, and each row of the matrix is multiplied and
+ * summed in the same order as the scalar loops, so that the results are exactly the same. The
+ * pixels left over at the end of a row are transformed by the scalar loops. This class is
+ * compiled separately from the rest of the program, with
+ * {@code --add-modules jdk.incubator.vector}, and is only loaded by {@link MatrixRows#find()}
+ * once that module has been added.
+ */
+final class VectorMatrixRows implements MatrixRows {
+  private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+  private static final VectorSpecies<Integer> INTS = VectorSpecies.of(int.class,
+          VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+  private static final MatrixRows SCALAR = new MatrixRows.Scalar();
+
+  @Override
+  public void apply(double[] coefficients, int[] pixels, int from, int to) {
+    int j = from;
+    for (int last = to - INTS.length(); j <= last; j += INTS.length()) {
+      IntVector rgb = IntVector.fromArray(INTS, pixels, j);
+      DoubleVector red = channel(rgb, 16);
+      DoubleVector green = channel(rgb, 8);
+      DoubleVector blue = channel(rgb, 0);
+      evaluate(coefficients, red, green, blue, 0).lanewise(VectorOperators.LSHL, 16)
+              .or(evaluate(coefficients, red, green, blue, 4).lanewise(VectorOperators.LSHL, 8))
+              .or(evaluate(coefficients, red, green, blue, 8))
+              .intoArray(pixels, j);
+    }
+    SCALAR.apply(coefficients, pixels, j, to);
+  }
+
+  @Override
+  public void applyGreyscale(double[] coefficients, int[] pixels, int from, byte[] values,
+                             int start, int length) {
+    int[] lanes = new int[INTS.length()];
+    int j = 0;
+    for (int last = length - INTS.length(); j <= last; j += INTS.length()) {
+      IntVector rgb = IntVector.fromArray(INTS, pixels, from + j);
+      evaluate(coefficients, channel(rgb, 16), channel(rgb, 8), channel(rgb, 0), 0)
+              .intoArray(lanes, 0);
+      for (int k = 0; k < lanes.length; k++) {
+        values[start + j + k] = (byte) lanes[k];
+      }
+    }
+    SCALAR.applyGreyscale(coefficients, pixels, from + j, values, start + j, length - j);
+  }
+
+  // Converts the channel of packed pixels that starts at the given bit to lanes of doubles
+  private static DoubleVector channel(IntVector rgb, int shift) {
+    return (DoubleVector) rgb.lanewise(VectorOperators.LSHR, shift).and(0xFF)
+            .convertShape(VectorOperators.I2D, DOUBLES, 0);
+  }
+
+  // Evaluates the row of a matrix whose coefficients start at the given index, truncating each
+  // weighted sum and clamping it to between 0 and 255
+  private static IntVector evaluate(double[] c, DoubleVector red, DoubleVector green,
+                                    DoubleVector blue, int start) {
+    DoubleVector sum = red.mul(c[start]).add(green.mul(c[start + 1]))
+            .add(blue.mul(c[start + 2])).add(c[start + 3]);
+    return ((IntVector) sum.convertShape(VectorOperators.D2I, INTS, 0)).max(0).min(255);
+  }
+}
@@ -1,23 +1,40 @@
 package view;
 
 import java.awt.Graphics;
+import java.awt.Graphics2D;
 import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.event.MouseWheelEvent;
 import java.awt.image.BufferedImage;
 import java.util.Objects;
 
 import javax.swing.JPanel;
 
+import model.AbstractViewImageModel;
 import model.ImageModel;
 import model.ImageModelMap;
 import model.ImageUtil;
+import model.OffHeapImageModel;
+import model.TiledImageModel;
 
 /**
  * This class represents an object of an DisplayPanel that displays the image currently selected
- * by the user in the GUI view.
+ * by the user in the GUI view. The image can be zoomed by turning the mouse wheel while holding
+ * the control key, and is painted from the smallest level of its pyramid that has at least as
+ * many pixels as are shown, so that zooming out does not read every pixel of the full image.
+ * Images whose pixels are computed or unpacked every time they are read are painted through a
+ * tiled image model, so that only the tiles that have been shown are computed and held.
  */
 public class DisplayPanel extends JPanel implements ImagePanel {
+  private static final double ZOOM_STEP = 1.25;
+  private static final double MIN_ZOOM = 1.0 / 64;
+  private static final double MAX_ZOOM = 16;
   private final ImageModelMap imageModelMap;
   private String imageToPaint;
+  private double zoom;
+  private ImageModel tiledSource;
+  private TiledImageModel tiledModel;
 
   /**
    * Constructs one object of an DisplayPanel using a given ImageModelMap in which the relevant
@@ -31,9 +48,9 @@ public class DisplayPanel extends JPanel implements ImagePanel {
     super();
     this.imageModelMap = Objects.requireNonNull(imageModelMap);
     this.imageToPaint = Objects.requireNonNull(defaultImageToPaint);
-    int height = imageModelMap.find(defaultImageToPaint).getImageHeight();
-    int width = imageModelMap.find(defaultImageToPaint).getImageWidth();
-    this.setPreferredSize(new Dimension(width, height));
+    this.zoom = 1;
+    resize();
+    this.addMouseWheelListener(this::zoomWithWheel);
   }
 
   /**
@@ -44,33 +61,146 @@ public class DisplayPanel extends JPanel implements ImagePanel {
   @Override
   public void setImageToPaint(String imageToPaint) {
     this.imageToPaint = Objects.requireNonNull(imageToPaint);
-    int height = imageModelMap.find(imageToPaint).getImageHeight();
-    int width = imageModelMap.find(imageToPaint).getImageWidth();
-    this.setPreferredSize(new Dimension(width, height));
+    resize();
   }
 
   /**
-   * Renders the ImageModel to the panel.
+   * Sets the factor by which the image is scaled when it is painted, where 1 shows every pixel
+   * of the image as one pixel of the panel.
+   *
+   * @param zoom the factor by which the image is scaled
+   * @throws IllegalArgumentException if the factor is not between 1/64 and 16
+   */
+  public void setZoom(double zoom) throws IllegalArgumentException {
+    if (!(zoom >= MIN_ZOOM && zoom <= MAX_ZOOM)) {
+      throw new IllegalArgumentException("Zoom must be a number between 1/64 and 16.");
+    }
+    this.zoom = zoom;
+    resize();
+    this.revalidate();
+    this.repaint();
+  }
+
+  /**
+   * Gets the factor by which the image is scaled when it is painted.
+   *
+   * @return the factor by which the image is scaled
+   */
+  public double getZoom() {
+    return this.zoom;
+  }
+
+  /**
+   * Sets the preferred size of the panel to the size of the image at the current zoom.
+   */
+  private void resize() {
+    ImageModel model = this.imageModelMap.find(this.imageToPaint);
+    this.setPreferredSize(new Dimension(scale(model.getImageWidth()),
+            scale(model.getImageHeight())));
+  }
+
+  /**
+   * Zooms in or out by one step for each notch that the mouse wheel is turned while the control
+   * key is held, and otherwise passes the event on so that the image can be scrolled.
+   *
+   * @param e the event of the mouse wheel being turned
+   */
+  private void zoomWithWheel(MouseWheelEvent e) {
+    if (!e.isControlDown()) {
+      if (this.getParent() != null) {
+        this.getParent().dispatchEvent(e);
+      }
+      return;
+    }
+    double newZoom = this.zoom * Math.pow(ZOOM_STEP, -e.getWheelRotation());
+    setZoom(Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, newZoom)));
+  }
+
+  // Scales a dimension of the image by the current zoom, rounding up
+  private int scale(int length) {
+    return (int) Math.ceil(length * this.zoom);
+  }
+
+  /**
+   * Renders the part of the ImageModel that needs to be repainted to the panel, so that only
+   * the pixels that are visible are read from the ImageModel. When the image is zoomed out,
+   * the pixels are read from the smallest level of the pyramid of the ImageModel that is at
+   * least the size of the image on the panel, and then scaled to fit.
    *
    * @param g the graphics object being drawn on
    */
   @Override
   protected void paintComponent(Graphics g) {
     super.paintComponent(g);
-    g.drawImage(modelToImage(), 0, 0, null);
+    ImageModel fullModel = this.imageModelMap.find(imageToPaint);
+    int height = scale(fullModel.getImageHeight());
+    int width = scale(fullModel.getImageWidth());
+    Rectangle region = new Rectangle(0, 0, width, height);
+    Rectangle clip = g.getClipBounds();
+    if (clip != null) {
+      region = region.intersection(clip);
+    }
+    if (region.isEmpty()) {
+      return;
+    }
+    if (this.zoom == 1) {
+      g.drawImage(modelToImage(tiled(fullModel), region), region.x, region.y, null);
+      return;
+    }
+    ImageModel modelToPaint = tiled(this.imageModelMap.findLevel(imageToPaint, height, width));
+    double scaleX = (double) modelToPaint.getImageWidth() / width;
+    double scaleY = (double) modelToPaint.getImageHeight() / height;
+    int left = (int) Math.floor(region.x * scaleX);
+    int top = (int) Math.floor(region.y * scaleY);
+    int right = Math.min(modelToPaint.getImageWidth(),
+            (int) Math.ceil((region.x + region.width) * scaleX));
+    int bottom = Math.min(modelToPaint.getImageHeight(),
+            (int) Math.ceil((region.y + region.height) * scaleY));
+    BufferedImage image = modelToImage(modelToPaint,
+            new Rectangle(left, top, right - left, bottom - top));
+    if (g instanceof Graphics2D) {
+      ((Graphics2D) g).setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+              RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+    }
+    g.drawImage(image, (int) Math.round(left / scaleX), (int) Math.round(top / scaleY),
+            (int) Math.round(right / scaleX), (int) Math.round(bottom / scaleY), 0, 0,
+            right - left, bottom - top, null);
+  }
+
+  /**
+   * Gets the ImageModel to read the pixels of a given ImageModel from when it is painted. The
+   * pixels of a view are computed from its source and those of an OffHeapImageModel are
+   * unpacked from bytes every time they are read, so they are read through a TiledImageModel
+   * that fills only the tiles that are visible and keeps them, so that scrolling back over them
+   * does not read them again. The TiledImageModel is kept until another ImageModel is painted.
+   * Any other ImageModel already holds its pixels in arrays and is read directly.
+   *
+   * @param model the ImageModel being painted
+   * @return the ImageModel to read its pixels from
+   */
+  private ImageModel tiled(ImageModel model) {
+    if (!(model instanceof AbstractViewImageModel || model instanceof OffHeapImageModel)) {
+      return model;
+    }
+    if (model != this.tiledSource) {
+      this.tiledModel = TiledImageModel.from(model);
+      this.tiledSource = model;
+    }
+    return this.tiledModel;
   }
 
   /**
-   * Converts an ImageModel to a BufferedImage that can be painted onto the panel.
+   * Converts a region of an ImageModel to a BufferedImage that can be painted onto the panel.
    *
+   * @param modelToPaint the ImageModel being painted
+   * @param region the region of the ImageModel to convert
    * @return the BufferedImage to be painted onto the panel
    */
-  private BufferedImage modelToImage() {
-    ImageModel modelToPaint = this.imageModelMap.find(imageToPaint);
-    int height = modelToPaint.getImageHeight();
-    int width = modelToPaint.getImageWidth();
-    BufferedImage image = new BufferedImage(width, height, 1);
-    ImageUtil.renderBufferedImage(image, modelToPaint, width, height);
+  private BufferedImage modelToImage(ImageModel modelToPaint, Rectangle region) {
+    BufferedImage image = new BufferedImage(region.width, region.height,
+            BufferedImage.TYPE_INT_RGB);
+    ImageUtil.renderBufferedImage(image, modelToPaint, region.x, region.y, region.width,
+            region.height);
     return image;
   }
 }
@@ -112,25 +112,28 @@ public class HistogramPanel extends JPanel implements ImagePanel {
       yCoords.add(0);
     }
 
+    int[] row = new int[model.getImageWidth()];
     for (int i = 0; i < model.getImageHeight(); i++) {
+      model.getRow(i, row);
       for (int j = 0; j < model.getImageWidth(); j++) {
+        int red = (row[j] >> 16) & 0xFF;
+        int green = (row[j] >> 8) & 0xFF;
+        int blue = row[j] & 0xFF;
         switch (this.greyscaleType) {
           case "red":
-            int currentValue = yCoords.get(model.getPixelAt(i, j).getRed());
-            yCoords.set(model.getPixelAt(i, j).getRed(), currentValue + 1);
+            int currentValue = yCoords.get(red);
+            yCoords.set(red, currentValue + 1);
             break;
           case "green":
-            currentValue = yCoords.get(model.getPixelAt(i, j).getGreen());
-            yCoords.set(model.getPixelAt(i, j).getGreen(), currentValue + 1);
+            currentValue = yCoords.get(green);
+            yCoords.set(green, currentValue + 1);
             break;
           case "blue":
-            currentValue = yCoords.get(model.getPixelAt(i, j).getBlue());
-            yCoords.set(model.getPixelAt(i, j).getBlue(), currentValue + 1);
+            currentValue = yCoords.get(blue);
+            yCoords.set(blue, currentValue + 1);
             break;
           case "intensity":
-            int intensityValue = (model.getPixelAt(i, j).getRed()
-                    + model.getPixelAt(i, j).getGreen()
-                    + model.getPixelAt(i, j).getBlue()) / 3;
+            int intensityValue = (red + green + blue) / 3;
             currentValue = yCoords.get(intensityValue);
             yCoords.set(intensityValue, currentValue + 1);
             break;